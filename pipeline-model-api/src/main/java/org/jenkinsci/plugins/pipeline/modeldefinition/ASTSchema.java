@@ -44,6 +44,8 @@ import java.io.IOException;
 public class ASTSchema implements RootAction {
     public static final String AST_SCHEMA_URL = "pipeline-model-schema";
 
+    private static volatile JsonSchema schema;
+
     @Override
     public String getUrlName() {
         return AST_SCHEMA_URL;
@@ -65,14 +67,25 @@ public class ASTSchema implements RootAction {
     }
 
     /**
-     * Get the Pipeline Config AST JSON schema.
+     * Get the Pipeline Config AST JSON schema. The schema is loaded once and then reused, since {@link JsonSchema}
+     * instances are immutable and safe to share between threads.
      *
      * @return the schema in {@link JsonSchema} form.
      * @throws ProcessingException if there are issues reading the schema
      */
     public static JsonSchema getJSONSchema() throws ProcessingException {
-        final JsonSchemaFactory factory = JsonSchemaFactory.byDefault();
-        return factory.getJsonSchema("resource:/ast-schema.json");
+        JsonSchema s = schema;
+        if (s == null) {
+            synchronized (ASTSchema.class) {
+                s = schema;
+                if (s == null) {
+                    final JsonSchemaFactory factory = JsonSchemaFactory.byDefault();
+                    s = factory.getJsonSchema("resource:/ast-schema.json");
+                    schema = s;
+                }
+            }
+        }
+        return s;
     }
 
 }
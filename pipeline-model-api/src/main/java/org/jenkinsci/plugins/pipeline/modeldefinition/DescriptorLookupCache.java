@@ -26,10 +26,12 @@ package org.jenkinsci.plugins.pipeline.modeldefinition;
 
 import hudson.Extension;
 import hudson.ExtensionList;
+import hudson.ExtensionListListener;
 import hudson.init.InitMilestone;
 import hudson.init.Initializer;
 import hudson.model.Describable;
 import hudson.model.Descriptor;
+import jenkins.model.Jenkins;
 import org.jenkinsci.plugins.structs.SymbolLookup;
 import org.jenkinsci.plugins.structs.describable.DescribableModel;
 import org.jenkinsci.plugins.workflow.steps.Step;
@@ -38,16 +40,32 @@ import org.kohsuke.accmod.Restricted;
 import org.kohsuke.accmod.restrictions.NoExternalUse;
 
 import edu.umd.cs.findbugs.annotations.CheckForNull;
-import java.util.LinkedHashMap;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
-
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Caches step and describable descriptor/model lookups by symbol name. Lookups for a specific parent describable type
+ * are cached separately from unscoped lookups. All lookups are safe to call concurrently and each entry is computed
+ * at most once until the cache is invalidated, which happens whenever the {@link Descriptor} extension list changes.
+ */
 @Restricted(NoExternalUse.class)
 @Extension
 public class DescriptorLookupCache {
-    private transient Map<String, StepDescriptor> stepMap;
-    private transient Map<String, DescribableModel<? extends Step>> modelMap;
-    private transient Map<String, Descriptor<? extends Describable>> describableMap;
-    private transient Map<String, DescribableModel<? extends Describable>> describableModelMap;
+    private transient volatile Map<String, StepDescriptor> stepMap;
+    private final transient ConcurrentMap<String, Optional<DescribableModel<? extends Step>>> modelMap = new ConcurrentHashMap<>();
+    private final transient ConcurrentMap<LookupKey, Optional<Descriptor<? extends Describable>>> describableMap = new ConcurrentHashMap<>();
+    private final transient ConcurrentMap<LookupKey, Optional<DescribableModel<? extends Describable>>> describableModelMap = new ConcurrentHashMap<>();
+
+    private final transient LongAdder hits = new LongAdder();
+    private final transient LongAdder misses = new LongAdder();
 
     public static DescriptorLookupCache getPublicCache() {
         return ExtensionList.lookup(DescriptorLookupCache.class).get(0);
@@ -58,115 +76,136 @@ public class DescriptorLookupCache {
         getPublicCache().invalidateAll();
     }
 
+    @Initializer(after = InitMilestone.EXTENSIONS_AUGMENTED)
+    public static void listenForDescriptorChanges() {
+        Jenkins.get().getExtensionList(Descriptor.class).addListener(new ExtensionListListener() {
+            @Override
+            public void onChange() {
+                invalidateGlobalCache();
+            }
+        });
+    }
+
     public DescriptorLookupCache() {
         invalidateAll();
     }
 
-    public synchronized void invalidateAll() {
-        this.stepMap = new LinkedHashMap<>();
-        this.modelMap = new LinkedHashMap<>();
-        this.describableMap = new LinkedHashMap<>();
-        this.describableModelMap = new LinkedHashMap<>();
+    public void invalidateAll() {
+        this.stepMap = null;
+        this.modelMap.clear();
+        this.describableMap.clear();
+        this.describableModelMap.clear();
     }
 
-    public synchronized DescribableModel<? extends Step> modelForStep(String n) {
-        if (!modelMap.containsKey(n)) {
-            final StepDescriptor descriptor = lookupStepDescriptor(n);
-            Class<? extends Step> c = (descriptor == null ? null : descriptor.clazz);
-            modelMap.put(n, c != null ? new DescribableModel<>(c) : null);
-        }
+    /**
+     * @return the number of lookups answered from the cache since startup.
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
 
+    /**
+     * @return the number of lookups that had to be computed since startup.
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
 
-        return modelMap.get(n);
+    public DescribableModel<? extends Step> modelForStep(String n) {
+        if (n == null) {
+            return null;
+        }
+        return cached(modelMap, n, k -> {
+            final StepDescriptor descriptor = lookupStepDescriptor(k);
+            Class<? extends Step> c = (descriptor == null ? null : descriptor.clazz);
+            return c != null ? new DescribableModel<>(c) : null;
+        });
     }
 
-    public synchronized DescribableModel<? extends Describable> modelForDescribable(String n) {
+    public DescribableModel<? extends Describable> modelForDescribable(String n) {
         return modelForDescribable(n, null);
     }
 
-    public synchronized DescribableModel<? extends Describable> modelForDescribable(String n, @CheckForNull Class<? extends Describable> describable) {
-        if (describable == null) {
-            if (!describableModelMap.containsKey(n)) {
-                final Descriptor<? extends Describable> function = lookupFunction(n);
-                Class<? extends Describable> c = (function == null ? null : function.clazz);
-                describableModelMap.put(n, c != null ? new DescribableModel<>(c) : null);
-            }
-
-            return describableModelMap.get(n);
-        } else {
-            // TODO: Cache models for parent describables too
-            final Descriptor<? extends Describable> function = lookupFunction(n, describable);
+    public DescribableModel<? extends Describable> modelForDescribable(String n, @CheckForNull Class<? extends Describable> describable) {
+        if (n == null) {
+            return null;
+        }
+        return cached(describableModelMap, new LookupKey(n, describable), k -> {
+            final Descriptor<? extends Describable> function = lookupFunction(k.name, k.parent);
             Class<? extends Describable> c = (function == null ? null : function.clazz);
             return c != null ? new DescribableModel<>(c) : null;
-        }
+        });
     }
 
-    public synchronized StepDescriptor lookupStepDescriptor(String n) {
-        if (stepMap.isEmpty()) {
+    public StepDescriptor lookupStepDescriptor(String n) {
+        Map<String, StepDescriptor> steps = stepMap;
+        if (steps == null) {
+            Map<String, StepDescriptor> m = new HashMap<>();
             for (StepDescriptor d : StepDescriptor.all()) {
-                stepMap.put(d.getFunctionName(), d);
+                m.put(d.getFunctionName(), d);
             }
+            steps = Collections.unmodifiableMap(m);
+            stepMap = steps;
         }
-        return stepMap.get(n);
+        return n == null ? null : steps.get(n);
     }
 
-    public synchronized Descriptor<? extends Describable> lookupFunction(String n) {
+    public Descriptor<? extends Describable> lookupFunction(String n) {
         return lookupFunction(n, null);
     }
 
-    public synchronized Descriptor<? extends Describable> lookupFunction(String n, @CheckForNull Class<? extends Describable> describable) {
+    public Descriptor<? extends Describable> lookupFunction(String n, @CheckForNull Class<? extends Describable> describable) {
         if (n == null) {
             return null;
-        } else if (describable == null) {
-            if (!describableMap.containsKey(n)) {
-                Descriptor<? extends Describable> d = null;
-
-                // Prefer metasteps, falling back on any old describable.
-                for (StepDescriptor metaStep : StepDescriptor.metaStepsOf(n)) {
-                    d = SymbolLookup.get().findDescriptor(metaStep.getMetaStepArgumentType(), n);
-                    if (d != null) {
-                        break;
-                    }
-                }
-                // Fall back on a non-metastep describable
-                if (d == null) {
-                    d = SymbolLookup.get().findDescriptor(Describable.class, n);
-                }
-                describableMap.put(n, d);
+        }
+        return cached(describableMap, new LookupKey(n, describable), k -> {
+            if (k.parent != null) {
+                return SymbolLookup.get().findDescriptor(k.parent, k.name);
             }
+            Descriptor<? extends Describable> d = null;
 
-            return describableMap.get(n);
-        } else {
-            // TODO: Switch to caching when we're looking up specific describables
-            return SymbolLookup.get().findDescriptor(describable, n);
-        }
+            // Prefer metasteps, falling back on any old describable.
+            for (StepDescriptor metaStep : StepDescriptor.metaStepsOf(k.name)) {
+                d = SymbolLookup.get().findDescriptor(metaStep.getMetaStepArgumentType(), k.name);
+                if (d != null) {
+                    break;
+                }
+            }
+            // Fall back on a non-metastep describable
+            if (d == null) {
+                d = SymbolLookup.get().findDescriptor(Describable.class, k.name);
+            }
+            return d;
+        });
     }
 
-    public synchronized Descriptor<? extends Describable> lookupStepFirstThenFunction(String name) {
+    public Descriptor<? extends Describable> lookupStepFirstThenFunction(String name) {
         return lookupStepFirstThenFunction(name, null);
     }
 
-    public synchronized Descriptor<? extends Describable> lookupFunctionFirstThenStep(String name) {
+    public Descriptor<? extends Describable> lookupFunctionFirstThenStep(String name) {
         return lookupFunctionFirstThenStep(name, null);
     }
 
-    public synchronized DescribableModel<? extends Describable> modelForStepFirstThenFunction(String name) {
+    public DescribableModel<? extends Describable> modelForStepFirstThenFunction(String name) {
         return modelForStepFirstThenFunction(name, null);
     }
 
-    public synchronized DescribableModel<? extends Describable> modelForFunctionFirstThenStep(String name) {
+    public DescribableModel<? extends Describable> modelForFunctionFirstThenStep(String name) {
         return modelForFunctionFirstThenStep(name, null);
     }
 
-    public synchronized Descriptor<? extends Describable> lookupStepFirstThenFunction(String name, Class<? extends Describable> describable) {
-        return lookupStepDescriptor(name) != null ? lookupStepDescriptor(name) : lookupFunction(name, describable);
+    public Descriptor<? extends Describable> lookupStepFirstThenFunction(String name, Class<? extends Describable> describable) {
+        Descriptor<? extends Describable> step = lookupStepDescriptor(name);
+        return step != null ? step : lookupFunction(name, describable);
     }
 
-    public synchronized Descriptor<? extends Describable> lookupFunctionFirstThenStep(String name, Class<? extends Describable> describable) {
-        return lookupFunction(name, describable) != null ? lookupFunction(name, describable) : lookupStepDescriptor(name);
+    public Descriptor<? extends Describable> lookupFunctionFirstThenStep(String name, Class<? extends Describable> describable) {
+        Descriptor<? extends Describable> function = lookupFunction(name, describable);
+        return function != null ? function : lookupStepDescriptor(name);
     }
 
-    public synchronized DescribableModel<? extends Describable> modelForStepFirstThenFunction(String name, Class<? extends Describable> describable) {
+    public DescribableModel<? extends Describable> modelForStepFirstThenFunction(String name, Class<? extends Describable> describable) {
         Descriptor<? extends Describable> desc = lookupStepDescriptor(name);
         DescribableModel<? extends Describable> model = null;
 
@@ -182,7 +221,7 @@ public class DescriptorLookupCache {
         return model;
     }
 
-    public synchronized DescribableModel<? extends Describable> modelForFunctionFirstThenStep(String name, Class<? extends Describable> describable) {
+    public DescribableModel<? extends Describable> modelForFunctionFirstThenStep(String name, Class<? extends Describable> describable) {
         Descriptor<? extends Describable> desc = lookupFunction(name, describable);
         DescribableModel<? extends Describable> model = null;
 
@@ -205,4 +244,45 @@ public class DescriptorLookupCache {
             return false;
         }
     }
+
+    /**
+     * Looks up {@code key} in {@code map}, computing it at most once on a miss. Null results are cached as well, so
+     * unknown symbols don't trigger a fresh {@link SymbolLookup} every time.
+     */
+    private <K, V> V cached(@NonNull ConcurrentMap<K, Optional<V>> map, @NonNull K key, @NonNull Function<K, V> loader) {
+        Optional<V> value = map.get(key);
+        if (value != null) {
+            hits.increment();
+            return value.orElse(null);
+        }
+        misses.increment();
+        return map.computeIfAbsent(key, k -> Optional.ofNullable(loader.apply(k))).orElse(null);
+    }
+
+    private static final class LookupKey {
+        private final String name;
+        private final Class<? extends Describable> parent;
+
+        LookupKey(@NonNull String name, @CheckForNull Class<? extends Describable> parent) {
+            this.name = name;
+            this.parent = parent;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            LookupKey that = (LookupKey) o;
+            return name.equals(that.name) && Objects.equals(parent, that.parent);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(name, parent);
+        }
+    }
 }
@@ -29,6 +29,7 @@ import edu.umd.cs.findbugs.annotations.NonNull;
 
 import org.apache.commons.lang3.StringUtils;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -45,12 +46,10 @@ public abstract class AbstractModelASTCodeBlock extends ModelASTStep {
     }
 
     @Override
-    @NonNull
-    public String toGroovy() {
-        StringBuilder result = new StringBuilder(getName()).append(" {\n");
-        result.append(codeBlockAsString());
-        result.append("\n}\n");
-        return result.toString();
+    public void toGroovy(@NonNull Appendable out) throws IOException {
+        out.append(getName()).append(" {\n");
+        out.append(codeBlockAsString());
+        out.append("\n}\n");
     }
 
     public String codeBlockAsString() {
@@ -24,10 +24,12 @@
 
 package org.jenkinsci.plugins.pipeline.modeldefinition.ast;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import net.sf.json.JSONObject;
 import org.jenkinsci.plugins.pipeline.modeldefinition.validator.ModelValidator;
 
+import java.io.IOException;
 import java.util.Objects;
 
 /**
@@ -73,9 +75,14 @@ public class InvisibleGlobalWhenCondition extends ModelASTWhenCondition {
     }
 
     @Override
-    @NonNull
-    public String toGroovy() {
-        return "";
+    public void writeJSON(@NonNull JsonGenerator generator) throws IOException {
+        generator.writeStartObject();
+        generator.writeEndObject();
+    }
+
+    @Override
+    public void toGroovy(@NonNull Appendable out) {
+        // Nothing to render.
     }
 
     @Override
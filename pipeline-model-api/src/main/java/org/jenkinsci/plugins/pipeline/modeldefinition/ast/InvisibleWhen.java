@@ -24,10 +24,13 @@
 
 package org.jenkinsci.plugins.pipeline.modeldefinition.ast;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import net.sf.json.JSONObject;
 import org.jenkinsci.plugins.pipeline.modeldefinition.validator.ModelValidator;
 
+import java.io.IOException;
+
 /**
  * {@code when} container generated when adding invisible global {@code when} conditions to a stage, containing the new
  * invisible conditions and any explicitly defined ones. When created with existing conditions, the existing {@code when}
@@ -74,10 +77,19 @@ public class InvisibleWhen extends ModelASTWhen {
         return originalWhen != null ? originalWhen.toJSON() : new JSONObject();
     }
 
-    @NonNull
     @Override
-    public String toGroovy() {
-        return originalWhen != null ? originalWhen.toGroovy() : "";
+    public void writeJSON(@NonNull JsonGenerator generator) throws IOException {
+        if (originalWhen != null) {
+            originalWhen.writeJSON(generator);
+        } else {
+            generator.writeStartObject();
+            generator.writeEndObject();
+        }
+    }
+
+    @Override
+    public void toGroovy(@NonNull Appendable out) throws IOException {
+        toGroovy(out, originalWhen);
     }
 
     @Override
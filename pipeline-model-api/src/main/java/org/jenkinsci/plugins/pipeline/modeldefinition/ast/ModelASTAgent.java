@@ -5,6 +5,7 @@ import net.sf.json.JSONObject;
 import org.jenkinsci.plugins.pipeline.modeldefinition.validator.ModelValidator;
 
 import edu.umd.cs.findbugs.annotations.NonNull;
+import java.io.IOException;
 import java.util.Map;
 
 /**
@@ -72,22 +73,20 @@ public final class ModelASTAgent extends ModelASTElement {
     }
 
     @Override
-    @NonNull
-    public String toGroovy() {
-        StringBuilder argStr = new StringBuilder();
+    public void toGroovy(@NonNull Appendable out) throws IOException {
+        out.append("agent ");
         if (variables == null ||
                 (variables instanceof ModelASTClosureMap &&
                         ((ModelASTClosureMap)variables).getVariables().isEmpty())) {
-            argStr.append(agentType.toGroovy());
+            agentType.toGroovy(out);
         } else {
-            argStr.append("{\n");
-            argStr.append(agentType.toGroovy());
-            argStr.append(" ");
-            argStr.append(variables.toGroovy());
-            argStr.append("\n}");
+            out.append("{\n");
+            agentType.toGroovy(out);
+            out.append(" ");
+            variables.toGroovy(out);
+            out.append("\n}");
         }
-
-        return "agent " + argStr.toString() + "\n";
+        out.append("\n");
     }
 
     @Override
@@ -6,6 +6,7 @@ import org.apache.commons.text.StringEscapeUtils;
 import org.jenkinsci.plugins.pipeline.modeldefinition.validator.ModelValidator;
 
 import edu.umd.cs.findbugs.annotations.NonNull;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -39,12 +40,12 @@ public class ModelASTAxis extends ModelASTElement {
     }
 
     @Override
-    @NonNull
-    public String toGroovy() {
-        StringBuilder argStr = new StringBuilder()
-            .append("name '").append(toGroovy(name) + "'\n")
-            .append(("values ")).append(toGroovyArgList(values)).append("\n");
-        return "axis {\n" + argStr.toString() + "}\n";
+    public void toGroovy(@NonNull Appendable out) throws IOException {
+        out.append("axis {\n").append("name '");
+        toGroovy(out, name);
+        out.append("'\n").append("values ");
+        toGroovyArgList(out, values);
+        out.append("\n").append("}\n");
     }
 
     @Override
@@ -4,6 +4,7 @@ import net.sf.json.JSONArray;
 import org.jenkinsci.plugins.pipeline.modeldefinition.validator.ModelValidator;
 
 import edu.umd.cs.findbugs.annotations.NonNull;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
@@ -34,9 +35,8 @@ public class ModelASTAxisContainer extends ModelASTElement {
     }
 
     @Override
-    @NonNull
-    public String toGroovy() {
-        return toGroovyBlock("axes", axes);
+    public void toGroovy(@NonNull Appendable out) throws IOException {
+        toGroovyBlock(out, "axes", axes);
     }
 
     @Override
@@ -1,9 +1,11 @@
 package org.jenkinsci.plugins.pipeline.modeldefinition.ast;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import net.sf.json.JSONObject;
 import org.jenkinsci.plugins.pipeline.modeldefinition.validator.ModelValidator;
 
 import edu.umd.cs.findbugs.annotations.NonNull;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
@@ -31,6 +33,15 @@ public final class ModelASTBranch extends ModelASTElement {
                 .accumulate("steps", toJSONArray(steps));
     }
 
+    @Override
+    public void writeJSON(@NonNull JsonGenerator generator) throws IOException {
+        generator.writeStartObject();
+        writeJSONField(generator, "name", name);
+        generator.writeFieldName("steps");
+        writeJSONArray(generator, steps);
+        generator.writeEndObject();
+    }
+
     @Override
     public void validate(@NonNull final ModelValidator validator) {
         validator.validateElement(this);
@@ -38,9 +49,8 @@ public final class ModelASTBranch extends ModelASTElement {
     }
 
     @Override
-    @NonNull
-    public String toGroovy() {
-        return toGroovy(steps);
+    public void toGroovy(@NonNull Appendable out) throws IOException {
+        toGroovy(out, steps);
     }
 
     @Override
@@ -1,9 +1,11 @@
 package org.jenkinsci.plugins.pipeline.modeldefinition.ast;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import net.sf.json.JSONObject;
 import org.jenkinsci.plugins.pipeline.modeldefinition.validator.ModelValidator;
 
 import edu.umd.cs.findbugs.annotations.NonNull;
+import java.io.IOException;
 
 /**
  * Represents a single BuildCondition to be checked and possibly executed in either the PostBuild or
@@ -27,6 +29,14 @@ public final class ModelASTBuildCondition extends ModelASTElement {
                 .accumulate("branch", toJSON(branch));
     }
 
+    @Override
+    public void writeJSON(@NonNull JsonGenerator generator) throws IOException {
+        generator.writeStartObject();
+        writeJSONField(generator, "condition", condition);
+        writeJSONField(generator, "branch", branch);
+        generator.writeEndObject();
+    }
+
     @Override
     public void validate(@NonNull ModelValidator validator) {
         validator.validateElement(this);
@@ -34,9 +44,8 @@ public final class ModelASTBuildCondition extends ModelASTElement {
     }
 
     @Override
-    @NonNull
-    public String toGroovy() {
-        return toGroovyBlock(condition, branch);
+    public void toGroovy(@NonNull Appendable out) throws IOException {
+        toGroovyBlock(out, condition, branch);
     }
 
     @Override
@@ -1,9 +1,11 @@
 package org.jenkinsci.plugins.pipeline.modeldefinition.ast;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import net.sf.json.JSONObject;
 import org.jenkinsci.plugins.pipeline.modeldefinition.validator.ModelValidator;
 
 import edu.umd.cs.findbugs.annotations.NonNull;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -31,6 +33,11 @@ public abstract class ModelASTBuildConditionsContainer extends ModelASTElement {
         return toJSONObject("conditions", conditions);
     }
 
+    @Override
+    public void writeJSON(@NonNull JsonGenerator generator) throws IOException {
+        writeJSONObject(generator, "conditions", conditions);
+    }
+
     @Override
     public void validate(@NonNull final ModelValidator validator) {
         validator.validateElement(this);
@@ -39,9 +46,8 @@ public abstract class ModelASTBuildConditionsContainer extends ModelASTElement {
     }
 
     @Override
-    @NonNull
-    public String toGroovy() {
-        return toGroovyBlock(getName(), conditions);
+    public void toGroovy(@NonNull Appendable out) throws IOException {
+        toGroovyBlock(out, getName(), conditions);
     }
 
     @Override
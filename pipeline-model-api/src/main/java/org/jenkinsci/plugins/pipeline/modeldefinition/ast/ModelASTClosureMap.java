@@ -24,10 +24,12 @@
 
 package org.jenkinsci.plugins.pipeline.modeldefinition.ast;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import net.sf.json.JSONArray;
 import org.jenkinsci.plugins.pipeline.modeldefinition.validator.ModelValidator;
 
 import edu.umd.cs.findbugs.annotations.NonNull;
+import java.io.IOException;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
@@ -49,6 +51,11 @@ public final class ModelASTClosureMap extends ModelASTElement implements ModelAS
         return toJSONArray(variables);
     }
 
+    @Override
+    public void writeJSON(@NonNull JsonGenerator generator) throws IOException {
+        writeJSONArray(generator, variables);
+    }
+
     @Override
     public void validate(@NonNull final ModelValidator validator) {
         // Nothing to immediately validate here
@@ -56,9 +63,8 @@ public final class ModelASTClosureMap extends ModelASTElement implements ModelAS
     }
 
     @Override
-    @NonNull
-    public String toGroovy() {
-        return toGroovyBlock(null, variables, " ");
+    public void toGroovy(@NonNull Appendable out) throws IOException {
+        toGroovyBlock(out, null, variables, " ");
     }
 
     @Override
@@ -23,6 +23,8 @@
  */
 package org.jenkinsci.plugins.pipeline.modeldefinition.ast;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import hudson.Util;
 import net.sf.json.JSONArray;
 import net.sf.json.JSONObject;
 import org.codehaus.groovy.ast.ASTNode;
@@ -30,6 +32,8 @@ import org.jenkinsci.plugins.pipeline.modeldefinition.validator.ModelValidator;
 
 import edu.umd.cs.findbugs.annotations.CheckForNull;
 import edu.umd.cs.findbugs.annotations.NonNull;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.*;
 
 
@@ -101,6 +105,94 @@ public abstract class ModelASTElement implements ModelASTMarkerInterface {
         return new JSONObject().accumulate(key, toJSONArray(list));
     }
 
+    /**
+     * Streaming equivalent of {@code elementOpt(field, toJSON(item))} - writes nothing if the item is null.
+     */
+    protected static void writeJSON(@NonNull JsonGenerator generator, @NonNull String field,
+                                    @CheckForNull ModelASTMarkerInterface item) throws IOException {
+        if (item != null) {
+            generator.writeFieldName(field);
+            item.writeJSON(generator);
+        }
+    }
+
+    /**
+     * Streaming equivalent of {@code elementOpt(field, toJSONCheckEmpty(item))}.
+     */
+    protected static void writeJSONCheckEmpty(@NonNull JsonGenerator generator, @NonNull String field,
+                                              @CheckForNull ModelASTElementContainer item) throws IOException {
+        if (item != null && !item.isEmpty()) {
+            writeJSON(generator, field, item);
+        }
+    }
+
+    /**
+     * Streaming equivalent of {@link #toJSONArray(Collection)}.
+     */
+    protected static <T extends ModelASTMarkerInterface> void writeJSONArray(@NonNull JsonGenerator generator,
+                                                                            @CheckForNull Collection<T> list) throws IOException {
+        generator.writeStartArray();
+        if (list != null) {
+            for (T item : list) {
+                if (item != null) {
+                    item.writeJSON(generator);
+                } else {
+                    generator.writeNull();
+                }
+            }
+        }
+        generator.writeEndArray();
+    }
+
+    /**
+     * Streaming equivalent of {@link #toJSONArray(Map)}.
+     */
+    protected static <K extends ModelASTMarkerInterface, V extends ModelASTMarkerInterface> void writeJSONArray(@NonNull JsonGenerator generator,
+                                                                                                              @CheckForNull Map<K, V> map) throws IOException {
+        generator.writeStartArray();
+        if (map != null) {
+            for (Map.Entry<K, V> entry : map.entrySet()) {
+                generator.writeStartObject();
+                generator.writeFieldName("key");
+                entry.getKey().writeJSON(generator);
+                generator.writeFieldName("value");
+                entry.getValue().writeJSON(generator);
+                generator.writeEndObject();
+            }
+        }
+        generator.writeEndArray();
+    }
+
+    /**
+     * Streaming equivalent of {@link #toJSONObject(String, Collection)}.
+     */
+    protected static <T extends ModelASTMarkerInterface> void writeJSONObject(@NonNull JsonGenerator generator, @NonNull String key,
+                                                                             @CheckForNull Collection<T> list) throws IOException {
+        generator.writeStartObject();
+        generator.writeFieldName(key);
+        writeJSONArray(generator, list);
+        generator.writeEndObject();
+    }
+
+    /**
+     * Writes a field with a simple value, as {@code accumulate(field, value)} would.
+     */
+    protected static void writeJSONField(@NonNull JsonGenerator generator, @NonNull String field,
+                                         @CheckForNull Object value) throws IOException {
+        generator.writeFieldName(field);
+        ModelASTJSONWriter.writeValue(generator, value);
+    }
+
+    /**
+     * Writes a field with a simple value only if the value is non-null, as {@code elementOpt(field, value)} would.
+     */
+    protected static void writeJSONFieldOpt(@NonNull JsonGenerator generator, @NonNull String field,
+                                            @CheckForNull Object value) throws IOException {
+        if (value != null) {
+            writeJSONField(generator, field, value);
+        }
+    }
+
     @CheckForNull
     protected static <T extends Collection> T nullIfEmpty(@CheckForNull T list) {
         return list == null || list.isEmpty() ? null : list;
@@ -108,12 +200,138 @@ public abstract class ModelASTElement implements ModelASTMarkerInterface {
 
     /**
      * Translates this element and any children it may have into Pipeline Config-formatted Groovy, without any indentations.
+     * This is a thin wrapper around {@link #toGroovy(Appendable)}, which subclasses must override.
      *
      * @return A simple {@link String} of Groovy code for this element and its children.
      */
+    @Override
     @NonNull
-    public abstract String toGroovy();
+    public String toGroovy() {
+        StringBuilder result = new StringBuilder();
+        try {
+            toGroovy(result);
+        } catch (IOException e) {
+            // StringBuilder never throws.
+            throw new UncheckedIOException(e);
+        }
+        return result.toString();
+    }
+
+    /**
+     * Appends this element and any children it may have to the given {@link Appendable} as Pipeline Config-formatted
+     * Groovy, without any indentations. Subclasses must override this. Older subclasses which only override
+     * {@link #toGroovy()} still work, since their result is appended here.
+     *
+     * @param out The {@link Appendable} to write to.
+     * @throws IOException if the {@link Appendable} fails to write.
+     */
+    @Override
+    public void toGroovy(@NonNull Appendable out) throws IOException {
+        if (!Util.isOverridden(ModelASTElement.class, getClass(), "toGroovy")) {
+            // Otherwise toGroovy() would call back here.
+            throw new AbstractMethodError(getClass().getName() + " must override toGroovy(Appendable)");
+        }
+        out.append(toGroovy());
+    }
+
+    /**
+     * Appends the Groovy for the given item, if it's non-null.
+     */
+    protected static void toGroovy(@NonNull Appendable out, @CheckForNull ModelASTMarkerInterface item) throws IOException {
+        if (item != null) {
+            item.toGroovy(out);
+        }
+    }
+
+    /**
+     * Appends the Groovy for the given container, if it's non-null and not empty.
+     */
+    protected static void toGroovyCheckEmpty(@NonNull Appendable out, @CheckForNull ModelASTElementContainer item) throws IOException {
+        if (item != null && !item.isEmpty()) {
+            item.toGroovy(out);
+        }
+    }
 
+    /**
+     * Appends the Groovy for each item in the list, each followed by a newline.
+     */
+    protected static <T extends ModelASTMarkerInterface> void toGroovy(@NonNull Appendable out, List<T> list) throws IOException {
+        for (T item: list) {
+            item.toGroovy(out);
+            out.append('\n');
+        }
+    }
+
+    /**
+     * Appends the Groovy for each item in the collection, separated by commas.
+     */
+    protected static <T extends ModelASTMarkerInterface> void toGroovyArgList(@NonNull Appendable out, Collection<T> list) throws IOException {
+        boolean first = true;
+        for (T item : list) {
+            if (first) {
+                first = false;
+            } else {
+                out.append(", ");
+            }
+            item.toGroovy(out);
+        }
+    }
+
+    /**
+     * Appends the Groovy for each entry in the map as key, separator and value, separated by commas.
+     */
+    protected static <K extends ModelASTMarkerInterface, V extends  ModelASTMarkerInterface> void toGroovyArgList(@NonNull Appendable out, Map<K, V> map, String separator) throws IOException {
+        boolean first = true;
+        for (Map.Entry<K, V> entry : map.entrySet()) {
+            if (first) {
+                first = false;
+            } else {
+                out.append(", ");
+            }
+            entry.getKey().toGroovy(out);
+            out.append(separator);
+            entry.getValue().toGroovy(out);
+        }
+    }
+
+    private static void openGroovyBlock(@NonNull Appendable out, String name) throws IOException {
+        if (name != null) {
+            out.append(name).append(" ");
+        }
+        out.append("{\n");
+    }
+
+    /**
+     * Appends a block with the given name containing the Groovy for the given item.
+     */
+    protected static void toGroovyBlock(@NonNull Appendable out, String name, ModelASTMarkerInterface item) throws IOException {
+        openGroovyBlock(out, name);
+        toGroovy(out, item);
+        out.append("}\n");
+    }
+
+    /**
+     * Appends a block with the given name containing the Groovy for each item in the list.
+     */
+    protected static <T extends ModelASTMarkerInterface> void toGroovyBlock(@NonNull Appendable out, String name, List<T> list) throws IOException {
+        openGroovyBlock(out, name);
+        toGroovy(out, list);
+        out.append("}\n");
+    }
+
+    /**
+     * Appends a block with the given name containing the Groovy for each entry in the map, one per line.
+     */
+    protected static <K extends ModelASTMarkerInterface, V extends  ModelASTMarkerInterface> void toGroovyBlock(@NonNull Appendable out, String name, Map<K, V> map, String separator) throws IOException {
+        openGroovyBlock(out, name);
+        for (Map.Entry<K, V> entry : map.entrySet()) {
+            entry.getKey().toGroovy(out);
+            out.append(separator);
+            entry.getValue().toGroovy(out);
+            out.append('\n');
+        }
+        out.append("}\n");
+    }
 
     /**
      * Translates this element and any children it may have into Pipeline Config-formatted Groovy, without any indentations.
@@ -143,8 +361,10 @@ public abstract class ModelASTElement implements ModelASTMarkerInterface {
     @NonNull
     protected static <T extends ModelASTMarkerInterface> String toGroovy(List<T> list) {
         StringBuilder result = new StringBuilder();
-        for (T item: list) {
-            result.append(item.toGroovy()).append("\n");
+        try {
+            toGroovy(result, list);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
         return result.toString();
     }
@@ -157,14 +377,10 @@ public abstract class ModelASTElement implements ModelASTMarkerInterface {
     @NonNull
     protected static <T extends ModelASTMarkerInterface> String toGroovyArgList(Collection<T> list) {
         StringBuilder result = new StringBuilder();
-        boolean first = true;
-        for (T item : list) {
-            if (first) {
-                first = false;
-            } else {
-                result.append(", ");
-            }
-            result.append(item.toGroovy());
+        try {
+            toGroovyArgList(result, list);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
         return result.toString();
     }
@@ -177,14 +393,10 @@ public abstract class ModelASTElement implements ModelASTMarkerInterface {
     @NonNull
     protected static <K extends ModelASTMarkerInterface, V extends  ModelASTMarkerInterface>  String toGroovyArgList(Map<K, V> map, String separator) {
         StringBuilder result = new StringBuilder();
-        boolean first = true;
-        for (Map.Entry<K, V> entry : map.entrySet()) {
-            if (first) {
-                first = false;
-            } else {
-                result.append(", ");
-            }
-            result.append(entry.getKey().toGroovy()).append(separator).append(entry.getValue().toGroovy());
+        try {
+            toGroovyArgList(result, map, separator);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
         return result.toString();
     }
@@ -198,12 +410,11 @@ public abstract class ModelASTElement implements ModelASTMarkerInterface {
     @NonNull
     protected static String toGroovyBlock(String name, ModelASTMarkerInterface item) {
         StringBuilder result = new StringBuilder();
-        if (name != null) {
-            result.append(name).append(" ");
+        try {
+            toGroovyBlock(result, name, item);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
-        result.append("{\n");
-        result.append(toGroovy(item));
-        result.append("}\n");
         return result.toString();
     }
 
@@ -215,12 +426,11 @@ public abstract class ModelASTElement implements ModelASTMarkerInterface {
     @NonNull
     protected static <T extends ModelASTMarkerInterface> String toGroovyBlock(String name, List<T> list) {
         StringBuilder result = new StringBuilder();
-        if (name != null) {
-            result.append(name).append(" ");
+        try {
+            toGroovyBlock(result, name, list);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
-        result.append("{\n");
-        result.append(toGroovy(list));
-        result.append("}\n");
         return result.toString();
     }
 
@@ -232,14 +442,11 @@ public abstract class ModelASTElement implements ModelASTMarkerInterface {
     @NonNull
     protected static <K extends ModelASTMarkerInterface, V extends  ModelASTMarkerInterface> String toGroovyBlock(String name, Map<K, V> map, String separator) {
         StringBuilder result = new StringBuilder();
-        if (name != null) {
-            result.append(name).append(" ");
-        }
-        result.append("{\n");
-        for (Map.Entry<K, V> entry : map.entrySet()) {
-            result.append(entry.getKey().toGroovy()).append(separator).append(entry.getValue().toGroovy()).append('\n');
+        try {
+            toGroovyBlock(result, name, map, separator);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
-        result.append("}\n");
         return result.toString();
     }
 
@@ -1,9 +1,11 @@
 package org.jenkinsci.plugins.pipeline.modeldefinition.ast;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import net.sf.json.JSONArray;
 import org.jenkinsci.plugins.pipeline.modeldefinition.validator.ModelValidator;
 
 import edu.umd.cs.findbugs.annotations.NonNull;
+import java.io.IOException;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
@@ -25,6 +27,11 @@ public final class ModelASTEnvironment extends ModelASTElement {
         return toJSONArray(variables);
     }
 
+    @Override
+    public void writeJSON(@NonNull JsonGenerator generator) throws IOException {
+        writeJSONArray(generator, variables);
+    }
+
     @Override
     public void validate(@NonNull final ModelValidator validator) {
         validator.validateElement(this);
@@ -32,9 +39,8 @@ public final class ModelASTEnvironment extends ModelASTElement {
     }
 
     @Override
-    @NonNull
-    public String toGroovy() {
-        return toGroovyBlock("environment", variables, " = ");
+    public void toGroovy(@NonNull Appendable out) throws IOException {
+        toGroovyBlock(out, "environment", variables, " = ");
     }
 
     @Override
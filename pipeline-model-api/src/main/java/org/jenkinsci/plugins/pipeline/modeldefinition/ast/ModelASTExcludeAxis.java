@@ -4,6 +4,7 @@ import net.sf.json.JSONObject;
 import org.jenkinsci.plugins.pipeline.modeldefinition.validator.ModelValidator;
 
 import edu.umd.cs.findbugs.annotations.NonNull;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
@@ -35,17 +36,17 @@ public class ModelASTExcludeAxis extends ModelASTAxis {
     }
 
     @Override
-    @NonNull
-    public String toGroovy() {
-        StringBuilder argStr = new StringBuilder()
-            .append("name '").append(toGroovy(getName()) + "'\n");
-        String values = toGroovyArgList(getValues());
+    public void toGroovy(@NonNull Appendable out) throws IOException {
+        out.append("axis {\n").append("name '");
+        toGroovy(out, getName());
+        out.append("'\n");
         if (inverse != null && inverse) {
-            argStr.append("notValues ").append(values).append("\n");
+            out.append("notValues ");
         } else {
-            argStr.append("values ").append(values).append("\n");
+            out.append("values ");
         }
-        return "axis {\n" + argStr.toString() + "}\n";
+        toGroovyArgList(out, getValues());
+        out.append("\n").append("}\n");
     }
 
     public Boolean getInverse() {
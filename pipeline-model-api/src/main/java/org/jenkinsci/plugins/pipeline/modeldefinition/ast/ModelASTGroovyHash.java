@@ -0,0 +1,79 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, CloudBees, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.pipeline.modeldefinition.ast;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * An {@link Appendable} that computes the {@link String#hashCode()} of everything appended to it, without keeping the
+ * text around. Used to hash {@link ModelASTMarkerInterface#toGroovy(Appendable)} output for large pipelines.
+ */
+public final class ModelASTGroovyHash implements Appendable {
+    private int hash;
+
+    private ModelASTGroovyHash() {
+    }
+
+    /**
+     * Computes {@code element.toGroovy().hashCode()} without materializing the Groovy.
+     *
+     * @param element The element to hash.
+     * @return The same value as {@code element.toGroovy().hashCode()}.
+     */
+    public static int of(@NonNull ModelASTMarkerInterface element) {
+        ModelASTGroovyHash hash = new ModelASTGroovyHash();
+        try {
+            element.toGroovy(hash);
+        } catch (IOException e) {
+            // We never throw.
+            throw new UncheckedIOException(e);
+        }
+        return hash.hash;
+    }
+
+    @Override
+    public Appendable append(CharSequence csq) {
+        CharSequence s = csq != null ? csq : "null";
+        return append(s, 0, s.length());
+    }
+
+    @Override
+    public Appendable append(CharSequence csq, int start, int end) {
+        CharSequence s = csq != null ? csq : "null";
+        int h = hash;
+        for (int i = start; i < end; i++) {
+            h = 31 * h + s.charAt(i);
+        }
+        hash = h;
+        return this;
+    }
+
+    @Override
+    public Appendable append(char c) {
+        hash = 31 * hash + c;
+        return this;
+    }
+}
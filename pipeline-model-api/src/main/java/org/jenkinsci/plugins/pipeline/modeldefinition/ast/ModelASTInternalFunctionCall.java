@@ -28,6 +28,7 @@ import net.sf.json.JSONObject;
 import org.jenkinsci.plugins.pipeline.modeldefinition.validator.ModelValidator;
 
 import edu.umd.cs.findbugs.annotations.NonNull;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -60,13 +61,10 @@ public class ModelASTInternalFunctionCall extends ModelASTElement implements Mod
     }
 
     @Override
-    @NonNull
-    public String toGroovy() {
-        StringBuilder result = new StringBuilder(name);
-        result.append('(');
-        result.append(toGroovyArgList(args));
-        result.append(')');
-        return result.toString();
+    public void toGroovy(@NonNull Appendable out) throws IOException {
+        out.append(name).append('(');
+        toGroovyArgList(out, args);
+        out.append(')');
     }
 
     @Override
@@ -0,0 +1,120 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, CloudBees, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.pipeline.modeldefinition.ast;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import net.sf.json.JSONArray;
+import net.sf.json.JSONNull;
+import net.sf.json.JSONObject;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Map;
+
+/**
+ * Streams {@link ModelASTMarkerInterface} trees as JSON using Jackson, rather than building a json-lib tree with
+ * {@link ModelASTMarkerInterface#toJSON()} and serializing that.
+ */
+public final class ModelASTJSONWriter {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private ModelASTJSONWriter() {
+    }
+
+    /**
+     * Writes the JSON for an element to a {@link Writer}.
+     *
+     * @param element The element to write.
+     * @param writer The writer to write to. It is flushed, but not closed.
+     * @throws IOException if the writer fails.
+     */
+    public static void write(@NonNull ModelASTMarkerInterface element, @NonNull Writer writer) throws IOException {
+        try (JsonGenerator generator = createGenerator(writer)) {
+            element.writeJSON(generator);
+        }
+    }
+
+    /**
+     * Creates a generator writing to the given {@link Writer}. Closing the generator flushes, but does not close, the
+     * writer.
+     */
+    @NonNull
+    public static JsonGenerator createGenerator(@NonNull Writer writer) throws IOException {
+        JsonGenerator generator = MAPPER.getFactory().createGenerator(writer);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        return generator;
+    }
+
+    /**
+     * Writes a value as it would appear in a json-lib tree - json-lib objects and arrays, strings, numbers, booleans
+     * or null.
+     */
+    public static void writeValue(@NonNull JsonGenerator generator, @CheckForNull Object value) throws IOException {
+        if (value == null || value instanceof JSONNull) {
+            generator.writeNull();
+        } else if (value instanceof ModelASTMarkerInterface) {
+            ((ModelASTMarkerInterface) value).writeJSON(generator);
+        } else if (value instanceof JSONObject) {
+            JSONObject o = (JSONObject) value;
+            if (o.isNullObject()) {
+                generator.writeNull();
+            } else {
+                generator.writeStartObject();
+                for (Object e : o.entrySet()) {
+                    Map.Entry<?, ?> entry = (Map.Entry<?, ?>) e;
+                    generator.writeFieldName(String.valueOf(entry.getKey()));
+                    writeValue(generator, entry.getValue());
+                }
+                generator.writeEndObject();
+            }
+        } else if (value instanceof JSONArray) {
+            generator.writeStartArray();
+            for (Object item : (JSONArray) value) {
+                writeValue(generator, item);
+            }
+            generator.writeEndArray();
+        } else if (value instanceof String) {
+            generator.writeString((String) value);
+        } else if (value instanceof Boolean) {
+            generator.writeBoolean((Boolean) value);
+        } else if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            generator.writeNumber(((Number) value).intValue());
+        } else if (value instanceof Long) {
+            generator.writeNumber((Long) value);
+        } else if (value instanceof BigInteger) {
+            generator.writeNumber((BigInteger) value);
+        } else if (value instanceof BigDecimal) {
+            generator.writeNumber((BigDecimal) value);
+        } else if (value instanceof Number) {
+            generator.writeNumber(((Number) value).doubleValue());
+        } else {
+            generator.writeString(String.valueOf(value));
+        }
+    }
+}
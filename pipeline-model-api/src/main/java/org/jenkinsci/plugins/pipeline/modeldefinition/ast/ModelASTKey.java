@@ -1,6 +1,7 @@
 package org.jenkinsci.plugins.pipeline.modeldefinition.ast;
 
 import edu.umd.cs.findbugs.annotations.NonNull;
+import java.io.IOException;
 
 /**
  * Represents the key in a key/value pair, as used in {@link ModelASTEnvironment}, {@link ModelASTNamedArgumentList} and elsewhere.
@@ -21,9 +22,8 @@ public class ModelASTKey extends ModelASTElement {
     }
 
     @Override
-    @NonNull
-    public String toGroovy() {
-        return key;
+    public void toGroovy(@NonNull Appendable out) throws IOException {
+        out.append(key);
     }
 
     public String getKey() {
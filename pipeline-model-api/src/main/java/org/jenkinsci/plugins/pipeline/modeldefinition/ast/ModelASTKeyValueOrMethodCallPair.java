@@ -1,9 +1,11 @@
 package org.jenkinsci.plugins.pipeline.modeldefinition.ast;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import net.sf.json.JSONObject;
 import org.jenkinsci.plugins.pipeline.modeldefinition.validator.ModelValidator;
 
 import edu.umd.cs.findbugs.annotations.NonNull;
+import java.io.IOException;
 
 /**
  * An individual pair of a {@link ModelASTKey} and a {@link ModelASTMethodArg}
@@ -26,15 +28,24 @@ public final class ModelASTKeyValueOrMethodCallPair extends ModelASTElement impl
                 .accumulate("value", toJSON(value));
     }
 
+    @Override
+    public void writeJSON(@NonNull JsonGenerator generator) throws IOException {
+        generator.writeStartObject();
+        writeJSONField(generator, "key", key);
+        writeJSONField(generator, "value", value);
+        generator.writeEndObject();
+    }
+
     @Override
     public void validate(@NonNull ModelValidator validator) {
         validate(validator, key, value);
     }
 
     @Override
-    @NonNull
-    public String toGroovy() {
-        return key.toGroovy() + ": " + value.toGroovy();
+    public void toGroovy(@NonNull Appendable out) throws IOException {
+        key.toGroovy(out);
+        out.append(": ");
+        value.toGroovy(out);
     }
 
     @Override
@@ -24,10 +24,12 @@
 
 package org.jenkinsci.plugins.pipeline.modeldefinition.ast;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import net.sf.json.JSONObject;
 import org.jenkinsci.plugins.pipeline.modeldefinition.validator.ModelValidator;
 
 import edu.umd.cs.findbugs.annotations.NonNull;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -49,6 +51,11 @@ public final class ModelASTLibraries extends ModelASTElement implements ModelAST
         return toJSONObject("libraries", libs);
     }
 
+    @Override
+    public void writeJSON(@NonNull JsonGenerator generator) throws IOException {
+        writeJSONObject(generator, "libraries", libs);
+    }
+
     @Override
     public void validate(@NonNull final ModelValidator validator) {
         validator.validateElement(this);
@@ -56,14 +63,14 @@ public final class ModelASTLibraries extends ModelASTElement implements ModelAST
     }
 
     @Override
-    @NonNull
-    public String toGroovy() {
-        StringBuilder result = new StringBuilder("libraries {\n");
+    public void toGroovy(@NonNull Appendable out) throws IOException {
+        out.append("libraries {\n");
         for (ModelASTValue v : libs) {
-            result.append("lib(").append(v.toGroovy()).append(")\n");
+            out.append("lib(");
+            v.toGroovy(out);
+            out.append(")\n");
         }
-        result.append("}\n");
-        return result.toString();
+        out.append("}\n");
     }
 
     @Override
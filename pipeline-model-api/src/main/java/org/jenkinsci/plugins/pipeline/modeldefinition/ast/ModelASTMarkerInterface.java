@@ -24,9 +24,11 @@
 
 package org.jenkinsci.plugins.pipeline.modeldefinition.ast;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import org.jenkinsci.plugins.pipeline.modeldefinition.validator.ModelValidator;
 
 import edu.umd.cs.findbugs.annotations.NonNull;
+import java.io.IOException;
 
 /**
  *
@@ -36,9 +38,33 @@ public interface ModelASTMarkerInterface {
     @NonNull
     String toGroovy();
 
+    /**
+     * Appends the same Groovy as {@link #toGroovy()} to an {@link Appendable}. Elements with children override this to
+     * render their children into the same {@link Appendable} rather than concatenating intermediate strings; the
+     * default appends the result of {@link #toGroovy()}.
+     *
+     * @param out The {@link Appendable} to write to.
+     * @throws IOException if the {@link Appendable} fails to write.
+     */
+    default void toGroovy(@NonNull Appendable out) throws IOException {
+        out.append(toGroovy());
+    }
+
     @NonNull
     Object toJSON();
 
+    /**
+     * Writes the same JSON as {@link #toJSON()} directly to a {@link JsonGenerator}. Elements with children override
+     * this to stream their children without building an intermediate tree; the default writes the result of
+     * {@link #toJSON()}.
+     *
+     * @param generator The generator to write to.
+     * @throws IOException if the generator fails to write.
+     */
+    default void writeJSON(@NonNull JsonGenerator generator) throws IOException {
+        ModelASTJSONWriter.writeValue(generator, toJSON());
+    }
+
     void validate(@NonNull ModelValidator validator);
 
     void removeSourceLocation();
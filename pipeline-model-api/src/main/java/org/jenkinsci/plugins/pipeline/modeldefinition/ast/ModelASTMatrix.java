@@ -1,9 +1,11 @@
 package org.jenkinsci.plugins.pipeline.modeldefinition.ast;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import net.sf.json.JSONObject;
 import org.jenkinsci.plugins.pipeline.modeldefinition.validator.ModelValidator;
 
 import edu.umd.cs.findbugs.annotations.NonNull;
+import java.io.IOException;
 import java.util.Map;
 import java.util.Objects;
 
@@ -34,6 +36,14 @@ public final class ModelASTMatrix extends ModelASTStageBase {
         return o;
     }
 
+    @Override
+    protected void writeJSONFields(@NonNull JsonGenerator generator) throws IOException {
+        super.writeJSONFields(generator);
+        writeJSON(generator, "axes", axes);
+        writeJSON(generator, "excludes", excludes);
+        writeJSON(generator, "stages", stages);
+    }
+
     @Override
     public void validate(final ModelValidator validator) {
         super.validate(validator);
@@ -46,15 +56,13 @@ public final class ModelASTMatrix extends ModelASTStageBase {
     }
 
     @Override
-    @NonNull
-    public String toGroovy() {
-        StringBuilder children = new StringBuilder()
-            .append(toGroovy(axes))
-            .append(toGroovy(excludes))
-            .append(super.toGroovy())
-            .append(toGroovy(stages));
-
-        return "matrix {\n" + children.toString() + "}\n";
+    public void toGroovy(@NonNull Appendable out) throws IOException {
+        out.append("matrix {\n");
+        toGroovy(out, axes);
+        toGroovy(out, excludes);
+        super.toGroovy(out);
+        toGroovy(out, stages);
+        out.append("}\n");
     }
 
     @Override
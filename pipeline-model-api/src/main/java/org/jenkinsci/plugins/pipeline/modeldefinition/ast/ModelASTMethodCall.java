@@ -1,11 +1,13 @@
 package org.jenkinsci.plugins.pipeline.modeldefinition.ast;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import net.sf.json.JSONObject;
 import org.jenkinsci.plugins.pipeline.modeldefinition.validator.ModelValidator;
 import org.kohsuke.accmod.Restricted;
 import org.kohsuke.accmod.restrictions.NoExternalUse;
 
 import edu.umd.cs.findbugs.annotations.NonNull;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -50,6 +52,15 @@ public class ModelASTMethodCall extends ModelASTElement implements ModelASTMetho
                 .accumulate("arguments", toJSONArray(args));
     }
 
+    @Override
+    public void writeJSON(@NonNull JsonGenerator generator) throws IOException {
+        generator.writeStartObject();
+        writeJSONField(generator, "name", name);
+        generator.writeFieldName("arguments");
+        writeJSONArray(generator, args);
+        generator.writeEndObject();
+    }
+
     @Override
     public void validate(@NonNull final ModelValidator validator) {
         validator.validateElement(this);
@@ -57,13 +68,10 @@ public class ModelASTMethodCall extends ModelASTElement implements ModelASTMetho
     }
 
     @Override
-    @NonNull
-    public String toGroovy() {
-        StringBuilder result = new StringBuilder(name);
-        result.append('(');
-        result.append(toGroovyArgList(args));
-        result.append(')');
-        return result.toString();
+    public void toGroovy(@NonNull Appendable out) throws IOException {
+        out.append(name).append('(');
+        toGroovyArgList(out, args);
+        out.append(')');
     }
 
     @Override
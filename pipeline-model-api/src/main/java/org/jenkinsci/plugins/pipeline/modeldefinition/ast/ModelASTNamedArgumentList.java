@@ -1,9 +1,11 @@
 package org.jenkinsci.plugins.pipeline.modeldefinition.ast;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import net.sf.json.JSONArray;
 import org.jenkinsci.plugins.pipeline.modeldefinition.validator.ModelValidator;
 
 import edu.umd.cs.findbugs.annotations.NonNull;
+import java.io.IOException;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
@@ -26,6 +28,11 @@ public final class ModelASTNamedArgumentList extends ModelASTArgumentList {
         return toJSONArray(arguments);
     }
 
+    @Override
+    public void writeJSON(@NonNull JsonGenerator generator) throws IOException {
+        writeJSONArray(generator, arguments);
+    }
+
     /**
      * Checks if a given key name is present.
      *
@@ -62,9 +69,8 @@ public final class ModelASTNamedArgumentList extends ModelASTArgumentList {
     }
 
     @Override
-    @NonNull
-    public String toGroovy() {
-        return toGroovyArgList(arguments, ": ");
+    public void toGroovy(@NonNull Appendable out) throws IOException {
+        toGroovyArgList(out, arguments, ": ");
     }
 
     @Override
@@ -1,9 +1,11 @@
 package org.jenkinsci.plugins.pipeline.modeldefinition.ast;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import net.sf.json.JSONObject;
 import org.jenkinsci.plugins.pipeline.modeldefinition.validator.ModelValidator;
 
 import edu.umd.cs.findbugs.annotations.NonNull;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -26,6 +28,11 @@ public final class ModelASTOptions extends ModelASTElement implements ModelASTEl
         return toJSONObject("options", options);
     }
 
+    @Override
+    public void writeJSON(@NonNull JsonGenerator generator) throws IOException {
+        writeJSONObject(generator, "options", options);
+    }
+
     @Override
     public void validate(@NonNull final ModelValidator validator) {
         validator.validateElement(this);
@@ -33,9 +40,8 @@ public final class ModelASTOptions extends ModelASTElement implements ModelASTEl
     }
 
     @Override
-    @NonNull
-    public String toGroovy() {
-        return toGroovyBlock("options", options);
+    public void toGroovy(@NonNull Appendable out) throws IOException {
+        toGroovyBlock(out, "options", options);
     }
 
     @Override
@@ -3,6 +3,7 @@ package org.jenkinsci.plugins.pipeline.modeldefinition.ast;
 import org.jenkinsci.plugins.pipeline.modeldefinition.validator.ModelValidator;
 
 import edu.umd.cs.findbugs.annotations.NonNull;
+import java.io.IOException;
 
 /**
  * Represents the collection of {@code Stage}s to be executed in the build in parallel. Corresponds to {@code Stages}.
@@ -28,9 +29,8 @@ public class ModelASTParallel extends ModelASTStages {
     }
 
     @Override
-    @NonNull
-    public String toGroovy() {
-        return toGroovyBlock("parallel", getStages());
+    public void toGroovy(@NonNull Appendable out) throws IOException {
+        toGroovyBlock(out, "parallel", getStages());
     }
 
     @Override
@@ -1,10 +1,12 @@
 package org.jenkinsci.plugins.pipeline.modeldefinition.ast;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import net.sf.json.JSONObject;
 import org.apache.commons.lang3.StringUtils;
 import org.jenkinsci.plugins.pipeline.modeldefinition.validator.ModelValidator;
 
 import edu.umd.cs.findbugs.annotations.NonNull;
+import java.io.IOException;
 
 /**
  * Represents the parsed pipeline definition for visual pipeline editor. Corresponds to {@code Root}.
@@ -44,6 +46,24 @@ public final class ModelASTPipelineDef extends ModelASTElement {
         return new JSONObject().accumulate("pipeline", a);
     }
 
+    @Override
+    public void writeJSON(@NonNull JsonGenerator generator) throws IOException {
+        generator.writeStartObject();
+        generator.writeFieldName("pipeline");
+        generator.writeStartObject();
+        writeJSON(generator, "stages", stages);
+        writeJSON(generator, "post", postBuild);
+        writeJSON(generator, "environment", environment);
+        writeJSON(generator, "agent", agent);
+        writeJSON(generator, "tools", tools);
+        writeJSONCheckEmpty(generator, "options", options);
+        writeJSONCheckEmpty(generator, "parameters", parameters);
+        writeJSONCheckEmpty(generator, "triggers", triggers);
+        writeJSONCheckEmpty(generator, "libraries", libraries);
+        generator.writeEndObject();
+        generator.writeEndObject();
+    }
+
     @Override
     public void validate(@NonNull ModelValidator validator) {
         validator.validateElement(this);
@@ -51,22 +71,18 @@ public final class ModelASTPipelineDef extends ModelASTElement {
     }
 
     @Override
-    @NonNull
-    public String toGroovy() {
-        StringBuilder result = new StringBuilder()
-            .append("pipeline {\n")
-            .append(toGroovy(agent))
-            .append(toGroovy(libraries))
-            .append(toGroovy(stages))
-            .append(toGroovy(tools))
-            .append(toGroovy(environment))
-            .append(toGroovy(postBuild))
-            .append(toGroovyCheckEmpty(options))
-            .append(toGroovyCheckEmpty(parameters))
-            .append(toGroovyCheckEmpty(triggers))
-            .append("}\n");
-
-        return result.toString();
+    public void toGroovy(@NonNull Appendable out) throws IOException {
+        out.append("pipeline {\n");
+        toGroovy(out, agent);
+        toGroovy(out, libraries);
+        toGroovy(out, stages);
+        toGroovy(out, tools);
+        toGroovy(out, environment);
+        toGroovy(out, postBuild);
+        toGroovyCheckEmpty(out, options);
+        toGroovyCheckEmpty(out, parameters);
+        toGroovyCheckEmpty(out, triggers);
+        out.append("}\n");
     }
 
     /**
@@ -1,10 +1,12 @@
 package org.jenkinsci.plugins.pipeline.modeldefinition.ast;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import net.sf.json.JSONArray;
 import org.jenkinsci.plugins.pipeline.modeldefinition.validator.ModelValidator;
 import org.jenkinsci.plugins.structs.describable.UninstantiatedDescribable;
 
 import edu.umd.cs.findbugs.annotations.NonNull;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -29,6 +31,11 @@ public final class ModelASTPositionalArgumentList extends ModelASTArgumentList {
         return toJSONArray(arguments);
     }
 
+    @Override
+    public void writeJSON(@NonNull JsonGenerator generator) throws IOException {
+        writeJSONArray(generator, arguments);
+    }
+
     @Override
     public void validate(@NonNull final ModelValidator validator) {
         // Nothing to validate directly
@@ -36,19 +43,8 @@ public final class ModelASTPositionalArgumentList extends ModelASTArgumentList {
     }
 
     @Override
-    @NonNull
-    public String toGroovy() {
-        StringBuilder result = new StringBuilder();
-        boolean first = true;
-        for (ModelASTValue argument : arguments) {
-            if (first) {
-                first = false;
-            } else {
-                result.append(", ");
-            }
-            result.append(argument.toGroovy());
-        }
-        return result.toString();
+    public void toGroovy(@NonNull Appendable out) throws IOException {
+        toGroovyArgList(out, arguments);
     }
 
     @Override
@@ -1,9 +1,11 @@
 package org.jenkinsci.plugins.pipeline.modeldefinition.ast;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import org.jenkinsci.plugins.pipeline.modeldefinition.validator.ModelValidator;
 import org.jenkinsci.plugins.structs.describable.UninstantiatedDescribable;
 
 import edu.umd.cs.findbugs.annotations.NonNull;
+import java.io.IOException;
 import java.util.Collections;
 import java.util.Map;
 
@@ -31,6 +33,11 @@ public final class ModelASTSingleArgument extends ModelASTArgumentList {
         return value.toJSON();
     }
 
+    @Override
+    public void writeJSON(@NonNull JsonGenerator generator) throws IOException {
+        value.writeJSON(generator);
+    }
+
     @Override
     public void validate(@NonNull ModelValidator validator) {
         // Nothing to immediately validate here
@@ -38,9 +45,8 @@ public final class ModelASTSingleArgument extends ModelASTArgumentList {
     }
 
     @Override
-    @NonNull
-    public String toGroovy() {
-        return value.toGroovy();
+    public void toGroovy(@NonNull Appendable out) throws IOException {
+        value.toGroovy(out);
     }
 
     @Override
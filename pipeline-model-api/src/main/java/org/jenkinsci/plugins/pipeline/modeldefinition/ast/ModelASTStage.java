@@ -1,5 +1,6 @@
 package org.jenkinsci.plugins.pipeline.modeldefinition.ast;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import net.sf.json.JSONObject;
 import org.apache.commons.text.StringEscapeUtils;
 import org.jenkinsci.plugins.pipeline.modeldefinition.validator.ModelValidator;
@@ -59,6 +60,20 @@ public class ModelASTStage extends ModelASTStageBase {
         return o;
     }
 
+    @Override
+    protected void writeJSONFields(@NonNull JsonGenerator generator) throws IOException {
+        super.writeJSONFields(generator);
+        writeJSONField(generator, "name", name);
+        writeJSON(generator, "stages", stages);
+        writeJSON(generator, "parallel", parallel);
+        writeJSON(generator, "matrix", matrix);
+        if (branches != null && !branches.isEmpty()) {
+            generator.writeFieldName("branches");
+            writeJSONArray(generator, branches);
+        }
+        writeJSONFieldOpt(generator, "failFast", failFast);
+    }
+
     @Override
     public void validate(@NonNull final ModelValidator validator) {
         validate(validator, false);
@@ -74,55 +89,50 @@ public class ModelASTStage extends ModelASTStageBase {
     }
 
     @Override
-    @NonNull
-    public String toGroovy() {
-        StringBuilder result = new StringBuilder()
-            // TODO decide if we need to support multiline names
-            .append("stage(\'")
-            .append(name.replace("'", "\\'")).append("\') {\n")
-            .append(super.toGroovy());
-
+    public void toGroovy(@NonNull Appendable out) throws IOException {
+        // TODO decide if we need to support multiline names
+        out.append("stage(\'")
+            .append(name.replace("'", "\\'")).append("\') {\n");
+        super.toGroovy(out);
 
-        result.append(toGroovy(stages));
+        toGroovy(out, stages);
         if (parallel != null || matrix != null) {
             if (failFast != null && failFast) {
-                result.append("failFast true\n");
+                out.append("failFast true\n");
             }
         }
-        result.append(toGroovy(parallel))
-            .append(toGroovy(matrix));
+        toGroovy(out, parallel);
+        toGroovy(out, matrix);
 
         if (!branches.isEmpty()) {
-            result.append("steps {\n");
+            out.append("steps {\n");
             if (branches.size() > 1) {
-                result.append("parallel(");
+                out.append("parallel(");
                 boolean first = true;
                 for (ModelASTBranch branch : branches) {
                     if (first) {
                         first = false;
                     } else {
-                        result.append(',');
+                        out.append(',');
                     }
-                    result.append('\n');
-                    result.append('"' + StringEscapeUtils.escapeJava(branch.getName()) + '"')
-                        .append(": {\n")
-                        .append(branch.toGroovy())
-                        .append("\n}");
+                    out.append('\n');
+                    out.append('"').append(StringEscapeUtils.escapeJava(branch.getName())).append('"')
+                        .append(": {\n");
+                    branch.toGroovy(out);
+                    out.append("\n}");
                 }
                 if (failFast != null && failFast) {
-                    result.append(",\nfailFast: true");
+                    out.append(",\nfailFast: true");
                 }
-                result.append("\n)\n");
+                out.append("\n)\n");
             } else if (branches.size() == 1) {
-                result.append(branches.get(0).toGroovy());
+                branches.get(0).toGroovy(out);
             }
 
-            result.append("}\n");
+            out.append("}\n");
         }
 
-        result.append("}\n");
-
-        return result.toString();
+        out.append("}\n");
     }
 
     @Override
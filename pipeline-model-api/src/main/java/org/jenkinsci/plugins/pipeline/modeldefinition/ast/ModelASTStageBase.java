@@ -1,5 +1,6 @@
 package org.jenkinsci.plugins.pipeline.modeldefinition.ast;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import net.sf.json.JSONObject;
 import org.apache.commons.text.StringEscapeUtils;
 import org.jenkinsci.plugins.pipeline.modeldefinition.validator.ModelValidator;
@@ -45,6 +46,27 @@ public abstract class ModelASTStageBase extends ModelASTElement {
         return o;
     }
 
+    @Override
+    public void writeJSON(@NonNull JsonGenerator generator) throws IOException {
+        generator.writeStartObject();
+        writeJSONFields(generator);
+        generator.writeEndObject();
+    }
+
+    /**
+     * Writes this element's fields, in the same order as {@link #toJSON()}, into an object already started by
+     * {@link #writeJSON(JsonGenerator)}.
+     */
+    protected void writeJSONFields(@NonNull JsonGenerator generator) throws IOException {
+        writeJSON(generator, "agent", agent);
+        writeJSON(generator, "when", when);
+        writeJSON(generator, "post", post);
+        writeJSON(generator, "tools", tools);
+        writeJSON(generator, "environment", environment);
+        writeJSON(generator, "options", options);
+        writeJSON(generator, "input", input);
+    }
+
     @Override
     public void validate(@NonNull final ModelValidator validator) {
         validator.validateElement(this);
@@ -52,18 +74,14 @@ public abstract class ModelASTStageBase extends ModelASTElement {
     }
 
     @Override
-    @NonNull
-    public String toGroovy() {
-        StringBuilder result = new StringBuilder()
-            .append(toGroovy(agent))
-            .append(toGroovy(when))
-            .append(toGroovy(tools))
-            .append(toGroovy(environment))
-            .append(toGroovy(options))
-            .append(toGroovy(input))
-            .append(toGroovy(post));
-
-        return result.toString();
+    public void toGroovy(@NonNull Appendable out) throws IOException {
+        toGroovy(out, agent);
+        toGroovy(out, when);
+        toGroovy(out, tools);
+        toGroovy(out, environment);
+        toGroovy(out, options);
+        toGroovy(out, input);
+        toGroovy(out, post);
     }
 
     @Override
@@ -28,6 +28,7 @@ import net.sf.json.JSONObject;
 import org.jenkinsci.plugins.pipeline.modeldefinition.validator.ModelValidator;
 
 import edu.umd.cs.findbugs.annotations.NonNull;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -72,31 +73,35 @@ public final class ModelASTStageInput extends ModelASTElement {
     }
 
     @Override
-    @NonNull
-    public String toGroovy() {
-        StringBuilder result = new StringBuilder("input {\n");
-        result.append("message ").append(message.toGroovy()).append("\n");
+    public void toGroovy(@NonNull Appendable out) throws IOException {
+        out.append("input {\n");
+        out.append("message ");
+        message.toGroovy(out);
+        out.append("\n");
         if (id != null) {
-            result.append("id ").append(id.toGroovy()).append("\n");
+            out.append("id ");
+            id.toGroovy(out);
+            out.append("\n");
         }
         if (ok != null) {
-            result.append("ok ").append(ok.toGroovy()).append("\n");
+            out.append("ok ");
+            ok.toGroovy(out);
+            out.append("\n");
         }
         if (submitter != null) {
-            result.append("submitter ").append(submitter.toGroovy()).append("\n");
+            out.append("submitter ");
+            submitter.toGroovy(out);
+            out.append("\n");
         }
         if (submitterParameter != null) {
-            result.append("submitterParameter ").append(submitterParameter.toGroovy()).append("\n");
+            out.append("submitterParameter ");
+            submitterParameter.toGroovy(out);
+            out.append("\n");
         }
         if (!parameters.isEmpty()) {
-            result.append("parameters {\n");
-            for (ModelASTBuildParameter parameter : parameters) {
-                result.append(parameter.toGroovy()).append("\n");
-            }
-            result.append("}\n");
+            toGroovyBlock(out, "parameters", parameters);
         }
-        result.append("}\n");
-        return result.toString();
+        out.append("}\n");
     }
 
     @Override
@@ -1,9 +1,11 @@
 package org.jenkinsci.plugins.pipeline.modeldefinition.ast;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import net.sf.json.JSONArray;
 import org.jenkinsci.plugins.pipeline.modeldefinition.validator.ModelValidator;
 
 import edu.umd.cs.findbugs.annotations.NonNull;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
@@ -28,6 +30,11 @@ public class ModelASTStages extends ModelASTElement {
         return toJSONArray(stages);
     }
 
+    @Override
+    public void writeJSON(@NonNull JsonGenerator generator) throws IOException {
+        writeJSONArray(generator, stages);
+    }
+
     @Override
     public void validate(@NonNull final ModelValidator validator) {
         validate(validator, false);
@@ -41,9 +48,8 @@ public class ModelASTStages extends ModelASTElement {
     }
 
     @Override
-    @NonNull
-    public String toGroovy() {
-        return toGroovyBlock("stages", stages);
+    public void toGroovy(@NonNull Appendable out) throws IOException {
+        toGroovyBlock(out, "stages", stages);
     }
 
     @Override
@@ -1,5 +1,6 @@
 package org.jenkinsci.plugins.pipeline.modeldefinition.ast;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import hudson.model.Describable;
 import hudson.model.Descriptor;
 import net.sf.json.JSONObject;
@@ -11,6 +12,7 @@ import org.kohsuke.accmod.Restricted;
 import org.kohsuke.accmod.restrictions.NoExternalUse;
 
 import edu.umd.cs.findbugs.annotations.NonNull;
+import java.io.IOException;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
@@ -60,6 +62,22 @@ public class ModelASTStep extends ModelASTElement {
                 .elementOpt("arguments", toJSON(args));
     }
 
+    @Override
+    public void writeJSON(@NonNull JsonGenerator generator) throws IOException {
+        generator.writeStartObject();
+        writeJSONFields(generator);
+        generator.writeEndObject();
+    }
+
+    /**
+     * Writes this step's fields, in the same order as {@link #toJSON()}, into an object already started by
+     * {@link #writeJSON(JsonGenerator)}.
+     */
+    protected void writeJSONFields(@NonNull JsonGenerator generator) throws IOException {
+        writeJSONField(generator, "name", name);
+        writeJSON(generator, "arguments", args);
+    }
+
     @Override
     public void validate(@NonNull ModelValidator validator) {
         validator.validateElement(this);
@@ -67,8 +85,7 @@ public class ModelASTStep extends ModelASTElement {
     }
 
     @Override
-    @NonNull
-    public String toGroovy() {
+    public void toGroovy(@NonNull Appendable out) throws IOException {
         // Default to using whatever the original args structure is.
         ModelASTArgumentList argList = args;
 
@@ -97,21 +114,22 @@ public class ModelASTStep extends ModelASTElement {
             }
         }
 
-        return withOrWithoutParens(argList);
+        withOrWithoutParens(out, argList);
     }
 
-    private String withOrWithoutParens(ModelASTArgumentList argList) {
+    private void withOrWithoutParens(@NonNull Appendable out, ModelASTArgumentList argList) throws IOException {
+        out.append(name);
         if (argList == null) {
-            return name + "()";
+            out.append("()");
         } else {
             String argGroovy = argList.toGroovy();
             if (!(this instanceof ModelASTTreeStep) &&
                     argList instanceof ModelASTSingleArgument &&
                     // Special-casing for list/map args since they still need parentheses.
                     !argGroovy.startsWith("[")) {
-                return name + " " + argGroovy;
+                out.append(" ").append(argGroovy);
             } else {
-                return name + "(" + argGroovy + ")";
+                out.append("(").append(argGroovy).append(")");
             }
         }
     }
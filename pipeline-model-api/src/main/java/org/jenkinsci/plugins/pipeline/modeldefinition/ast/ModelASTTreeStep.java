@@ -1,9 +1,11 @@
 package org.jenkinsci.plugins.pipeline.modeldefinition.ast;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import net.sf.json.JSONObject;
 import org.jenkinsci.plugins.pipeline.modeldefinition.validator.ModelValidator;
 
 import edu.umd.cs.findbugs.annotations.NonNull;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -26,6 +28,13 @@ public class ModelASTTreeStep extends ModelASTStep {
         return super.toJSON().accumulate("children", toJSONArray(children));
     }
 
+    @Override
+    protected void writeJSONFields(@NonNull JsonGenerator generator) throws IOException {
+        super.writeJSONFields(generator);
+        generator.writeFieldName("children");
+        writeJSONArray(generator, children);
+    }
+
     @Override
     public void validate(@NonNull final ModelValidator validator) {
         super.validate(validator);
@@ -33,9 +42,11 @@ public class ModelASTTreeStep extends ModelASTStep {
     }
 
     @Override
-    @NonNull
-    public String toGroovy() {
-        return toGroovyBlock(super.toGroovy(), children);
+    public void toGroovy(@NonNull Appendable out) throws IOException {
+        super.toGroovy(out);
+        out.append(" {\n");
+        toGroovy(out, children);
+        out.append("}\n");
     }
 
     @Override
@@ -1,9 +1,11 @@
 package org.jenkinsci.plugins.pipeline.modeldefinition.ast;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import net.sf.json.JSONObject;
 import org.jenkinsci.plugins.pipeline.modeldefinition.validator.ModelValidator;
 
 import edu.umd.cs.findbugs.annotations.NonNull;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -25,6 +27,11 @@ public final class ModelASTTriggers extends ModelASTElement implements ModelASTE
         return toJSONObject("triggers", triggers);
     }
 
+    @Override
+    public void writeJSON(@NonNull JsonGenerator generator) throws IOException {
+        writeJSONObject(generator, "triggers", triggers);
+    }
+
     @Override
     public void validate(@NonNull final ModelValidator validator) {
         validator.validateElement(this);
@@ -32,9 +39,8 @@ public final class ModelASTTriggers extends ModelASTElement implements ModelASTE
     }
 
     @Override
-    @NonNull
-    public String toGroovy() {
-        return toGroovyBlock("triggers", triggers);
+    public void toGroovy(@NonNull Appendable out) throws IOException {
+        toGroovyBlock(out, "triggers", triggers);
     }
 
     @Override
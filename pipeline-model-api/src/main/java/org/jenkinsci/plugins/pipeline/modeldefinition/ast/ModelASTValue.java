@@ -23,10 +23,12 @@
  */
 package org.jenkinsci.plugins.pipeline.modeldefinition.ast;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import net.sf.json.JSONObject;
 import org.jenkinsci.plugins.pipeline.modeldefinition.validator.ModelValidator;
 
 import edu.umd.cs.findbugs.annotations.NonNull;
+import java.io.IOException;
 
 /**
  * Represents the value in a key/value pair, as used in {@link ModelASTEnvironment}, {@link ModelASTNamedArgumentList} and elsewhere.
@@ -82,6 +84,14 @@ public abstract class ModelASTValue extends ModelASTElement implements ModelASTM
             .accumulate("value", getValue());
     }
 
+    @Override
+    public void writeJSON(@NonNull JsonGenerator generator) throws IOException {
+        generator.writeStartObject();
+        writeJSONField(generator, "isLiteral", isLiteral());
+        writeJSONField(generator, "value", getValue());
+        generator.writeEndObject();
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -134,20 +144,19 @@ public abstract class ModelASTValue extends ModelASTElement implements ModelASTM
         }
 
         @Override
-        @NonNull
-        public String toGroovy() {
+        public void toGroovy(@NonNull Appendable out) throws IOException {
             if (getValue() instanceof String) {
                 String str = (String) getValue();
                 str = str.replace("\\", "\\\\");
                 if (str.indexOf('\n') == -1) {
-                    return "'" + (str.replace("'", "\\'")) + "'";
+                    out.append("'").append(str.replace("'", "\\'")).append("'");
                 } else {
-                    return "'''" + (str.replace("'", "\\'")) + "'''";
+                    out.append("'''").append(str.replace("'", "\\'")).append("'''");
                 }
             } else if (getValue() != null) {
-                return getValue().toString();
+                out.append(getValue().toString());
             } else {
-                return "null";
+                out.append("null");
             }
         }
     }
@@ -163,13 +172,12 @@ public abstract class ModelASTValue extends ModelASTElement implements ModelASTM
         }
 
         @Override
-        @NonNull
-        public String toGroovy() {
+        public void toGroovy(@NonNull Appendable out) throws IOException {
             String gstring = (String)getValue();
             if (gstring.startsWith("${") && gstring.endsWith("}")) {
-                return gstring.substring(2, gstring.length() - 1);
+                out.append(gstring, 2, gstring.length() - 1);
             } else {
-                return gstring;
+                out.append(gstring);
             }
         }
 
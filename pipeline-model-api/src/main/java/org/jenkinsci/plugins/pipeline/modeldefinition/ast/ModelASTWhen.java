@@ -25,10 +25,12 @@
 
 package org.jenkinsci.plugins.pipeline.modeldefinition.ast;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import net.sf.json.JSONObject;
 import org.jenkinsci.plugins.pipeline.modeldefinition.validator.ModelValidator;
 
 import edu.umd.cs.findbugs.annotations.NonNull;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -92,21 +94,30 @@ public class ModelASTWhen extends ModelASTElement {
     }
 
     @Override
-    @NonNull
-    public String toGroovy() {
-        StringBuilder result = new StringBuilder("when {\n");
+    public void writeJSON(@NonNull JsonGenerator generator) throws IOException {
+        generator.writeStartObject();
+        generator.writeFieldName("conditions");
+        writeJSONArray(generator, conditions);
+        writeJSONFieldOpt(generator, "beforeAgent", beforeAgent);
+        writeJSONFieldOpt(generator, "beforeInput", beforeInput);
+        writeJSONFieldOpt(generator, "beforeOptions", beforeOptions);
+        generator.writeEndObject();
+    }
+
+    @Override
+    public void toGroovy(@NonNull Appendable out) throws IOException {
+        out.append("when {\n");
         if (beforeAgent != null && beforeAgent) {
-            result.append("beforeAgent true\n");
+            out.append("beforeAgent true\n");
         }
         if (beforeInput != null && beforeInput) {
-            result.append("beforeInput true\n");
+            out.append("beforeInput true\n");
         }
         if (beforeOptions != null && beforeOptions) {
-            result.append("beforeOptions true\n");
+            out.append("beforeOptions true\n");
         }
-        result.append(toGroovy(conditions));
-        result.append("}\n");
-        return result.toString();
+        toGroovy(out, conditions);
+        out.append("}\n");
     }
 
     @Override
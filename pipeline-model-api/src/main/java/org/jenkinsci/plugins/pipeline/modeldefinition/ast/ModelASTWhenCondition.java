@@ -24,10 +24,12 @@
 
 package org.jenkinsci.plugins.pipeline.modeldefinition.ast;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import net.sf.json.JSONObject;
 import org.jenkinsci.plugins.pipeline.modeldefinition.validator.ModelValidator;
 
 import edu.umd.cs.findbugs.annotations.NonNull;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -52,6 +54,18 @@ public class ModelASTWhenCondition extends ModelASTElement implements ModelASTWh
                 .elementOpt("children", nullIfEmpty(toJSONArray(children)));
     }
 
+    @Override
+    public void writeJSON(@NonNull JsonGenerator generator) throws IOException {
+        generator.writeStartObject();
+        writeJSONField(generator, "name", name);
+        writeJSON(generator, "arguments", args);
+        if (children != null && !children.isEmpty()) {
+            generator.writeFieldName("children");
+            writeJSONArray(generator, children);
+        }
+        generator.writeEndObject();
+    }
+
     @Override
     public void validate(@NonNull ModelValidator validator) {
         validator.validateElement(this);
@@ -59,16 +73,13 @@ public class ModelASTWhenCondition extends ModelASTElement implements ModelASTWh
     }
 
     @Override
-    @NonNull
-    public String toGroovy() {
-
-        StringBuilder result = new StringBuilder();
+    public void toGroovy(@NonNull Appendable out) throws IOException {
         if (!children.isEmpty()) {
-            result.append(toGroovyBlock(name, children));
+            toGroovyBlock(out, name, children);
         } else {
-            result.append(name).append(" ").append(getArgs().toGroovy());
+            out.append(name).append(" ");
+            getArgs().toGroovy(out);
         }
-        return result.toString();
     }
 
     @Override
@@ -28,6 +28,7 @@ import hudson.model.AbstractDescribableImpl;
 import hudson.model.Describable;
 import hudson.model.Descriptor;
 import org.jenkinsci.Symbol;
+import org.jenkinsci.plugins.structs.describable.DescribableModel;
 import org.jenkinsci.plugins.workflow.testMetaStep.Curve;
 import org.junit.Rule;
 import org.junit.Test;
@@ -38,6 +39,10 @@ import org.kohsuke.stapler.DataBoundConstructor;
 import edu.umd.cs.findbugs.annotations.NonNull;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
 public class DescriptorLookupCacheTest {
     @Rule
@@ -49,6 +54,25 @@ public class DescriptorLookupCacheTest {
         assertEquals(Rhombus.DescriptorImpl.class, d.getClass());
     }
 
+    @Test
+    public void modelsForParentDescribablesAreCached() throws Exception {
+        DescriptorLookupCache cache = new DescriptorLookupCache();
+        DescribableModel<? extends Describable> first = cache.modelForDescribable("rhombus", FakeRhombus.class);
+        assertNotNull(first);
+        assertEquals(FakeRhombus.class, first.getType());
+        long misses = cache.getMissCount();
+
+        assertSame(first, cache.modelForDescribable("rhombus", FakeRhombus.class));
+        assertEquals(misses, cache.getMissCount());
+        assertTrue(cache.getHitCount() > 0);
+
+        // Lookups scoped to a different parent type are cached separately.
+        assertEquals(Rhombus.class, cache.modelForDescribable("rhombus", Curve.class).getType());
+
+        cache.invalidateAll();
+        assertNotSame(first, cache.modelForDescribable("rhombus", FakeRhombus.class));
+    }
+
     public static final class FakeRhombus extends AbstractDescribableImpl<FakeRhombus> {
         public final boolean foo;
 
@@ -36,6 +36,7 @@ import edu.umd.cs.findbugs.annotations.SuppressFBWarnings
 import hudson.BulkChange
 import hudson.ExtensionList
 import hudson.model.*
+import hudson.scm.ChangeLogSet
 import hudson.util.Secret
 import hudson.triggers.Trigger
 import org.jenkinsci.plugins.pipeline.modeldefinition.actions.DisableRestartFromStageAction
@@ -44,6 +45,7 @@ import org.jenkinsci.plugins.pipeline.modeldefinition.options.impl.DisableRestar
 import org.jenkinsci.plugins.pipeline.modeldefinition.parser.JSONParser
 
 import java.util.function.Function
+import java.util.regex.Pattern
 import jenkins.model.Jenkins
 import org.apache.commons.codec.digest.DigestUtils
 import org.codehaus.groovy.ast.ASTNode
@@ -53,6 +55,7 @@ import org.codehaus.groovy.control.SourceUnit
 import org.jenkinsci.plugins.pipeline.StageStatus
 import org.jenkinsci.plugins.pipeline.StageTagsMetadata
 import org.jenkinsci.plugins.pipeline.SyntheticStage
+import org.jenkinsci.plugins.pipeline.modeldefinition.actions.ChangeHistoryAction
 import org.jenkinsci.plugins.pipeline.modeldefinition.actions.DeclarativeJobAction
 import org.jenkinsci.plugins.pipeline.modeldefinition.actions.DeclarativeJobPropertyTrackerAction
 import org.jenkinsci.plugins.pipeline.modeldefinition.actions.ExecutionModelAction
@@ -67,7 +70,6 @@ import org.jenkinsci.plugins.pipeline.modeldefinition.options.DeclarativeOption
 import org.jenkinsci.plugins.pipeline.modeldefinition.options.impl.QuietPeriod
 import org.jenkinsci.plugins.pipeline.modeldefinition.steps.CredentialWrapper
 import org.jenkinsci.plugins.scriptsecurity.sandbox.whitelists.Whitelisted
-import org.jenkinsci.plugins.structs.SymbolLookup
 import org.jenkinsci.plugins.structs.describable.DescribableModel
 import org.jenkinsci.plugins.structs.describable.UninstantiatedDescribable
 import org.jenkinsci.plugins.workflow.actions.LabelAction
@@ -87,14 +89,12 @@ import org.jenkinsci.plugins.workflow.job.WorkflowRun
 import org.jenkinsci.plugins.workflow.job.properties.PipelineTriggersJobProperty
 import org.jenkinsci.plugins.workflow.steps.FlowInterruptedException
 import org.jenkinsci.plugins.workflow.steps.Step
-import org.jenkinsci.plugins.workflow.steps.StepDescriptor
 import org.kohsuke.accmod.Restricted
 import org.kohsuke.accmod.restrictions.NoExternalUse
 
 import edu.umd.cs.findbugs.annotations.CheckForNull
 import edu.umd.cs.findbugs.annotations.NonNull
 import javax.lang.model.SourceVersion
-import java.util.concurrent.TimeUnit
 
 /**
  * Utility methods for use primarily in CPS-transformed code to avoid excessive global whitelisting.
@@ -235,27 +235,37 @@ class Utils {
 
         List<FlowNode> nodes = []
 
-        ForkScanner scanner = new ForkScanner()
-
-        FlowNode stage = scanner.findFirstMatch(execution.currentHeads, null, CommonUtils.isStageWithOptionalName(stageName))
+        FlowNode stage = CommonUtils.findStageStartNode(stageName, execution)
 
         if (stage != null) {
             nodes.add(stage)
 
             // Additional check needed to get the possible enclosing parallel branch for a nested stage.
-            Filterator<FlowNode> filtered = FlowScanningUtils.fetchEnclosingBlocks(stage)
-                .filter(isParallelBranchFlowNode(stageName))
-
-            filtered.each { f ->
-                if (f != null) {
-                    nodes.add(f)
-                }
-            }
+            nodes.addAll(findEnclosingParallelBranches(stage, stageName, execution))
         }
 
         return nodes
     }
 
+    private static List<FlowNode> findEnclosingParallelBranches(@NonNull FlowNode stage, String stageName,
+                                                                @NonNull FlowExecution execution) {
+        StageFlowNodeIndex index = StageFlowNodeIndex.forExecution(execution)
+        if (index != null) {
+            return index.findEnclosingParallelBranches(stage, stageName, execution)
+        }
+
+        Filterator<FlowNode> filtered = FlowScanningUtils.fetchEnclosingBlocks(stage)
+            .filter(isParallelBranchFlowNode(stageName))
+
+        List<FlowNode> branches = []
+        filtered.each { f ->
+            if (f != null) {
+                branches.add(f)
+            }
+        }
+        return branches
+    }
+
     /**
      * Check if this run was caused by a restart.
      */
@@ -271,8 +281,34 @@ class Utils {
      * Checks if this run was caused by a cause.
      */
     static boolean isRunCausedBy(CpsScript script, String cause, String detail = null) {
+        return isRunCausedBy(script, causePattern(cause), cause, detail)
+    }
+
+    /**
+     * Checks if this run was caused by a cause, using a pattern already compiled by {@link #causePattern}.
+     */
+    @Restricted(NoExternalUse.class)
+    static boolean isRunCausedBy(CpsScript script, Pattern causePattern, String cause, String detail) {
         WorkflowRun r = script.$build()
-        return r.getCauses().any { shouldRunBeAllowed(it, cause, detail) }
+        return r.getCauses().any { shouldRunBeAllowed(it, causePattern, cause, detail) }
+    }
+
+    private static final LoadingCache<String, Pattern> causePatterns = CacheBuilder.newBuilder()
+        .maximumSize(100)
+        .build(new CacheLoader<String, Pattern>() {
+        @Override
+        Pattern load(String cause) throws Exception {
+            return Pattern.compile("(?i)\\.*${cause}.*")
+        }
+    })
+
+    /**
+     * The pattern matching the simple class names of causes of the given type. Compiled patterns are shared, since
+     * the same few causes are checked over and over.
+     */
+    @Restricted(NoExternalUse.class)
+    static Pattern causePattern(String cause) {
+        return causePatterns.getUnchecked(String.valueOf(cause))
     }
 
     /**
@@ -284,10 +320,15 @@ class Utils {
      * @return if a specific cause must be aborted
      */
     static boolean shouldRunBeAllowed(Cause causeClass, String cause, String detail){
+        return shouldRunBeAllowed(causeClass, causePattern(cause), cause, detail)
+    }
+
+    @Restricted(NoExternalUse.class)
+    static boolean shouldRunBeAllowed(Cause causeClass, Pattern causePattern, String cause, String detail){
         if( causeClass instanceof Cause.UserIdCause && Cause.UserIdCause.simpleName == cause){
             return detail == null || causeClass.userId == detail
         }else {
-            return causeClass.class.simpleName.matches("(?i)\\.*${cause}.*")
+            return causePattern.matcher(causeClass.class.simpleName).matches()
         }
     }
 
@@ -333,24 +374,61 @@ class Utils {
         }
     }
 
+    /**
+     * The messages of a changelog entry matched by the {@code changelog} condition - the title and full comment of a
+     * Git commit, or the message of any other change for both.
+     */
+    @Restricted(NoExternalUse.class)
+    @NonNull
+    static ChangeHistoryAction.Change changeOf(@NonNull ChangeLogSet.Entry change) {
+        //Probably running with git plugin
+        if (change.getClass().getName() == "hudson.plugins.git.GitChangeSet") {
+            return new ChangeHistoryAction.Change(change.title, change.comment)
+        }
+        //Something generic
+        return new ChangeHistoryAction.Change(change.msg, change.msg)
+    }
+
     private static void addTagToFlowNode(FlowNode currentNode, String tagName, String tagValue) {
-        if (currentNode != null) {
-            TagsAction tagsAction = currentNode.getAction(TagsAction.class)
-            if (tagsAction == null) {
-                tagsAction = new TagsAction()
-                tagsAction.addTag(tagName, tagValue)
-                currentNode.addAction(tagsAction)
-            } else if (tagsAction.getTagValue(tagName) == null) {
+        addTagsToFlowNode(currentNode, Collections.singletonMap(tagName, tagValue))
+    }
+
+    /**
+     * Adds tags to a flow node with a single write. Tags the node already has are kept, and the node isn't written at
+     * all if it has every tag already.
+     */
+    @Restricted(NoExternalUse.class)
+    static void addTagsToFlowNode(FlowNode currentNode, Map<String, String> tags) throws IOException {
+        if (currentNode == null) {
+            return
+        }
+        TagsAction tagsAction = currentNode.getAction(TagsAction.class)
+        boolean isNew = tagsAction == null
+        if (isNew) {
+            tagsAction = new TagsAction()
+        }
+        boolean changed = false
+        tags.each { tagName, tagValue ->
+            if (tagsAction.getTagValue(tagName) == null) {
                 tagsAction.addTag(tagName, tagValue)
-                currentNode.save()
+                changed = true
             }
         }
+        if (!changed) {
+            return
+        }
+        if (isNew) {
+            currentNode.addAction(tagsAction)
+        } else {
+            currentNode.save()
+        }
     }
 
     static void markStageWithTag(String stageName, String tagName, String tagValue) {
         List<FlowNode> matched = findStageFlowNodes(stageName)
 
-        matched.each { currentNode ->
+        // Each node is written once, even if it's matched more than once.
+        matched.unique(false).each { currentNode ->
             addTagToFlowNode(currentNode, tagName, tagValue)
         }
     }
@@ -363,29 +441,26 @@ class Utils {
 
         List<BlockStartNode> nodes = []
 
-        ForkScanner scanner = new ForkScanner()
-
-        FlowNode stage = scanner.findFirstMatch(execution.currentHeads, null, CommonUtils.isStageWithOptionalName(stageName))
+        FlowNode stage = CommonUtils.findStageStartNode(stageName, execution)
 
         if (stage != null && stage instanceof BlockStartNode) {
             nodes.add(stage)
 
             // Additional check needed to get the possible enclosing parallel branch for a nested stage.
-            Filterator<FlowNode> filtered = FlowScanningUtils.fetchEnclosingBlocks(stage)
-                .filter(isParallelBranchFlowNode(stageName))
-
-            filtered.each { f ->
-                if (f != null && f instanceof BlockStartNode) {
+            findEnclosingParallelBranches(stage, stageName, execution).each { f ->
+                if (f instanceof BlockStartNode) {
                     nodes.add(f)
                 }
             }
         }
 
+        StageFlowNodeIndex index = StageFlowNodeIndex.forExecution(execution)
         DepthFirstScanner depthFirstScanner = new DepthFirstScanner()
 
         nodes.each { n ->
             n.addAction(new NotExecutedNodeAction())
-            FlowNode endNode =  depthFirstScanner.findFirstMatch(execution.currentHeads, null, endNodeForStage(n))
+            FlowNode endNode = index != null ? index.findEndNode(n, execution) :
+                depthFirstScanner.findFirstMatch(execution.currentHeads, null, endNodeForStage(n))
             if (endNode != null) {
                 endNode.addAction(new NotExecutedNodeAction())
             }
@@ -432,61 +507,19 @@ class Utils {
     }
 
     /**
-     * Creates and sets the loading for a cache of {@link Describable}s descending from the given descriptor type.
+     * Creates a cache of {@link Describable}s descending from the given descriptor type. The cache is built along with
+     * all the other type caches the first time it's needed, and kept until the registered extensions change.
      *
      * @param type The {@link Descriptor} class whose extensions we want to find.
      * @param includeClassNames Optionally include class names as keys. Defaults to false.
      * @param excludedSymbols Optional list of symbol names to exclude from the cache.
-     * @return A {@link LoadingCache} for looking up types from symbols.
+     * @return A {@link SymbolTypeCache} for looking up types from symbols.
      */
     @Restricted(NoExternalUse.class)
-    static generateTypeCache(Class<? extends Descriptor> type, boolean includeClassNames = false,
-                             List<String> excludedSymbols = [], Closure<Boolean> filter = null) {
-        return CacheBuilder.newBuilder()
-            .expireAfterWrite(10, TimeUnit.MINUTES)
-            .build(new CacheLoader<Object, Map<String, String>>() {
-            @Override
-            Map<String, String> load(Object key) throws Exception {
-                return populateTypeCache(type, includeClassNames, excludedSymbols, filter)
-            }
-        })
-    }
-
-    /**
-     * Actually populates the type cache.
-     *
-     * @param type The {@link Descriptor} class whose extensions we want to find.
-     * @param includeClassNames Optionally include class names as keys. Defaults to false.
-     * @param excludedSymbols Optional list of symbol names to exclude from the cache.
-     * @return A map of symbols or class names to class names.
-     */
-    @SuppressFBWarnings(value = "UPM_UNCALLED_PRIVATE_METHOD")
-    private static Map<String,String> populateTypeCache(Class<? extends Descriptor> type,
-                                                        boolean includeClassNames = false,
-                                                        List<String> excludedSymbols = [],
-                                                        Closure<Boolean> filter = null) {
-        Map<String,String> knownTypes = [:]
-
-        ExtensionList.lookup(type).each { t ->
-            if (filter == null || filter.call(t)) {
-                // Have to special-case StepDescriptor since it doesn't actually have symbols!
-                if (t instanceof StepDescriptor) {
-                    knownTypes.put(t.functionName, t.clazz.getName())
-                } else {
-                    Set<String> symbolValue = SymbolLookup.getSymbolValue(t)
-                    if (!symbolValue.isEmpty() && !symbolValue.any { excludedSymbols.contains(it) }) {
-                        knownTypes.put(symbolValue.iterator().next(), t.clazz.getName())
-                    }
-                }
-
-                if (includeClassNames) {
-                    // Add the class name mapping even if we also found the symbol, for backwards compatibility reasons.
-                    knownTypes.put(t.clazz.getName(), t.clazz.getName())
-                }
-            }
-        }
-
-        return knownTypes
+    static SymbolTypeCache generateTypeCache(Class<? extends Descriptor> type, boolean includeClassNames = false,
+                                             List<String> excludedSymbols = [], Closure<Boolean> filter = null) {
+        return new SymbolTypeCache(type, includeClassNames, excludedSymbols,
+            filter != null ? { Descriptor d -> filter.call(d) } as java.util.function.Predicate<Descriptor> : null)
     }
 
 
@@ -582,14 +615,27 @@ class Utils {
                                     @CheckForNull List<Object> paramsOrUninstantiated,
                                     @CheckForNull Map<String,DeclarativeOption> optionsOrUninstantiated,
                                     @NonNull CpsScript script) {
+        WorkflowRun r = script.$build()
+        WorkflowJob j = r.getParent()
+
+        // If the declarations are the same as the ones last applied, and nothing else has touched the job since,
+        // there's nothing to do.
+        String fingerprint = JobPropertiesFingerprint.of(propsOrUninstantiated, trigsOrUninstantiated,
+                paramsOrUninstantiated, optionsOrUninstantiated)
+        if (fingerprint != null) {
+            synchronized (j) {
+                DeclarativeJobPropertyTrackerAction jobAction = j.getAction(DeclarativeJobPropertyTrackerAction.class)
+                if (jobAction != null && jobAction.isUpToDate(fingerprint, appliedJobState(j))) {
+                    return
+                }
+            }
+        }
+
         List<JobProperty> rawJobProperties = instantiateList(JobProperty.class, propsOrUninstantiated ?: [])
         List<Trigger> rawTriggers = instantiateList(Trigger.class, trigsOrUninstantiated ?: [])
         List<ParameterDefinition> rawParameters = instantiateList(ParameterDefinition.class, paramsOrUninstantiated ?: [])
         List<DeclarativeOption> rawOptions = optionsOrUninstantiated != null ? optionsOrUninstantiated.values().asList() : []
 
-        WorkflowRun r = script.$build()
-        WorkflowJob j = r.getParent()
-
         synchronized (j) {
             List<JobProperty> existingJobProperties = existingJobPropertiesForJob(j)
             List<Trigger> existingTriggers = existingTriggersForJob(j)
@@ -702,11 +748,13 @@ class Utils {
 
                 // Add the action tracking what we added (or empty otherwise)
                 def newPropertyTrackerAction = new DeclarativeJobPropertyTrackerAction(rawJobProperties, rawTriggers, rawParameters, rawOptions)
-                if(previousAction == null ||
+                newPropertyTrackerAction.fingerprint = fingerprint
+                if(previousAction == null || previousAction != j.getAction(DeclarativeJobPropertyTrackerAction.class) ||
                         !(previousAction.jobProperties == newPropertyTrackerAction.jobProperties &&
                           previousAction.parameters == newPropertyTrackerAction.parameters &&
                           previousAction.options == newPropertyTrackerAction.options &&
-                          previousAction.triggers == newPropertyTrackerAction.triggers)) {
+                          previousAction.triggers == newPropertyTrackerAction.triggers &&
+                          previousAction.fingerprint == newPropertyTrackerAction.fingerprint)) {
                     j.replaceAction(newPropertyTrackerAction)
                     isJobChanged = true
                 }
@@ -717,9 +765,20 @@ class Utils {
             } finally {
                 bc.abort()
             }
+            j.getAction(DeclarativeJobPropertyTrackerAction.class)?.appliedJobState = appliedJobState(j)
         }
     }
 
+    /**
+     * The parts of the job's configuration that {@link #updateJobProperties} manages, to tell whether the job has been
+     * modified since the declarations were last applied.
+     */
+    @NonNull
+    private static DeclarativeJobPropertyTrackerAction.AppliedJobState appliedJobState(@NonNull WorkflowJob j) {
+        return new DeclarativeJobPropertyTrackerAction.AppliedJobState(j,
+                [j.getAction(DisableRestartFromStageAction.class)], [j.quietPeriod])
+    }
+
     /**
      * Compare lists of {@link ParameterDefinition}.
      *
@@ -758,26 +817,7 @@ class Utils {
         if(first.descriptor.id != second.descriptor.id || first.description != second.description){
             return false
         }
-        return Objects.equals(first, second) || isObjectsEqualsXStream(first, second)
-    }
-
-    /**
-     * Compare objects' string representations after conversion to XML
-     * Require to use after call equals()
-     *
-     * Used for objects:
-     * - all fields are unknown before comparison
-     * - without overwritten methods equals() and hashCode()
-     *
-     * @param first  First object for comparing
-     * @param second Second object for comparing
-     *
-     * @return {@code true} if string representation of objects in XML format are equals; {@code false} otherwise
-     */
-    private static boolean isObjectsEqualsXStream(@NonNull Object first, @NonNull Object second) {
-        String firstMarshaled  = Items.XSTREAM2.toXML(first)
-        String secondMarshaled = Items.XSTREAM2.toXML(second)
-        return firstMarshaled == secondMarshaled
+        return Objects.equals(first, second) || JobPropertiesFingerprint.isStructurallyEqual(first, second)
     }
 
     /**
@@ -828,7 +868,7 @@ class Utils {
 
         return !secondMap.values().any { firstMap[it.descriptor.id] == null ||
                 !(Objects.equals(it, firstMap[it.descriptor.id]) ||
-                        isObjectsEqualsXStream(it, firstMap[it.descriptor.id]))}
+                        JobPropertiesFingerprint.isStructurallyEqual(it, firstMap[it.descriptor.id]))}
     }
 
 
@@ -912,7 +952,7 @@ class Utils {
         return currentProperties.findAll{ descriptorsToExistingProperties[it.descriptor.id] == null ||
                 countMap[it.descriptor.id] > 1 ||
                 !(Objects.equals(it, descriptorsToExistingProperties[it.descriptor.id]) ||
-                        isObjectsEqualsXStream(it, descriptorsToExistingProperties[it.descriptor.id]))}
+                        JobPropertiesFingerprint.isStructurallyEqual(it, descriptorsToExistingProperties[it.descriptor.id]))}
     }
 
     /**
@@ -25,7 +25,6 @@
 
 package org.jenkinsci.plugins.pipeline.modeldefinition.model
 
-import com.google.common.cache.LoadingCache
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings
 import groovy.transform.EqualsAndHashCode
 import groovy.transform.ToString
@@ -33,6 +32,7 @@ import hudson.FilePath
 import hudson.Launcher
 import hudson.model.JobProperty
 import hudson.model.JobPropertyDescriptor
+import org.jenkinsci.plugins.pipeline.modeldefinition.SymbolTypeCache
 import org.jenkinsci.plugins.pipeline.modeldefinition.Utils
 import org.jenkinsci.plugins.pipeline.modeldefinition.options.DeclarativeOption
 import org.jenkinsci.plugins.pipeline.modeldefinition.options.DeclarativeOptionDescriptor
@@ -79,20 +79,16 @@ class Options implements Serializable {
         return wrappers
     }
 
-    private static final Object OPTION_CACHE_KEY = new Object()
-    private static final Object CACHE_KEY = new Object()
-    private static final Object WRAPPER_STEPS_KEY = new Object()
-
-    private static final LoadingCache<Object,Map<String,String>> propertyTypeCache =
+    private static final SymbolTypeCache propertyTypeCache =
         Utils.generateTypeCache(JobPropertyDescriptor.class, false, BLOCKED_PROPERTIES)
 
-    private static final LoadingCache<Object,Map<String,String>> optionTypeCache =
+    private static final SymbolTypeCache optionTypeCache =
         Utils.generateTypeCache(DeclarativeOptionDescriptor.class, false, [],
             { DeclarativeOptionDescriptor d ->
                 return !d.isStageOnly()
             })
 
-    private static final LoadingCache<Object,Map<String,String>> wrapperStepsTypeCache  =
+    private static final SymbolTypeCache wrapperStepsTypeCache =
         Utils.generateTypeCache(StepDescriptor.class, false, [],
             { StepDescriptor s ->
                 return s.takesImplicitBlockArgument() &&
@@ -106,20 +102,18 @@ class Options implements Serializable {
      * Invalidate our type caches.
      */
     static void invalidateCaches() {
-        wrapperStepsTypeCache.invalidateAll()
-        propertyTypeCache.invalidateAll()
-        optionTypeCache.invalidateAll()
+        SymbolTypeCache.invalidateAll()
     }
 
     static Map<String,String> getEligibleWrapperStepClasses() {
         Map<String,String> c = [:]
-        c.putAll(wrapperStepsTypeCache.get(WRAPPER_STEPS_KEY))
+        c.putAll(wrapperStepsTypeCache.get())
         return c
     }
 
     static Map<String,String> getEligibleDeclarativeOptionTypeClasses() {
         Map<String,String> c = [:]
-        c.putAll(optionTypeCache.get(OPTION_CACHE_KEY))
+        c.putAll(optionTypeCache.get())
         return c
     }
 
@@ -139,7 +133,7 @@ class Options implements Serializable {
      */
     static Map<String,String> getAllowedOptionTypes() {
         Map<String,String> c = [:]
-        c.putAll(propertyTypeCache.get(CACHE_KEY))
+        c.putAll(propertyTypeCache.get())
         c.putAll(getEligibleDeclarativeOptionTypeClasses())
         c.putAll(getEligibleWrapperStepClasses())
         return c.sort()
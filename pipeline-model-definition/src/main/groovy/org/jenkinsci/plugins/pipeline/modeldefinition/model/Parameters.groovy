@@ -25,11 +25,11 @@
 
 package org.jenkinsci.plugins.pipeline.modeldefinition.model
 
-import com.google.common.cache.LoadingCache
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings
 import groovy.transform.EqualsAndHashCode
 import groovy.transform.ToString
 import hudson.model.ParameterDefinition
+import org.jenkinsci.plugins.pipeline.modeldefinition.SymbolTypeCache
 import org.jenkinsci.plugins.pipeline.modeldefinition.Utils
 import org.jenkinsci.plugins.scriptsecurity.sandbox.whitelists.Whitelisted
 
@@ -44,9 +44,7 @@ import edu.umd.cs.findbugs.annotations.NonNull
 @EqualsAndHashCode
 @SuppressFBWarnings(value="SE_NO_SERIALVERSIONID")
 class Parameters implements Serializable {
-    private static final Object CACHE_KEY = new Object()
-
-    private static final LoadingCache<Object,Map<String,String>> parameterTypeCache =
+    private static final SymbolTypeCache parameterTypeCache =
         Utils.generateTypeCache(ParameterDefinition.ParameterDescriptor.class)
 
     List<ParameterDefinition> parameters = []
@@ -67,7 +65,7 @@ class Parameters implements Serializable {
      * @return A map of valid parameter type keys to their actual type IDs.
      */
     static Map<String,String> getAllowedParameterTypes() {
-        return parameterTypeCache.get(CACHE_KEY)
+        return parameterTypeCache.get()
     }
 
     /**
@@ -25,10 +25,10 @@
 
 package org.jenkinsci.plugins.pipeline.modeldefinition.model
 
-import com.google.common.cache.LoadingCache
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings
 import groovy.transform.EqualsAndHashCode
 import groovy.transform.ToString
+import org.jenkinsci.plugins.pipeline.modeldefinition.SymbolTypeCache
 import org.jenkinsci.plugins.pipeline.modeldefinition.Utils
 import org.jenkinsci.plugins.pipeline.modeldefinition.when.DeclarativeStageConditionalDescriptor
 import org.jenkinsci.plugins.scriptsecurity.sandbox.whitelists.Whitelisted
@@ -40,17 +40,14 @@ import org.jenkinsci.plugins.scriptsecurity.sandbox.whitelists.Whitelisted
 @EqualsAndHashCode
 @SuppressFBWarnings(value="SE_NO_SERIALVERSIONID")
 class StageConditionals implements Serializable {
-    private static final Object NESTED_CACHE_KEY = new Object()
-    private static final Object MULTIPLE_NESTED_CACHE_KEY = new Object()
-
-    private static final LoadingCache<Object,Map<String,String>> nestedTypeCache =
+    private static final SymbolTypeCache nestedTypeCache =
         Utils.generateTypeCache(DeclarativeStageConditionalDescriptor.class, false, [],
             { DeclarativeStageConditionalDescriptor s ->
                 return s.getAllowedChildrenCount() != 0
             }
         )
 
-    private static final LoadingCache<Object,Map<String,String>> multipleNestedTypeCache =
+    private static final SymbolTypeCache multipleNestedTypeCache =
         Utils.generateTypeCache(DeclarativeStageConditionalDescriptor.class, false, [],
             { DeclarativeStageConditionalDescriptor s ->
                 return s.getAllowedChildrenCount() < 0
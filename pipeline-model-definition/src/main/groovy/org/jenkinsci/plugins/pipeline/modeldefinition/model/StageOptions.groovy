@@ -24,10 +24,10 @@
 
 package org.jenkinsci.plugins.pipeline.modeldefinition.model
 
-import com.google.common.cache.LoadingCache
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings
 import groovy.transform.EqualsAndHashCode
 import groovy.transform.ToString
+import org.jenkinsci.plugins.pipeline.modeldefinition.SymbolTypeCache
 import org.jenkinsci.plugins.pipeline.modeldefinition.Utils
 import org.jenkinsci.plugins.pipeline.modeldefinition.options.DeclarativeOption
 import org.jenkinsci.plugins.pipeline.modeldefinition.options.DeclarativeOptionDescriptor
@@ -70,7 +70,7 @@ class StageOptions implements Serializable {
      */
     static Map<String,String> getAllowedOptionTypes() {
         Map<String,String> c = [:]
-        c.putAll(stageOptionTypeCache.get(STAGE_OPTION_CACHE_KEY))
+        c.putAll(stageOptionTypeCache.get())
         c.putAll(Options.getEligibleWrapperStepClasses())
         return c.sort()
     }
@@ -85,9 +85,7 @@ class StageOptions implements Serializable {
         return getAllowedOptionTypes().get(key)
     }
 
-    private static final Object STAGE_OPTION_CACHE_KEY = new Object()
-
-    private static final LoadingCache<Object,Map<String,String>> stageOptionTypeCache =
+    private static final SymbolTypeCache stageOptionTypeCache =
         Utils.generateTypeCache(DeclarativeOptionDescriptor.class, false, [],
             { DeclarativeOptionDescriptor d ->
                 return d.canUseInStage() || d.isStageOnly()
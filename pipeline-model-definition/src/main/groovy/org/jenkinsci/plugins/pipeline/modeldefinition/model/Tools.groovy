@@ -23,10 +23,10 @@
  */
 package org.jenkinsci.plugins.pipeline.modeldefinition.model
 
-import com.google.common.cache.LoadingCache
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings
 import hudson.tools.ToolDescriptor
 import org.jenkinsci.Symbol
+import org.jenkinsci.plugins.pipeline.modeldefinition.SymbolTypeCache
 import org.jenkinsci.plugins.pipeline.modeldefinition.Utils
 import org.jenkinsci.plugins.scriptsecurity.sandbox.whitelists.Whitelisted
 
@@ -41,10 +41,7 @@ import edu.umd.cs.findbugs.annotations.NonNull
  */
 @SuppressFBWarnings(value="SE_NO_SERIALVERSIONID")
 class Tools extends MappedClosure<Closure,Tools> implements Serializable {
-
-    private static final Object CACHE_KEY = new Object()
-
-    private static final LoadingCache<Object,Map<String,String>> toolTypeCache =
+    private static final SymbolTypeCache toolTypeCache =
         Utils.generateTypeCache(ToolDescriptor.class, true)
 
     @Whitelisted
@@ -76,7 +73,7 @@ class Tools extends MappedClosure<Closure,Tools> implements Serializable {
      * @return A map of valid tool type keys to their actual type IDs.
      */
     static Map<String,String> getAllowedToolTypes() {
-        return toolTypeCache.get(CACHE_KEY)
+        return toolTypeCache.get()
     }
 
     /**
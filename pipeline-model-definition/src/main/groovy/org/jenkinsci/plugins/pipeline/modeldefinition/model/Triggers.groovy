@@ -25,12 +25,12 @@
 
 package org.jenkinsci.plugins.pipeline.modeldefinition.model
 
-import com.google.common.cache.LoadingCache
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings
 import groovy.transform.EqualsAndHashCode
 import groovy.transform.ToString
 import hudson.triggers.Trigger
 import hudson.triggers.TriggerDescriptor
+import org.jenkinsci.plugins.pipeline.modeldefinition.SymbolTypeCache
 import org.jenkinsci.plugins.pipeline.modeldefinition.Utils
 import org.jenkinsci.plugins.scriptsecurity.sandbox.whitelists.Whitelisted
 
@@ -45,8 +45,7 @@ import edu.umd.cs.findbugs.annotations.NonNull
 @EqualsAndHashCode
 @SuppressFBWarnings(value="SE_NO_SERIALVERSIONID")
 class Triggers implements Serializable {
-    private static final Object CACHE_KEY = new Object()
-    private static final LoadingCache<Object,Map<String,String>> triggerTypeCache =
+    private static final SymbolTypeCache triggerTypeCache =
         Utils.generateTypeCache(TriggerDescriptor.class)
 
     // Transient since Trigger isn't serializable. Doesn't really matter since we're in trouble if we get interrupted
@@ -75,7 +74,7 @@ class Triggers implements Serializable {
      * @return A map of valid parameter type keys to their actual type IDs.
      */
     static Map<String,String> getAllowedTriggerTypes() {
-        return triggerTypeCache.get(CACHE_KEY)
+        return triggerTypeCache.get()
     }
 
     /**
@@ -26,11 +26,13 @@ package org.jenkinsci.plugins.pipeline.modeldefinition.parser
 import com.cloudbees.groovy.cps.NonCPS
 import com.fasterxml.jackson.databind.JsonNode
 import com.github.fge.jsonschema.core.exceptions.ProcessingException
-import com.github.fge.jsonschema.main.JsonSchema
+import com.github.fge.jsonschema.core.report.ListProcessingReport
 import com.github.fge.jsonschema.core.report.ProcessingReport
 import com.github.fge.jsonschema.core.tree.JsonTree
 import com.github.fge.jsonschema.core.tree.SimpleJsonTree
 import com.github.fge.jackson.JsonLoader
+import com.google.common.cache.Cache
+import com.google.common.cache.CacheBuilder
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings
 import jenkins.model.Jenkins
 import net.sf.json.JSONObject
@@ -47,7 +49,9 @@ import org.jenkinsci.plugins.scriptsecurity.sandbox.groovy.GroovySandbox
 import org.jenkinsci.plugins.workflow.cps.CpsThread
 import org.jenkinsci.plugins.workflow.cps.GroovyShellDecorator
 
+import java.nio.charset.StandardCharsets
 import java.security.CodeSource
+import java.security.MessageDigest
 import java.security.cert.Certificate
 
 import static groovy.lang.GroovyShell.DEFAULT_CODE_BASE
@@ -62,6 +66,13 @@ class Converter {
 
     static final String PIPELINE_SCRIPT_NAME = "WorkflowScript"
 
+    /**
+     * Structural fingerprints of documents that have already passed schema validation. The AST schema only constrains
+     * object keys, array sizes and the types of leaf values, never the leaf values themselves, so any document with
+     * the same fingerprint as one that passed will pass as well.
+     */
+    private static final Cache<String, Boolean> VALID_SCHEMA_SHAPES = CacheBuilder.newBuilder().maximumSize(1000).build()
+
     /**
      * Validate provided {@link net.sf.json.JSONObject} against the JSON schema.
      *
@@ -74,9 +85,70 @@ class Converter {
     }
 
     static ProcessingReport validateJSONAgainstSchema(JsonNode jsonNode) throws ProcessingException {
-        JsonSchema schema = ASTSchema.getJSONSchema()
+        String shape = schemaShapeOf(jsonNode)
+        if (VALID_SCHEMA_SHAPES.getIfPresent(shape) != null) {
+            // Same structure as a document which already validated, so only the leaf values differ.
+            return new ListProcessingReport()
+        }
 
-        return schema.validate(jsonNode)
+        ProcessingReport report = ASTSchema.getJSONSchema().validate(jsonNode)
+        if (report.isSuccess()) {
+            VALID_SCHEMA_SHAPES.put(shape, Boolean.TRUE)
+        }
+        return report
+    }
+
+    /**
+     * Computes a fingerprint of the structure of a JSON document - its object keys, array elements and the JSON types of
+     * its leaf values - ignoring the leaf values themselves.
+     *
+     * @param jsonNode The document
+     * @return A hex-encoded digest of the document's structure
+     */
+    static String schemaShapeOf(JsonNode jsonNode) {
+        MessageDigest digest = MessageDigest.getInstance("SHA-256")
+        updateShapeDigest(digest, jsonNode)
+        return digest.digest().encodeHex().toString()
+    }
+
+    private static void updateShapeDigest(MessageDigest digest, JsonNode node) {
+        if (node.isObject()) {
+            List<String> names = new ArrayList<>()
+            Iterator<String> fieldNames = node.fieldNames()
+            while (fieldNames.hasNext()) {
+                names.add(fieldNames.next())
+            }
+            Collections.sort(names)
+            updateShapeToken(digest, "{")
+            for (String name : names) {
+                updateShapeToken(digest, name.length() + ":" + name)
+                updateShapeDigest(digest, node.get(name))
+            }
+            updateShapeToken(digest, "}")
+        } else if (node.isArray()) {
+            updateShapeToken(digest, "[")
+            for (JsonNode child : node) {
+                updateShapeDigest(digest, child)
+            }
+            updateShapeToken(digest, "]")
+        } else if (node.isIntegralNumber()) {
+            updateShapeToken(digest, "i")
+        } else if (node.isNumber()) {
+            updateShapeToken(digest, "n")
+        } else if (node.isTextual()) {
+            updateShapeToken(digest, "s")
+        } else if (node.isBoolean()) {
+            updateShapeToken(digest, "b")
+        } else if (node.isNull()) {
+            updateShapeToken(digest, "z")
+        } else {
+            updateShapeToken(digest, "?")
+        }
+    }
+
+    private static void updateShapeToken(MessageDigest digest, String token) {
+        digest.update(token.getBytes(StandardCharsets.UTF_8))
+        digest.update((byte) 0)
     }
 
     /**
@@ -98,17 +170,18 @@ class Converter {
      *
      * @param src A URL pointing to a Pipeline script
      * @param enabledOptionalValidators A list of optional validator classes that should be enabled. Defaults to empty.
+     * @param parallelValidation Whether independent sections of the pipeline should be validated in parallel. Defaults to false.
      * @return the converted script
      */
     static ModelASTPipelineDef urlToPipelineDef(URL src,
-                                                final List<Class<? extends DeclarativeValidatorContributor>> enabledOptionalValidators = []) {
-        CompilationUnit cu = new CompilationUnit(
-            makeCompilerConfiguration(),
-            new CodeSource(src, new Certificate[0]),
-            getCompilationClassLoader())
-        cu.addSource(src)
-
-        return compilationUnitToPipelineDef(cu, enabledOptionalValidators)
+                                                final List<Class<? extends DeclarativeValidatorContributor>> enabledOptionalValidators = [],
+                                                final boolean parallelValidation = false) {
+        return withCompilationContext { CompilerConfiguration cc, GroovyClassLoader loader ->
+            CompilationUnit cu = new CompilationUnit(cc, new CodeSource(src, new Certificate[0]), loader)
+            cu.addSource(src)
+
+            return compilationUnitToPipelineDef(cu, enabledOptionalValidators, parallelValidation)
+        }
     }
 
     static GroovyClassLoader getCompilationClassLoader() {
@@ -116,22 +189,42 @@ class Converter {
             new GroovyClassLoader(Jenkins.instance.getPluginManager().uberClassLoader)
     }
 
+    /**
+     * Runs the given closure with a compiler configuration and class loader for parsing a script. Inside a running
+     * Pipeline, its shell's class loader is used. Otherwise, both come from the {@link CompilationContextPool}, so they
+     * can be reused by later calls.
+     *
+     * @param body A closure taking a {@link CompilerConfiguration} and a {@link GroovyClassLoader}.
+     * @return The result of the closure.
+     */
+    private static <T> T withCompilationContext(Closure<T> body) {
+        CompilationContextPool.Context context = CompilationContextPool.borrow()
+        try {
+            GroovyClassLoader loader = CpsThread.current()?.getExecution()?.getShell()?.classLoader ?: context.classLoader
+            return body.call(context.configuration, loader)
+        } finally {
+            CompilationContextPool.release(context)
+        }
+    }
+
     /**
      * Converts a string containing a Pipeline script into {@link ModelASTPipelineDef}
      *
      * @param script A string containing a Pipeline script
      * @param enabledOptionalValidators A list of optional validator classes that should be enabled. Defaults to empty.
+     * @param parallelValidation Whether independent sections of the pipeline should be validated in parallel. Defaults to false.
      * @return the converted script
      */
     static ModelASTPipelineDef scriptToPipelineDef(String script,
-                                                   final List<Class<? extends DeclarativeValidatorContributor>> enabledOptionalValidators = []) {
-        CompilationUnit cu = new CompilationUnit(
-            makeCompilerConfiguration(),
-            new CodeSource(new URL("file", "", DEFAULT_CODE_BASE), (Certificate[]) null),
-            getCompilationClassLoader())
-        cu.addSource(PIPELINE_SCRIPT_NAME, script)
-
-        return compilationUnitToPipelineDef(cu, enabledOptionalValidators)
+                                                   final List<Class<? extends DeclarativeValidatorContributor>> enabledOptionalValidators = [],
+                                                   final boolean parallelValidation = false) {
+        return withCompilationContext { CompilerConfiguration cc, GroovyClassLoader loader ->
+            CompilationUnit cu = new CompilationUnit(cc,
+                new CodeSource(new URL("file", "", DEFAULT_CODE_BASE), (Certificate[]) null), loader)
+            cu.addSource(PIPELINE_SCRIPT_NAME, script)
+
+            return compilationUnitToPipelineDef(cu, enabledOptionalValidators, parallelValidation)
+        }
     }
 
     static CompilerConfiguration makeCompilerConfiguration() {
@@ -155,18 +248,20 @@ class Converter {
      *
      * @param cu {@link CompilationUnit} assembled by another method.
      * @param enabledOptionalValidators A list of optional validator classes that should be enabled. Defaults to empty.
+     * @param parallelValidation Whether independent sections of the pipeline should be validated in parallel. Defaults to false.
      * @return The converted script
      */
     @SuppressFBWarnings(value = "UPM_UNCALLED_PRIVATE_METHOD")
     static ModelASTPipelineDef compilationUnitToPipelineDef(CompilationUnit cu,
-                                                                    final List<Class<? extends DeclarativeValidatorContributor>> enabledOptionalValidators = []) {
+                                                                    final List<Class<? extends DeclarativeValidatorContributor>> enabledOptionalValidators = [],
+                                                                    final boolean parallelValidation = false) {
         final ModelASTPipelineDef[] model = new ModelASTPipelineDef[1]
 
         cu.addPhaseOperation(new CompilationUnit.SourceUnitOperation() {
             @Override
             void call(SourceUnit source) throws CompilationFailedException {
                 if (model[0] == null) {
-                    model[0] = new ModelParser(source, enabledOptionalValidators).parse(true)
+                    model[0] = new ModelParser(source, enabledOptionalValidators).withParallelValidation(parallelValidation).parse(true)
                 }
             }
         }, CONVERSION)
@@ -178,13 +273,13 @@ class Converter {
 
     static List<ModelASTStep> scriptToPlainSteps(String script,
                                                  final List<Class<? extends DeclarativeValidatorContributor>> enabledOptionalValidators = []) {
-        CompilationUnit cu = new CompilationUnit(
-            makeCompilerConfiguration(),
-            new CodeSource(new URL("file", "", DEFAULT_CODE_BASE), (Certificate[]) null),
-            getCompilationClassLoader())
-        cu.addSource(PIPELINE_SCRIPT_NAME, script)
+        return withCompilationContext { CompilerConfiguration cc, GroovyClassLoader loader ->
+            CompilationUnit cu = new CompilationUnit(cc,
+                new CodeSource(new URL("file", "", DEFAULT_CODE_BASE), (Certificate[]) null), loader)
+            cu.addSource(PIPELINE_SCRIPT_NAME, script)
 
-        return compilationUnitToPlainSteps(cu, enabledOptionalValidators)
+            return compilationUnitToPlainSteps(cu, enabledOptionalValidators)
+        }
     }
 
     @SuppressFBWarnings(value = "UPM_UNCALLED_PRIVATE_METHOD")
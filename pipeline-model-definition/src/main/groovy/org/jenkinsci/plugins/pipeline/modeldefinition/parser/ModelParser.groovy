@@ -144,6 +144,18 @@ class ModelParser implements Parser {
         }
     }
 
+    /**
+     * Enables or disables parallel validation of independent pipeline sections, if the validator supports it.
+     *
+     * @see ModelValidatorImpl#validatePipeline
+     */
+    ModelParser withParallelValidation(boolean parallelValidation) {
+        if (validator instanceof ModelValidatorImpl) {
+            ((ModelValidatorImpl) validator).parallelValidation = parallelValidation
+        }
+        return this
+    }
+
     @CheckForNull ModelASTPipelineDef parse(boolean secondaryRun = false) {
         return parse(sourceUnit.AST, secondaryRun)
     }
@@ -304,7 +316,22 @@ class ModelParser implements Parser {
             }
         }
 
-        r.validate(validator)
+        // Skip validation entirely if this exact script has already been validated successfully.
+        String validationKey = validationCacheKey()
+        if (validationKey != null && errorCollector.errorCount == 0 && ValidatedPipelineCache.get().isKnownValid(validationKey)) {
+            astDebugLog {
+                "Skipping validation for previously validated script"
+            }
+        } else {
+            if (validator instanceof ModelValidatorImpl) {
+                ((ModelValidatorImpl) validator).validatePipeline(r)
+            } else {
+                r.validate(validator)
+            }
+            if (validationKey != null && errorCollector.errorCount == 0) {
+                ValidatedPipelineCache.get().recordValid(validationKey)
+            }
+        }
 
         // Lazily evaluate r.toJSON() - i.e., only if AST_DEBUG_LOGGING is true.
         astDebugLog {
@@ -328,6 +355,24 @@ class ModelParser implements Parser {
         return r
     }
 
+    /**
+     * Key for this script in the {@link ValidatedPipelineCache}, or null if validation results can't be cached here.
+     */
+    @CheckForNull
+    private String validationCacheKey() {
+        if (Jenkins.getInstanceOrNull() == null || !(validator instanceof ModelValidatorImpl) || sourceUnit?.source == null) {
+            return null
+        }
+        try {
+            // Reader.getText() closes the reader once it's done.
+            String script = sourceUnit.source.reader.text
+            return ValidatedPipelineCache.get().keyFor(script, ((ModelValidatorImpl) validator).enabledContributors, build)
+        } catch (IOException e) {
+            LOGGER.log(Level.FINE, "Could not read script source for validation cache", e)
+            return null
+        }
+    }
+
     @NonNull ModelASTStages parseStages(Statement stmt) {
         def r = new ModelASTStages(stmt)
 
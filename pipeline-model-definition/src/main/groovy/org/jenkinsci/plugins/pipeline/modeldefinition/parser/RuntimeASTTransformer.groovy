@@ -884,11 +884,9 @@ public class RuntimeASTTransformer {
     Expression transformMatrix(@CheckForNull ModelASTMatrix original) {
         if (isGroovyAST(original) && !original?.stages?.stages?.isEmpty() && !original?.axes?.axes?.isEmpty()) {
 
-            // generate matrix combinations of axes - cartesianProduct
-            Set<Map<ModelASTKey, ModelASTValue>> expansion = expandAxes(original.axes.axes)
-
-            // remove excluded combinations
-            filterExcludes(expansion, original.excludes)
+            // matrix combinations of axes - cartesianProduct - minus excluded combinations, enumerated lazily
+            MatrixCellExpansion expansion = new MatrixCellExpansion(original.axes.axes,
+                    isGroovyAST(original.excludes) ? original.excludes.excludes : Collections.<ModelASTExclude>emptyList())
 
             Expression stagesExpression = transformStages(original.stages)
 
@@ -910,39 +908,6 @@ public class RuntimeASTTransformer {
         return constX(null)
     }
 
-    @NonNull
-    private Set<Map<ModelASTKey, ModelASTValue>> expandAxes(@NonNull List<ModelASTAxis> axes) {
-        Set<Map<ModelASTKey, ModelASTValue>> result = new LinkedHashSet<>()
-        // using LinkedHashMap to maintain insertion order
-        // axes will be added in the order they are declared
-        result.add(new LinkedHashMap<ModelASTKey, ModelASTValue>())
-        axes.each { axis ->
-            def interim = result
-            result = new LinkedHashSet<Map<ModelASTKey, ModelASTValue>>()
-            axis.values.each { value ->
-                interim.each {
-                    Map<ModelASTKey, ModelASTValue> generated = it.clone()
-                    generated.put(axis.name, value)
-                    result.add(generated)
-                }
-            }
-        }
-        return result
-    }
-
-    @NonNull
-    private void filterExcludes(@NonNull Set<Map<ModelASTKey, ModelASTValue>> expansion, @NonNull ModelASTExcludes excludes) {
-        if (isGroovyAST(excludes)) {
-            excludes.excludes.each { exclude ->
-                Set<Map<ModelASTKey, ModelASTValue>> filter = expansion.clone()
-                exclude.getExcludeAxes().each { excludeAxis ->
-                    filter.removeAll { !excludeAxis.inverse ^ excludeAxis.values.contains(it.get(excludeAxis.name)) }
-                }
-                expansion.removeAll(filter)
-            }
-        }
-    }
-
     /**
      * Generates the AST (to be CPS-transformed) for instantiating {@link Stage}.
      *
@@ -957,11 +922,18 @@ public class RuntimeASTTransformer {
             //     create a generated stage with unique name based on combination
             //     TODO: maybe if there is only one stage, use it as the template for these synthetic stages?  Avoid two layers of stages when one would do.
 
-            List<String> cellLabels = new ArrayList<>();
-            cell.each { cellLabels.add(it.key.key.toString() + " = '" + it.value.value.toString() + "'") }
+            StringBuilder nameBuilder = new StringBuilder("Matrix - ")
+            boolean first = true
+            cell.each { k, v ->
+                if (!first) {
+                    nameBuilder.append(", ")
+                }
+                first = false
+                nameBuilder.append(k.key.toString()).append(" = '").append(v.value.toString()).append("'")
+            }
 
             // TODO: Do I need to create a new ModelASTStage each time?  I don't think so.
-            String name = "Matrix - " + cellLabels.join(", ")
+            String name = nameBuilder.toString()
 
             return wrapper.asExternalMethodCall(ctorX(ClassHelper.make(Stage.class),
                     args(constX(name),
@@ -1140,7 +1112,8 @@ public class RuntimeASTTransformer {
         private Wrapper(@NonNull SourceUnit sourceUnit, @NonNull ModelASTPipelineDef pipelineDef) {
             this.sourceUnit = sourceUnit
             this.moduleNode = sourceUnit.AST
-            pipelineId = pipelineDef.toGroovy().hashCode().toLong()
+            // Same value as pipelineDef.toGroovy().hashCode(), without building the whole script as a String.
+            pipelineId = ModelASTGroovyHash.of(pipelineDef).toLong()
         }
 
         /**
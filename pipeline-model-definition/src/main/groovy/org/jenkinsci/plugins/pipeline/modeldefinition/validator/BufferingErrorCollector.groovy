@@ -0,0 +1,76 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, CloudBees, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.pipeline.modeldefinition.validator
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings
+import net.sf.json.JSONArray
+import net.sf.json.JSONObject
+import org.jenkinsci.plugins.pipeline.modeldefinition.ast.ModelASTElement
+
+/**
+ * Error collector that holds on to errors so they can be replayed, in the order they were reported, into another
+ * {@link ErrorCollector}. Used to keep error ordering deterministic when validating subtrees concurrently.
+ */
+@SuppressFBWarnings(value="SE_NO_SERIALVERSIONID")
+class BufferingErrorCollector extends ErrorCollector {
+    private final List<ModelASTElement> sources = []
+    private final List<String> messages = []
+
+    @Override
+    void error(ModelASTElement src, String message) {
+        sources.add(src)
+        messages.add(message)
+    }
+
+    @Override
+    int getErrorCount() {
+        return messages.size()
+    }
+
+    @Override
+    List<String> errorsAsStrings() {
+        return new ArrayList<>(messages)
+    }
+
+    @Override
+    JSONArray asJson() {
+        JSONArray a = new JSONArray()
+        messages.each {
+            JSONObject o = new JSONObject()
+            o.accumulate("error", it)
+            a.add(o)
+        }
+
+        return a
+    }
+
+    /**
+     * Reports every buffered error to the given collector, in the order they were originally reported.
+     */
+    void replayTo(ErrorCollector target) {
+        for (int i = 0; i < messages.size(); i++) {
+            target.error(sources.get(i), messages.get(i))
+        }
+    }
+}
@@ -29,10 +29,13 @@ import groovy.transform.ToString
 import hudson.model.Describable
 import hudson.model.Descriptor
 import hudson.model.PasswordParameterDefinition
+import hudson.security.ACL
+import hudson.security.ACLContext
 import hudson.tools.ToolDescriptor
 import hudson.tools.ToolInstallation
 import hudson.util.EditDistance
 import jenkins.model.Jenkins
+import jenkins.util.SystemProperties
 import org.codehaus.groovy.control.CompilationUnit
 import org.codehaus.groovy.control.MultipleCompilationErrorsException
 import org.codehaus.groovy.control.Phases
@@ -49,9 +52,14 @@ import org.jenkinsci.plugins.structs.SymbolLookup
 import org.jenkinsci.plugins.structs.describable.DescribableModel
 import org.jenkinsci.plugins.structs.describable.DescribableParameter
 import org.jenkinsci.plugins.workflow.flow.FlowExecution
+import org.springframework.security.core.Authentication
 
 import edu.umd.cs.findbugs.annotations.NonNull
 
+import java.util.concurrent.Callable
+import java.util.concurrent.ForkJoinPool
+import java.util.concurrent.ForkJoinTask
+
 /**
  * Class for validating various AST elements. Contains the error collector as well as caches for steps, models, etc.
  *
@@ -62,11 +70,25 @@ import edu.umd.cs.findbugs.annotations.NonNull
 @SuppressFBWarnings(value = "SE_NO_SERIALVERSIONID")
 class ModelValidatorImpl implements ModelValidator {
 
+    /**
+     * Whether the linting entry points (the REST endpoints and the CLI command) validate in parallel by default.
+     */
+    public static final boolean PARALLEL_LINTING = SystemProperties.getBoolean(ModelValidatorImpl.class.getName() + ".parallelLinting")
+
+    /**
+     * Upper bound on the number of threads used for parallel validation.
+     */
+    public static final int PARALLELISM = Math.max(1, SystemProperties.getInteger(ModelValidatorImpl.class.getName() + ".parallelism",
+        Runtime.getRuntime().availableProcessors()))
+
+    private static final ForkJoinPool VALIDATION_POOL = new ForkJoinPool(PARALLELISM)
+
     private final ErrorCollector errorCollector
     private final List<Class<? extends DeclarativeValidatorContributor>> enabledOptionalValidators = new ArrayList<>()
     private transient DescriptorLookupCache lookup
     private transient FlowExecution execution
     private transient List<DeclarativeValidatorContributor> validatorContributors
+    private boolean parallelValidation
 
     ModelValidatorImpl(@NonNull ErrorCollector e) {
         this(e, [], null)
@@ -95,6 +117,78 @@ class ModelValidatorImpl implements ModelValidator {
         return validatorContributors
     }
 
+    /**
+     * The {@link DeclarativeValidatorContributor}s that will be run by this validator, including any enabled optional ones.
+     */
+    @NonNull
+    List<DeclarativeValidatorContributor> getEnabledContributors() {
+        return Collections.unmodifiableList(getContributors())
+    }
+
+    boolean isParallelValidation() {
+        return parallelValidation
+    }
+
+    /**
+     * If true, {@link #validatePipeline} will validate independent subtrees of the pipeline concurrently.
+     */
+    void setParallelValidation(boolean parallelValidation) {
+        this.parallelValidation = parallelValidation
+    }
+
+    /**
+     * Validates an entire {@link ModelASTPipelineDef}. With parallel validation enabled, the {@code stages} element,
+     * each top-level stage and each remaining top-level section are validated concurrently, each by its own
+     * validator and buffer. The buffers are then replayed into this validator's {@link ErrorCollector} in declaration
+     * order, so the reported errors are the same, and in the same order, as with sequential validation.
+     */
+    void validatePipeline(@NonNull ModelASTPipelineDef pipelineDef) {
+        if (!parallelValidation) {
+            pipelineDef.validate(this)
+            return
+        }
+
+        validateElement(pipelineDef)
+
+        List<Closure> subtrees = []
+        if (pipelineDef.stages != null) {
+            subtrees.add { ModelValidator v -> v.validateElement(pipelineDef.stages) }
+            pipelineDef.stages.stages.each { ModelASTStage s ->
+                subtrees.add { ModelValidator v -> s.validate(v, false) }
+            }
+        }
+        [pipelineDef.postBuild, pipelineDef.environment, pipelineDef.agent, pipelineDef.tools, pipelineDef.options,
+         pipelineDef.parameters, pipelineDef.triggers, pipelineDef.libraries].each { ModelASTElement e ->
+            if (e != null) {
+                subtrees.add { ModelValidator v -> e.validate(v) }
+            }
+        }
+
+        final ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader()
+        final Authentication auth = Jenkins.getInstanceOrNull() != null ? Jenkins.getAuthentication2() : null
+
+        List<ForkJoinTask<BufferingErrorCollector>> tasks = subtrees.collect { Closure subtree ->
+            VALIDATION_POOL.submit({
+                Thread current = Thread.currentThread()
+                ClassLoader orig = current.getContextClassLoader()
+                current.setContextClassLoader(contextClassLoader)
+                ACLContext acl = auth != null ? ACL.as2(auth) : null
+                try {
+                    BufferingErrorCollector buffer = new BufferingErrorCollector()
+                    subtree.call(new ModelValidatorImpl(buffer, enabledOptionalValidators, execution))
+                    return buffer
+                } finally {
+                    acl?.close()
+                    current.setContextClassLoader(orig)
+                }
+            } as Callable<BufferingErrorCollector>)
+        }
+
+        tasks.each { ForkJoinTask<BufferingErrorCollector> t ->
+            t.join().replayTo(errorCollector)
+        }
+    }
+
     DescriptorLookupCache getLookup() {
         return lookup
     }
@@ -0,0 +1,277 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 CloudBees, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.jenkinsci.plugins.pipeline.modeldefinition;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import hudson.Extension;
+import hudson.Util;
+import hudson.model.Label;
+import hudson.model.LoadStatistics;
+import hudson.slaves.Cloud;
+import hudson.slaves.NodeProvisioner;
+import jenkins.model.Jenkins;
+import jenkins.util.SystemProperties;
+import org.jenkinsci.plugins.pipeline.modeldefinition.actions.ExecutionModelAction;
+import org.jenkinsci.plugins.pipeline.modeldefinition.ast.ModelASTAgent;
+import org.jenkinsci.plugins.pipeline.modeldefinition.ast.ModelASTClosureMap;
+import org.jenkinsci.plugins.pipeline.modeldefinition.ast.ModelASTKeyValueOrMethodCallPair;
+import org.jenkinsci.plugins.pipeline.modeldefinition.ast.ModelASTMethodArg;
+import org.jenkinsci.plugins.pipeline.modeldefinition.ast.ModelASTStage;
+import org.jenkinsci.plugins.pipeline.modeldefinition.ast.ModelASTStages;
+import org.jenkinsci.plugins.pipeline.modeldefinition.ast.ModelASTValue;
+import org.jenkinsci.plugins.workflow.flow.FlowExecution;
+import org.jenkinsci.plugins.workflow.flow.FlowExecutionListener;
+import org.jenkinsci.plugins.workflow.job.WorkflowRun;
+import org.kohsuke.accmod.Restricted;
+import org.kohsuke.accmod.restrictions.NoExternalUse;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The agents the stages a run will reach next are expected to need, as predicted by the
+ * {@code provisionAgentsAhead} option, so that clouds can start provisioning those agents while the current stage is
+ * still running.
+ *
+ * The predicted demand isn't put in the queue, since a queue item would take an executor on the new agent and leave a
+ * single-use agent to be terminated before the stage gets to it. Instead it's reported to the {@link NodeProvisioner}
+ * of each label by {@link PredictedDemandStrategy}, which provisions agents for it like the standard strategy does for
+ * the queue. Predictions are released when the stage they were made for starts, whether or not it's then skipped, and
+ * when the run completes.
+ */
+@Restricted(NoExternalUse.class)
+public final class AgentReservations {
+    private static final Logger LOGGER = Logger.getLogger(AgentReservations.class.getName());
+
+    /**
+     * The maximum number of agents predicted for a single stage, e.g. for the branches of a parallel stage.
+     */
+    static final int MAX_PER_STAGE = SystemProperties.getInteger(AgentReservations.class.getName() + ".MAX_PER_STAGE", 10);
+
+    private static final Cache<FlowExecution, AgentReservations> RESERVATIONS = CacheBuilder.newBuilder().weakKeys().build();
+
+    private final Map<String, List<Label>> byStage = new HashMap<>();
+
+    private AgentReservations() {
+    }
+
+    /**
+     * Predict the agents for a stage which hasn't started yet, unless it already has predictions.
+     *
+     * @param run The run the stage is in.
+     * @param stageName The name of the stage.
+     * @param labels The label expressions of the agents the stage will need.
+     */
+    public static void reserve(@NonNull WorkflowRun run, @NonNull String stageName, @NonNull Collection<String> labels) {
+        FlowExecution execution = run.getExecution();
+        if (execution == null || execution.isComplete()) {
+            return;
+        }
+        Set<String> distinct = new LinkedHashSet<>();
+        for (String label : labels) {
+            if (Util.fixEmptyAndTrim(label) != null) {
+                distinct.add(label.trim());
+            }
+        }
+        List<Label> predicted = new ArrayList<>();
+        for (String expression : distinct) {
+            if (predicted.size() >= MAX_PER_STAGE) {
+                break;
+            }
+            try {
+                Label.parseExpression(expression);
+            } catch (IllegalArgumentException e) {
+                // The stage itself will report an invalid label.
+                LOGGER.log(Level.FINE, "Not predicting an agent for invalid label " + expression, e);
+                continue;
+            }
+            // Looked up through Jenkins so the label is one whose NodeProvisioner is updated.
+            Label label = Jenkins.get().getLabel(expression);
+            if (label != null) {
+                predicted.add(label);
+            }
+        }
+        synchronized (AgentReservations.class) {
+            AgentReservations reservations = RESERVATIONS.asMap().computeIfAbsent(execution, k -> new AgentReservations());
+            if (reservations.byStage.containsKey(stageName)) {
+                return;
+            }
+            reservations.byStage.put(stageName, predicted);
+        }
+        for (Label label : predicted) {
+            label.nodeProvisioner.suggestReviewNow();
+        }
+    }
+
+    /**
+     * Release any predictions made for a stage which is now starting.
+     */
+    public static void release(@NonNull WorkflowRun run, @NonNull String stageName) {
+        FlowExecution execution = run.getExecution();
+        if (execution == null) {
+            return;
+        }
+        synchronized (AgentReservations.class) {
+            AgentReservations reservations = RESERVATIONS.getIfPresent(execution);
+            if (reservations != null) {
+                reservations.byStage.remove(stageName);
+            }
+        }
+    }
+
+    /**
+     * Release all the predictions of an execution.
+     */
+    static void releaseAll(@NonNull FlowExecution execution) {
+        RESERVATIONS.invalidate(execution);
+    }
+
+    /**
+     * The number of agents with the given label that stages which haven't started yet are expected to need.
+     */
+    static int predictedDemand(@NonNull Label label) {
+        int demand = 0;
+        synchronized (AgentReservations.class) {
+            for (AgentReservations reservations : RESERVATIONS.asMap().values()) {
+                for (List<Label> labels : reservations.byStage.values()) {
+                    for (Label l : labels) {
+                        if (l.equals(label)) {
+                            demand++;
+                        }
+                    }
+                }
+            }
+        }
+        return demand;
+    }
+
+    /**
+     * Whether the agent of a stage is written with literal values only. Agents using variables aren't predicted, since
+     * the variables may only be set by the stages before it.
+     *
+     * @param run The run the stage is in.
+     * @param stageName The name of the stage.
+     */
+    public static boolean hasLiteralAgent(@NonNull WorkflowRun run, @NonNull String stageName) {
+        ExecutionModelAction action = run.getAction(ExecutionModelAction.class);
+        ModelASTStage stage = action == null ? null : findStage(action.getStages(), stageName);
+        if (stage == null) {
+            return false;
+        }
+        ModelASTAgent agent = stage.getAgent();
+        return agent != null && isLiteral(agent.getVariables());
+    }
+
+    @CheckForNull
+    private static ModelASTStage findStage(@CheckForNull ModelASTStages stages, @NonNull String stageName) {
+        if (stages == null) {
+            return null;
+        }
+        for (ModelASTStage stage : stages.getStages()) {
+            if (stageName.equals(stage.getName())) {
+                return stage;
+            }
+            ModelASTStage found = findStage(stage.getStages(), stageName);
+            if (found == null) {
+                found = findStage(stage.getParallel(), stageName);
+            }
+            if (found != null) {
+                return found;
+            }
+        }
+        return null;
+    }
+
+    private static boolean isLiteral(@CheckForNull ModelASTMethodArg arg) {
+        if (arg == null) {
+            return true;
+        } else if (arg instanceof ModelASTValue) {
+            return ((ModelASTValue) arg).isLiteral();
+        } else if (arg instanceof ModelASTKeyValueOrMethodCallPair) {
+            return isLiteral(((ModelASTKeyValueOrMethodCallPair) arg).getValue());
+        } else if (arg instanceof ModelASTClosureMap) {
+            for (ModelASTMethodArg value : ((ModelASTClosureMap) arg).getVariables().values()) {
+                if (!isLiteral(value)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Provisions agents for the predicted demand of a label, on top of the agents the queue needs. Consulted before the
+     * standard strategy, which then sees these agents as already planned.
+     */
+    @Extension(ordinal = 200)
+    public static final class PredictedDemandStrategy extends NodeProvisioner.Strategy {
+        @NonNull
+        @Override
+        public NodeProvisioner.StrategyDecision apply(@NonNull NodeProvisioner.StrategyState state) {
+            Label label = state.getLabel();
+            int predicted = label == null ? 0 : predictedDemand(label);
+            if (predicted > 0) {
+                LoadStatistics.LoadStatisticsSnapshot snapshot = state.getSnapshot();
+                int capacity = snapshot.getAvailableExecutors() + snapshot.getConnectingExecutors()
+                        + state.getPlannedCapacitySnapshot() + state.getAdditionalPlannedCapacity();
+                int excessWorkload = snapshot.getQueueLength() + predicted - capacity;
+                for (Cloud cloud : Jenkins.get().clouds) {
+                    if (excessWorkload <= 0) {
+                        break;
+                    }
+                    Cloud.CloudState cloudState = new Cloud.CloudState(label, state.getAdditionalPlannedCapacity());
+                    if (!cloud.canProvision(cloudState)) {
+                        continue;
+                    }
+                    Collection<NodeProvisioner.PlannedNode> planned = cloud.provision(cloudState, excessWorkload);
+                    state.recordPendingLaunches(planned);
+                    for (NodeProvisioner.PlannedNode node : planned) {
+                        excessWorkload -= node.numExecutors;
+                    }
+                }
+            }
+            return NodeProvisioner.StrategyDecision.CONSULT_REMAINING_STRATEGIES;
+        }
+    }
+
+    @Extension
+    public static final class CompletionListener extends FlowExecutionListener {
+        @Override
+        public void onCompleted(@NonNull FlowExecution execution) {
+            releaseAll(execution);
+        }
+    }
+}
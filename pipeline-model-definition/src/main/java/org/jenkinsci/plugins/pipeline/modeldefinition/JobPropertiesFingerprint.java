@@ -0,0 +1,174 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, CloudBees, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.jenkinsci.plugins.pipeline.modeldefinition;
+
+import hudson.Util;
+import hudson.model.Items;
+import org.jenkinsci.plugins.structs.describable.DescribableModel;
+import org.jenkinsci.plugins.structs.describable.UninstantiatedDescribable;
+import org.kohsuke.accmod.Restricted;
+import org.kohsuke.accmod.restrictions.NoExternalUse;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Canonical representations of the job properties, triggers, parameters and options declared in a
+ * Jenkinsfile, used by {@link Utils#updateJobProperties} to tell whether anything has changed since the last build
+ * without instantiating the declarations or serializing them through XStream.
+ *
+ * Both {@link UninstantiatedDescribable}s and instantiated describables are reduced to their symbol or class plus their
+ * data-bound arguments, sorted by name. Anything which can't be reduced that way has no canonical form, in which case
+ * callers must fall back to a full comparison.
+ */
+@Restricted(NoExternalUse.class)
+public final class JobPropertiesFingerprint {
+    private static final Logger LOGGER = Logger.getLogger(JobPropertiesFingerprint.class.getName());
+
+    private JobPropertiesFingerprint() {
+    }
+
+    /**
+     * Computes a fingerprint of the raw declarations, as passed to {@link Utils#updateJobProperties}.
+     *
+     * @return A hex-encoded SHA-256 digest, or null if any of the declarations has no canonical form.
+     */
+    @CheckForNull
+    public static String of(@CheckForNull List<?> properties,
+                            @CheckForNull List<?> triggers,
+                            @CheckForNull List<?> parameters,
+                            @CheckForNull Map<String, ?> options) {
+        StringBuilder b = new StringBuilder();
+        if (!appendSection(b, "properties", properties)
+                || !appendSection(b, "triggers", triggers)
+                || !appendSection(b, "parameters", parameters)
+                || !appendSection(b, "options", options != null ? new TreeMap<>(options) : null)) {
+            return null;
+        }
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            return null;
+        }
+        return Util.toHexString(digest.digest(b.toString().getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Compares two describables by their data-bound configuration. Objects which can't be uninstantiated are compared
+     * by their XStream serialization instead.
+     */
+    public static boolean isStructurallyEqual(@NonNull Object first, @NonNull Object second) {
+        if (first.getClass() != second.getClass()) {
+            return false;
+        }
+        StringBuilder firstCanonical = new StringBuilder();
+        StringBuilder secondCanonical = new StringBuilder();
+        if (appendCanonical(firstCanonical, first) && appendCanonical(secondCanonical, second)) {
+            return firstCanonical.toString().equals(secondCanonical.toString());
+        }
+        return Items.XSTREAM2.toXML(first).equals(Items.XSTREAM2.toXML(second));
+    }
+
+    private static boolean appendSection(StringBuilder b, String name, Object value) {
+        b.append(name).append('=');
+        boolean ok = value == null || appendCanonical(b, value);
+        b.append(';');
+        return ok;
+    }
+
+    private static boolean appendCanonical(StringBuilder b, Object o) {
+        if (o == null) {
+            b.append("null");
+        } else if (o instanceof CharSequence) {
+            b.append('"').append(o.toString().replace("\\", "\\\\").replace("\"", "\\\"")).append('"');
+        } else if (o instanceof Number || o instanceof Boolean || o instanceof Character) {
+            b.append(o.getClass().getSimpleName()).append(':').append(o);
+        } else if (o instanceof Enum) {
+            b.append(((Enum<?>) o).getDeclaringClass().getName()).append('.').append(((Enum<?>) o).name());
+        } else if (o instanceof UninstantiatedDescribable) {
+            UninstantiatedDescribable ud = (UninstantiatedDescribable) o;
+            b.append('@').append(ud.getSymbol()).append('/').append(ud.getKlass());
+            return appendCanonical(b, new TreeMap<>(ud.getArguments()));
+        } else if (o instanceof Map) {
+            Map<?, ?> map = o instanceof TreeMap ? (Map<?, ?>) o : toSortedMap((Map<?, ?>) o);
+            if (map == null) {
+                return false;
+            }
+            b.append('{');
+            for (Map.Entry<?, ?> e : map.entrySet()) {
+                b.append(e.getKey()).append(':');
+                if (!appendCanonical(b, e.getValue())) {
+                    return false;
+                }
+                b.append(',');
+            }
+            b.append('}');
+        } else if (o instanceof Collection || o instanceof Object[]) {
+            Collection<?> items = o instanceof Collection ? (Collection<?>) o : Arrays.asList((Object[]) o);
+            b.append('[');
+            for (Object item : items) {
+                if (!appendCanonical(b, item)) {
+                    return false;
+                }
+                b.append(',');
+            }
+            b.append(']');
+        } else {
+            UninstantiatedDescribable ud;
+            try {
+                ud = DescribableModel.uninstantiate2_(o);
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.FINE, "Could not uninstantiate " + o.getClass().getName(), e);
+                return false;
+            }
+            b.append(o.getClass().getName());
+            return appendCanonical(b, ud);
+        }
+        return true;
+    }
+
+    @CheckForNull
+    private static Map<?, ?> toSortedMap(Map<?, ?> map) {
+        Map<String, Object> sorted = new TreeMap<>();
+        for (Map.Entry<?, ?> e : map.entrySet()) {
+            if (!(e.getKey() instanceof String)) {
+                return null;
+            }
+            sorted.put((String) e.getKey(), e.getValue());
+        }
+        return sorted;
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 CloudBees, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.jenkinsci.plugins.pipeline.modeldefinition;
+
+import jenkins.util.SystemProperties;
+import org.jenkinsci.plugins.pipeline.modeldefinition.actions.StageDurationsAction;
+import org.jenkinsci.plugins.workflow.job.WorkflowRun;
+import org.kohsuke.accmod.Restricted;
+import org.kohsuke.accmod.restrictions.NoExternalUse;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * The durations of the parallel branches of earlier runs of a job, used to start the longest parallel branches first
+ * with the {@code longestBranchesFirst} option. The durations are recorded in a {@link StageDurationsAction} when each
+ * run using the option completes, so no flow graphs are loaded while ordering the branches.
+ */
+@Restricted(NoExternalUse.class)
+public final class StageDurations {
+
+    /**
+     * The maximum number of earlier completed runs to look at for the duration of a branch.
+     */
+    static final int MAX_BUILDS = SystemProperties.getInteger(StageDurations.class.getName() + ".MAX_BUILDS", 5);
+
+    private StageDurations() {
+    }
+
+    /**
+     * Get the durations of the branches of the given parallel stage which ran in the completed runs before the given
+     * one. Each duration is from the most recent of those runs in which the branch ran, rather than being skipped.
+     *
+     * @return Durations in milliseconds, keyed by branch name.
+     */
+    @NonNull
+    public static Map<String, Long> previousDurations(@NonNull WorkflowRun run, @NonNull String parallelStage) {
+        Map<String, Long> durations = new HashMap<>();
+        int examined = 0;
+        for (WorkflowRun b = run.getPreviousCompletedBuild(); b != null && examined < MAX_BUILDS;
+             b = b.getPreviousCompletedBuild(), examined++) {
+            StageDurationsAction action = b.getAction(StageDurationsAction.class);
+            if (action != null) {
+                for (Map.Entry<String, Long> e : action.getBranchDurations(parallelStage).entrySet()) {
+                    durations.putIfAbsent(e.getKey(), e.getValue());
+                }
+            }
+        }
+        return durations;
+    }
+
+    /**
+     * Order items by the duration of the branch with the same name, longest first. Items without a duration come
+     * first, since they could be the longest. Otherwise the order is unchanged.
+     */
+    @NonNull
+    public static <T> List<T> longestFirst(@NonNull List<T> items, @NonNull Map<String, Long> durations,
+                                           @NonNull Function<T, String> name) {
+        List<T> sorted = new ArrayList<>(items);
+        // List.sort is stable, so items with equal durations keep their order.
+        sorted.sort((a, b) -> Long.compare(durations.getOrDefault(name.apply(b), Long.MAX_VALUE),
+                durations.getOrDefault(name.apply(a), Long.MAX_VALUE)));
+        return sorted;
+    }
+}
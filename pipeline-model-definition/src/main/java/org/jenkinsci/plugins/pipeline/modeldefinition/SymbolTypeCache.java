@@ -0,0 +1,200 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, CloudBees, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.jenkinsci.plugins.pipeline.modeldefinition;
+
+import hudson.ExtensionList;
+import hudson.ExtensionListListener;
+import hudson.model.Descriptor;
+import jenkins.model.Jenkins;
+import org.jenkinsci.plugins.structs.SymbolLookup;
+import org.jenkinsci.plugins.workflow.steps.StepDescriptor;
+import org.kohsuke.accmod.Restricted;
+import org.kohsuke.accmod.restrictions.NoExternalUse;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A map of symbols (and optionally class names) to the class names of the {@link Descriptor}s of a given type, as
+ * created by {@link Utils#generateTypeCache}. All of these maps are built together, with a single pass over each
+ * extension list, the first time any of them is needed. They're kept until an extension list changes, e.g. when a
+ * plugin is dynamically loaded, rather than expiring after a fixed time, so builds don't periodically have to wait
+ * for them to be rebuilt.
+ */
+@Restricted(NoExternalUse.class)
+public final class SymbolTypeCache {
+    private static final Logger LOGGER = Logger.getLogger(SymbolTypeCache.class.getName());
+
+    private static final List<SymbolTypeCache> CACHES = new CopyOnWriteArrayList<>();
+
+    private static volatile Map<SymbolTypeCache, Map<String, String>> snapshot;
+    private static long generation;
+
+    private static final AtomicLong rebuildCount = new AtomicLong();
+    private static final AtomicLong rebuildNanos = new AtomicLong();
+
+    private final Class<? extends Descriptor> type;
+    private final boolean includeClassNames;
+    private final List<String> excludedSymbols;
+    private final Predicate<Descriptor> filter;
+
+    /**
+     * @param type The {@link Descriptor} class whose extensions we want to find.
+     * @param includeClassNames Whether to include class names as keys as well.
+     * @param excludedSymbols Symbol names to exclude from the map.
+     * @param filter Optional filter for which descriptors to include.
+     */
+    public SymbolTypeCache(@NonNull Class<? extends Descriptor> type, boolean includeClassNames,
+                           @NonNull List<String> excludedSymbols, @CheckForNull Predicate<Descriptor> filter) {
+        this.type = type;
+        this.includeClassNames = includeClassNames;
+        this.excludedSymbols = excludedSymbols;
+        this.filter = filter;
+        CACHES.add(this);
+    }
+
+    /**
+     * Get the map of symbols to class names, building all the type caches if they've been invalidated.
+     */
+    @NonNull
+    public Map<String, String> get() {
+        Map<SymbolTypeCache, Map<String, String>> s = snapshot;
+        if (s == null || !s.containsKey(this)) {
+            s = rebuild();
+        }
+        return s.get(this);
+    }
+
+    /**
+     * Discard all the type caches, so that they're built again from the current extension lists when next needed.
+     */
+    public static void invalidateAll() {
+        synchronized (SymbolTypeCache.class) {
+            generation++;
+            snapshot = null;
+        }
+    }
+
+    /**
+     * @return The number of times the type caches have been built since startup.
+     */
+    public static long getRebuildCount() {
+        return rebuildCount.get();
+    }
+
+    /**
+     * @return The total time spent building the type caches since startup, in milliseconds.
+     */
+    public static long getRebuildTimeMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(rebuildNanos.get());
+    }
+
+    /**
+     * Invalidate the type caches whenever the registered descriptors change. Called by
+     * {@link ModelStepLoader#invalidateOptionTypeCaches}.
+     */
+    static void listenForDescriptorChanges() {
+        Jenkins.get().getExtensionList(Descriptor.class).addListener(new ExtensionListListener() {
+            @Override
+            public void onChange() {
+                invalidateAll();
+            }
+        });
+    }
+
+    private static Map<SymbolTypeCache, Map<String, String>> rebuild() {
+        long start = System.nanoTime();
+        long startGeneration;
+        synchronized (SymbolTypeCache.class) {
+            startGeneration = generation;
+        }
+
+        Map<Class<? extends Descriptor>, List<SymbolTypeCache>> byType = new LinkedHashMap<>();
+        for (SymbolTypeCache cache : CACHES) {
+            byType.computeIfAbsent(cache.type, k -> new ArrayList<>()).add(cache);
+        }
+        Map<SymbolTypeCache, Map<String, String>> built = new IdentityHashMap<>();
+        for (Map.Entry<Class<? extends Descriptor>, List<SymbolTypeCache>> entry : byType.entrySet()) {
+            Map<SymbolTypeCache, Map<String, String>> knownTypes = new IdentityHashMap<>();
+            for (SymbolTypeCache cache : entry.getValue()) {
+                knownTypes.put(cache, new HashMap<>());
+            }
+            for (Descriptor<?> d : ExtensionList.lookup(entry.getKey())) {
+                // Have to special-case StepDescriptor since it doesn't actually have symbols!
+                Set<String> symbolValue = d instanceof StepDescriptor ? null : SymbolLookup.getSymbolValue(d);
+                for (SymbolTypeCache cache : entry.getValue()) {
+                    cache.add(knownTypes.get(cache), d, symbolValue);
+                }
+            }
+            for (Map.Entry<SymbolTypeCache, Map<String, String>> e : knownTypes.entrySet()) {
+                built.put(e.getKey(), Collections.unmodifiableMap(e.getValue()));
+            }
+        }
+        Map<SymbolTypeCache, Map<String, String>> result = Collections.unmodifiableMap(built);
+
+        synchronized (SymbolTypeCache.class) {
+            // Don't publish the result if the extensions changed while it was being built.
+            if (generation == startGeneration) {
+                snapshot = result;
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        rebuildCount.incrementAndGet();
+        rebuildNanos.addAndGet(elapsed);
+        LOGGER.log(Level.FINE, "Built {0} type caches in {1}ms",
+                new Object[] {result.size(), TimeUnit.NANOSECONDS.toMillis(elapsed)});
+        return result;
+    }
+
+    private void add(Map<String, String> knownTypes, Descriptor<?> d, @CheckForNull Set<String> symbolValue) {
+        if (filter != null && !filter.test(d)) {
+            return;
+        }
+        if (d instanceof StepDescriptor) {
+            knownTypes.put(((StepDescriptor) d).getFunctionName(), d.clazz.getName());
+        } else if (!symbolValue.isEmpty() && symbolValue.stream().noneMatch(excludedSymbols::contains)) {
+            knownTypes.put(symbolValue.iterator().next(), d.clazz.getName());
+        }
+
+        if (includeClassNames) {
+            // Add the class name mapping even if we also found the symbol, for backwards compatibility reasons.
+            knownTypes.put(d.clazz.getName(), d.clazz.getName());
+        }
+    }
+}
@@ -24,24 +24,27 @@
 
 package org.jenkinsci.plugins.pipeline.modeldefinition;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import hudson.Extension;
+import hudson.ExtensionList;
 import hudson.model.Actionable;
 import hudson.model.InvisibleAction;
 import org.jenkinsci.plugins.pipeline.SyntheticStage;
 import org.jenkinsci.plugins.pipeline.modeldefinition.actions.ExecutionModelAction;
 import org.jenkinsci.plugins.workflow.actions.LabelAction;
-import org.jenkinsci.plugins.workflow.actions.TagsAction;
 import org.jenkinsci.plugins.workflow.cps.nodes.StepStartNode;
 import org.jenkinsci.plugins.workflow.flow.FlowExecution;
 import org.jenkinsci.plugins.workflow.flow.FlowExecutionOwner;
 import org.jenkinsci.plugins.workflow.flow.GraphListener;
 import org.jenkinsci.plugins.workflow.graph.FlowNode;
 import org.jenkinsci.plugins.workflow.support.steps.StageStep;
+import org.kohsuke.accmod.Restricted;
+import org.kohsuke.accmod.restrictions.NoExternalUse;
 
 import edu.umd.cs.findbugs.annotations.NonNull;
 import java.io.IOException;
-import java.util.Map;
-import java.util.WeakHashMap;
+import java.util.Collections;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -51,7 +54,25 @@ import static java.util.logging.Level.WARNING;
 public final class SyntheticStageGraphListener implements GraphListener {
     private static final Logger LOGGER = Logger.getLogger(SyntheticStageGraphListener.class.getName());
 
-    private final transient Map<FlowExecution,Boolean> declarativeRuns = new WeakHashMap<>();
+    /**
+     * Whether each execution is a Declarative run. Weak, identity-keyed and safe for concurrent use, so that the CPS VM
+     * threads of unrelated builds do not contend on it.
+     */
+    private final transient Cache<FlowExecution, Boolean> declarativeRuns = CacheBuilder.newBuilder().weakKeys().build();
+
+    /**
+     * Records that the given execution is running a Declarative Pipeline. Called when the pipeline is parsed, so that
+     * {@link #onNewHead} never has to look up the run for it.
+     *
+     * @param execution The execution.
+     */
+    @Restricted(NoExternalUse.class)
+    public static void markDeclarative(@NonNull FlowExecution execution) {
+        SyntheticStageGraphListener listener = ExtensionList.lookup(GraphListener.class).get(SyntheticStageGraphListener.class);
+        if (listener != null) {
+            listener.declarativeRuns.put(execution, Boolean.TRUE);
+        }
+    }
 
     @Override
     public void onNewHead(FlowNode node) {
@@ -59,14 +80,16 @@ public final class SyntheticStageGraphListener implements GraphListener {
                 ((StepStartNode) node).getDescriptor() instanceof StageStep.DescriptorImpl) {
             if (isDeclarativeRun(node.getExecution())) {
                 LabelAction label = node.getAction(LabelAction.class);
-                if (label != null &&
-                        (SyntheticStageNames.preStages().contains(label.getDisplayName()) ||
-                                SyntheticStageNames.postStages().contains(label.getDisplayName()))) {
+                if (label != null) {
+                    // Both are the same tag, so work out its value first and write the node once.
+                    String syntheticContext = null;
                     if (SyntheticStageNames.preStages().contains(label.getDisplayName())) {
-                        attachTag(node, SyntheticStage.getPre());
+                        syntheticContext = SyntheticStage.getPre();
+                    } else if (SyntheticStageNames.postStages().contains(label.getDisplayName())) {
+                        syntheticContext = SyntheticStage.getPost();
                     }
-                    if (SyntheticStageNames.postStages().contains(label.getDisplayName())) {
-                        attachTag(node, SyntheticStage.getPost());
+                    if (syntheticContext != null) {
+                        attachTag(node, syntheticContext);
                     }
                 }
             }
@@ -74,39 +97,34 @@ public final class SyntheticStageGraphListener implements GraphListener {
     }
 
     private void attachTag(FlowNode currentNode, String syntheticContext) {
-        TagsAction tagsAction = currentNode.getAction(TagsAction.class);
-        if (tagsAction == null) {
-            tagsAction = new TagsAction();
-            tagsAction.addTag(SyntheticStage.TAG_NAME, syntheticContext);
-            currentNode.addAction(tagsAction);
-        } else if (tagsAction.getTagValue(SyntheticStage.TAG_NAME) == null) {
-            tagsAction.addTag(SyntheticStage.TAG_NAME, syntheticContext);
-            try {
-                currentNode.save();
-            } catch (IOException e) {
-                LOGGER.log(WARNING, "failed to save actions for FlowNode id=" + currentNode.getId(), e);
-            }
+        try {
+            Utils.addTagsToFlowNode(currentNode, Collections.singletonMap(SyntheticStage.TAG_NAME, syntheticContext));
+        } catch (IOException e) {
+            LOGGER.log(WARNING, "failed to save actions for FlowNode id=" + currentNode.getId(), e);
         }
     }
 
-    private synchronized boolean isDeclarativeRun(@NonNull FlowExecution execution) {
-        if (!declarativeRuns.containsKey(execution)) {
-            boolean isDeclarative = false;
-            try {
-                FlowExecutionOwner owner = execution.getOwner();
-                if (owner != null && owner.getExecutable() instanceof Actionable) {
-                    if (((Actionable) owner.getExecutable()).getAction(ExecutionModelAction.class) != null) {
-                        isDeclarative = true;
-                    }
+    boolean isDeclarativeRun(@NonNull FlowExecution execution) {
+        Boolean cached = declarativeRuns.getIfPresent(execution);
+        if (cached != null) {
+            return cached;
+        }
+        // Not parsed in this session, for example on resume. Two threads may both get here for the same execution,
+        // but they will come to the same answer.
+        boolean isDeclarative = false;
+        try {
+            FlowExecutionOwner owner = execution.getOwner();
+            if (owner != null && owner.getExecutable() instanceof Actionable) {
+                if (((Actionable) owner.getExecutable()).getAction(ExecutionModelAction.class) != null) {
+                    isDeclarative = true;
                 }
-            } catch (IOException e) {
-                LOGGER.log(Level.WARNING, "Error loading WorkflowRun for FlowNode: {0}", e);
             }
-
-            declarativeRuns.put(execution, isDeclarative);
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Error loading WorkflowRun for FlowNode: {0}", e);
         }
 
-        return declarativeRuns.get(execution);
+        declarativeRuns.put(execution, isDeclarative);
+        return isDeclarative;
     }
 
     @Deprecated
@@ -29,6 +29,7 @@ import hudson.Extension;
 import hudson.ExtensionList;
 import hudson.util.VersionNumber;
 import java.io.File;
+import java.io.IOException;
 import java.net.URL;
 import java.nio.file.Files;
 import java.util.Set;
@@ -36,6 +37,8 @@ import java.util.concurrent.atomic.AtomicReference;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import javax.xml.XMLConstants;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.parsers.SAXParser;
 import javax.xml.parsers.SAXParserFactory;
 import org.jenkinsci.plugins.pipeline.modeldefinition.agent.DeclarativeAgentScript2;
 import org.jenkinsci.plugins.pipeline.modeldefinition.parser.CompatibilityLoader;
@@ -108,39 +111,94 @@ import org.xml.sax.helpers.DefaultHandler;
         }
     }
 
+    /**
+     * Written once a build has been found to be old, holding the old version.
+     */
+    static final String OLD_MARKER = ".old-declarative-version";
+
+    /**
+     * Written once a Declarative build has been found not to be old, so that resuming it does not parse
+     * {@code build.xml} again.
+     */
+    static final String NOT_OLD_MARKER = ".new-declarative-version";
+
+    private static final SAXParserFactory FACTORY = createFactory();
+
+    private static SAXParserFactory createFactory() {
+        var factory = SAXParserFactory.newDefaultInstance();
+        try {
+            // TODO XMLUtils does not support SAX parsing:
+            factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+            factory.setFeature("http://xml.org/sax/features/external-general-entities", false);
+            factory.setFeature("http://xml.org/sax/features/external-parameter-entities", false);
+        } catch (ParserConfigurationException | SAXException x) {
+            throw new IllegalStateException(x);
+        }
+        return factory;
+    }
+
+    /**
+     * Thrown to stop parsing as soon as the {@code pipeline-model-definition} version has been found.
+     */
+    private static final class VersionFound extends SAXException {
+        VersionFound() {
+            super("found");
+        }
+
+        @Override public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+    }
+
     private static boolean isOld(FlowExecutionOwner owner) throws Exception {
-        var markerFile = owner.getRootDir().toPath().resolve(".old-declarative-version");
+        var rootDir = owner.getRootDir().toPath();
+        var markerFile = rootDir.resolve(OLD_MARKER);
         if (Files.exists(markerFile)) {
             return true;
         }
-        var factory = SAXParserFactory.newDefaultInstance();
-        // TODO XMLUtils does not support SAX parsing:
-        factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
-        factory.setFeature("http://xml.org/sax/features/external-general-entities", false);
-        factory.setFeature("http://xml.org/sax/features/external-parameter-entities", false);
-        var parser = factory.newSAXParser();
-        var old = new AtomicReference<String>();
+        var notOldMarkerFile = rootDir.resolve(NOT_OLD_MARKER);
+        if (Files.exists(notOldMarkerFile)) {
+            return false;
+        }
+        SAXParser parser;
+        synchronized (FACTORY) {
+            parser = FACTORY.newSAXParser();
+        }
+        var found = new AtomicReference<VersionNumber>();
         var buildXml = new File(owner.getRootDir(), "build.xml");
-        parser.parse(buildXml, new DefaultHandler() {
-            @Override public void startElement(String uri, String localName, String qName, Attributes attributes) throws SAXException {
-                var plugin = attributes.getValue("plugin");
-                if (plugin != null) {
-                    int at = plugin.indexOf('@');
-                    if (at != -1 && plugin.substring(0, at).equals("pipeline-model-definition")) {
-                        var version = new VersionNumber(plugin.substring(at + 1));
-                        LOGGER.fine(() -> "got " + version + " off " + qName + " in " + buildXml);
-                        if (version.isOlderThan(new VersionNumber("2.2234"))) {
-                            old.set(version.toString());
+        try {
+            parser.parse(buildXml, new DefaultHandler() {
+                @Override public void startElement(String uri, String localName, String qName, Attributes attributes) throws SAXException {
+                    var plugin = attributes.getValue("plugin");
+                    if (plugin != null) {
+                        int at = plugin.indexOf('@');
+                        if (at != -1 && plugin.substring(0, at).equals("pipeline-model-definition")) {
+                            var version = new VersionNumber(plugin.substring(at + 1));
+                            LOGGER.fine(() -> "got " + version + " off " + qName + " in " + buildXml);
+                            found.set(version);
+                            // Every element in build.xml is written by the same plugin version, so the first one is enough.
+                            throw new VersionFound();
                         }
                     }
                 }
-            }
-        });
-        var oldVersion = old.get();
-        if (oldVersion != null) {
-            Files.writeString(markerFile, oldVersion);
+            });
+        } catch (VersionFound x) {
+            // expected
+        }
+        var version = found.get();
+        if (version != null && version.isOlderThan(new VersionNumber("2.2234"))) {
+            Files.writeString(markerFile, version.toString());
             return true;
         }
+        if (version == null) {
+            // Not a Declarative run, or not one yet, so there is nothing worth recording.
+            return false;
+        }
+        try {
+            Files.writeString(notOldMarkerFile, version.toString());
+        } catch (IOException x) {
+            LOGGER.log(Level.FINE, "could not record " + notOldMarkerFile, x);
+        }
         return false;
     }
 
@@ -0,0 +1,262 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, CloudBees, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.jenkinsci.plugins.pipeline.modeldefinition.actions;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import hudson.Extension;
+import hudson.model.InvisibleAction;
+import hudson.model.Job;
+import hudson.model.Run;
+import hudson.model.TaskListener;
+import hudson.model.listeners.RunListener;
+import hudson.scm.ChangeLogSet;
+import jenkins.scm.RunWithSCM;
+import jenkins.util.SystemProperties;
+import org.jenkinsci.plugins.pipeline.modeldefinition.Utils;
+import org.kohsuke.accmod.Restricted;
+import org.kohsuke.accmod.restrictions.NoExternalUse;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The changes of a completed build of a change request, used by the {@code changeset} and {@code changelog} conditions
+ * of change requests which examine every build. Besides the build's own changes, the changes of all the builds before
+ * it are recorded too, unless there are more than {@link #MAX_EARLIER_CHANGES} of them, so a new build usually only
+ * needs to read its previous build's summary, rather than loading every earlier build. Once there are too many
+ * earlier changes, only each build's own changes are recorded, so the space taken by each build stays bounded.
+ */
+@Restricted(NoExternalUse.class)
+public class ChangeHistoryAction extends InvisibleAction {
+    private static final Logger LOGGER = Logger.getLogger(ChangeHistoryAction.class.getName());
+
+    /**
+     * The largest number of affected paths and changes of earlier builds which are recorded with a build.
+     */
+    static final int MAX_EARLIER_CHANGES =
+            SystemProperties.getInteger(ChangeHistoryAction.class.getName() + ".MAX_EARLIER_CHANGES", 1000);
+
+    /**
+     * Locks for computing the summaries of each job, so builds of different jobs don't wait on each other.
+     */
+    private static final Cache<Job<?, ?>, Object> LOCKS = CacheBuilder.newBuilder().weakKeys().build();
+
+    /**
+     * The changes before each running build, so they're only computed once for the build. Dropped when the build
+     * completes.
+     */
+    private static final Cache<Run<?, ?>, Changes> EARLIER = CacheBuilder.newBuilder().weakKeys().build();
+
+    private final Changes changes;
+    @CheckForNull
+    private final Changes earlierChanges;
+
+    ChangeHistoryAction(@NonNull Changes changes, @CheckForNull Changes earlierChanges) {
+        this.changes = changes;
+        this.earlierChanges = earlierChanges;
+    }
+
+    /**
+     * The changes of the build itself.
+     */
+    @NonNull
+    public Changes getChanges() {
+        return changes;
+    }
+
+    /**
+     * The changes of all the builds before this one, or null if there were too many to record.
+     */
+    @CheckForNull
+    public Changes getEarlierChanges() {
+        return earlierChanges;
+    }
+
+    /**
+     * Get the changes of the builds before the given one. Completed earlier builds without a summary, such as those
+     * from before summaries were recorded, get one recorded, so they're only loaded once. Nothing is recorded for a
+     * build which is still running, as with concurrent builds, or for any build after it, since that build may add
+     * more change sets - the changes are computed again until that build completes.
+     */
+    @NonNull
+    public static Changes earlierChangesOf(@NonNull Run<?, ?> run) {
+        Changes cached = EARLIER.getIfPresent(run);
+        if (cached != null) {
+            return cached;
+        }
+        Object lock = LOCKS.asMap().computeIfAbsent(run.getParent(), k -> new Object());
+        synchronized (lock) {
+            // Walk back to the most recent build with its earlier changes recorded, or to the first build.
+            Deque<Run<?, ?>> walked = new ArrayDeque<>();
+            for (Run<?, ?> b = run.getPreviousBuild(); b != null; b = b.getPreviousBuild()) {
+                walked.push(b);
+                ChangeHistoryAction recorded = b.getAction(ChangeHistoryAction.class);
+                if (recorded != null && recorded.earlierChanges != null) {
+                    break;
+                }
+            }
+            Changes history = new Changes();
+            boolean complete = true;
+            // Then walk forwards, adding each build's own changes, and recording them if they weren't already.
+            for (Run<?, ?> b : walked) {
+                ChangeHistoryAction recorded = b.getAction(ChangeHistoryAction.class);
+                if (recorded != null) {
+                    // Only the oldest build walked can have its earlier changes recorded.
+                    if (recorded.earlierChanges != null) {
+                        history.add(recorded.earlierChanges);
+                    }
+                    history.add(recorded.changes);
+                } else {
+                    Changes changes = Changes.of(b);
+                    if (complete && !b.isBuilding()) {
+                        record(b, changes, history);
+                    }
+                    history.add(changes);
+                }
+                complete &= !b.isBuilding();
+            }
+            if (complete) {
+                EARLIER.put(run, history);
+            }
+            return history;
+        }
+    }
+
+    private static void record(@NonNull Run<?, ?> run, @NonNull Changes changes, @NonNull Changes earlierChanges) {
+        run.addAction(new ChangeHistoryAction(changes,
+                earlierChanges.size() <= MAX_EARLIER_CHANGES ? new Changes(earlierChanges) : null));
+        try {
+            run.save();
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Failed to save change history for " + run, e);
+        }
+    }
+
+    @Extension
+    public static final class DropOnCompletion extends RunListener<Run<?, ?>> {
+        @Override
+        public void onCompleted(Run<?, ?> run, @NonNull TaskListener listener) {
+            EARLIER.invalidate(run);
+        }
+    }
+
+    /**
+     * The affected paths and messages of the changes of one or more builds.
+     */
+    public static final class Changes {
+        private final Set<String> paths = new TreeSet<>();
+        private final List<Change> changes = new ArrayList<>();
+
+        Changes() {
+        }
+
+        Changes(@NonNull Changes copyFrom) {
+            add(copyFrom);
+        }
+
+        @NonNull
+        static Changes of(@NonNull Run<?, ?> run) {
+            Changes changes = new Changes();
+            if (run instanceof RunWithSCM) {
+                for (ChangeLogSet<? extends ChangeLogSet.Entry> set : ((RunWithSCM<?, ?>) run).getChangeSets()) {
+                    for (ChangeLogSet.Entry entry : set) {
+                        changes.paths.addAll(entry.getAffectedPaths());
+                        changes.changes.add(Utils.changeOf(entry));
+                    }
+                }
+            }
+            return changes;
+        }
+
+        private void add(@NonNull Changes other) {
+            paths.addAll(other.paths);
+            changes.addAll(other.changes);
+        }
+
+        /**
+         * The affected paths.
+         */
+        @NonNull
+        public Set<String> getPaths() {
+            return Collections.unmodifiableSet(paths);
+        }
+
+        /**
+         * The commit messages, oldest build first.
+         */
+        @NonNull
+        public List<Change> getChanges() {
+            return Collections.unmodifiableList(changes);
+        }
+
+        public boolean isEmpty() {
+            return paths.isEmpty() && changes.isEmpty();
+        }
+
+        int size() {
+            return paths.size() + changes.size();
+        }
+    }
+
+    /**
+     * The messages of a single change, as examined by the {@code changelog} condition.
+     */
+    public static final class Change {
+        private final String title;
+        private final String comment;
+
+        public Change(@CheckForNull String title, @CheckForNull String comment) {
+            this.title = title == null ? "" : title;
+            this.comment = comment == null ? "" : comment;
+        }
+
+        /**
+         * The message which is matched against the whole pattern - the title of a Git commit, or the message otherwise.
+         */
+        @NonNull
+        public String getTitle() {
+            return title;
+        }
+
+        /**
+         * The message which is matched line by line - the full comment of a Git commit, or the message otherwise.
+         */
+        @NonNull
+        public String getComment() {
+            return comment;
+        }
+    }
+}
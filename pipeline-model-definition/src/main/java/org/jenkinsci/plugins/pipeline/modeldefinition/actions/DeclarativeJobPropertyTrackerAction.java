@@ -24,19 +24,31 @@
 
 package org.jenkinsci.plugins.pipeline.modeldefinition.actions;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import hudson.Extension;
+import hudson.XmlFile;
 import hudson.model.InvisibleAction;
+import hudson.model.Job;
 import hudson.model.JobProperty;
 import hudson.model.ParameterDefinition;
+import hudson.model.Saveable;
+import hudson.model.listeners.SaveableListener;
 import hudson.triggers.Trigger;
 import org.jenkinsci.plugins.pipeline.modeldefinition.options.DeclarativeOption;
+import org.kohsuke.accmod.Restricted;
+import org.kohsuke.accmod.restrictions.NoExternalUse;
 
 import edu.umd.cs.findbugs.annotations.CheckForNull;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Invisible action used for tracking what {@link JobProperty}s, {@link Trigger}s, and {@link ParameterDefinition}s were
@@ -47,6 +59,16 @@ public class DeclarativeJobPropertyTrackerAction extends InvisibleAction {
     private final Set<String> triggers = new HashSet<>();
     private final Set<String> parameters = new HashSet<>();
     private Set<String> options = new HashSet<>();
+    /**
+     * Fingerprint of the raw declarations this action was created from, or null if unknown.
+     */
+    private String fingerprint;
+    /**
+     * The job configuration as it was left after applying the declarations, so that changes made outside of the
+     * Jenkinsfile since then are noticed. Not persisted, so the declarations are always applied in full at least once
+     * after a restart.
+     */
+    private transient AppliedJobState appliedJobState;
 
     @Deprecated
     public DeclarativeJobPropertyTrackerAction(@CheckForNull List<JobProperty> rawJobProperties,
@@ -99,6 +121,7 @@ public class DeclarativeJobPropertyTrackerAction extends InvisibleAction {
         this.triggers.addAll(copyFrom.getTriggers());
         this.parameters.addAll(copyFrom.getParameters());
         this.options.addAll(copyFrom.getOptions());
+        this.fingerprint = copyFrom.getFingerprint();
     }
 
     public Set<String> getJobProperties() {
@@ -117,12 +140,103 @@ public class DeclarativeJobPropertyTrackerAction extends InvisibleAction {
         return Collections.unmodifiableSet(options);
     }
 
+    @CheckForNull
+    public String getFingerprint() {
+        return fingerprint;
+    }
+
+    @Restricted(NoExternalUse.class)
+    public void setFingerprint(@CheckForNull String fingerprint) {
+        this.fingerprint = fingerprint;
+    }
+
+    @Restricted(NoExternalUse.class)
+    public void setAppliedJobState(@CheckForNull AppliedJobState appliedJobState) {
+        this.appliedJobState = appliedJobState;
+    }
+
+    /**
+     * Whether the given declarations have already been applied to the job, and the job hasn't changed since.
+     *
+     * @param fingerprint The fingerprint of the current declarations.
+     * @param jobState The current job configuration.
+     */
+    @Restricted(NoExternalUse.class)
+    public boolean isUpToDate(@CheckForNull String fingerprint, @NonNull AppliedJobState jobState) {
+        return fingerprint != null && fingerprint.equals(this.fingerprint) && jobState.isSameAs(appliedJobState);
+    }
+
     @Override
     public String toString() {
         return "DeclarativeJobPropertyTrackerAction[jobProperties:" + jobProperties
                 + ",triggers:" + triggers
                 + ",parameters:" + parameters
                 + ",options:" + options
+                + ",fingerprint:" + fingerprint
                 + "]";
     }
+
+    /**
+     * The parts of a job's configuration which the declarations are applied to: the instances of its properties and of
+     * any other objects given, which are replaced when they're reconfigured, and the number of times the job has been
+     * saved, which also catches changes made to those instances in place.
+     */
+    @Restricted(NoExternalUse.class)
+    public static final class AppliedJobState {
+        private static final Cache<Job<?, ?>, AtomicLong> MODIFICATIONS = CacheBuilder.newBuilder().weakKeys().build();
+
+        private final long modifications;
+        private final List<WeakReference<Object>> instances = new ArrayList<>();
+        private final List<Object> values;
+
+        /**
+         * @param job The job.
+         * @param instances Objects other than the job's properties whose identity is part of the configuration. Null
+         *                  elements are ignored.
+         * @param values Plain values that are part of the configuration, compared with equals.
+         */
+        public AppliedJobState(@NonNull Job<?, ?> job, @NonNull List<?> instances, @NonNull List<?> values) {
+            this.modifications = modificationsOf(job).get();
+            for (Object property : job.getAllProperties()) {
+                this.instances.add(new WeakReference<>(property));
+            }
+            for (Object instance : instances) {
+                // Left out if missing, so that a cleared reference can't be mistaken for one that's still missing.
+                if (instance != null) {
+                    this.instances.add(new WeakReference<>(instance));
+                }
+            }
+            this.values = new ArrayList<>(values);
+        }
+
+        /**
+         * Whether the configuration is the same as the given earlier one.
+         */
+        public boolean isSameAs(@CheckForNull AppliedJobState other) {
+            if (other == null || modifications != other.modifications || !values.equals(other.values) ||
+                    instances.size() != other.instances.size()) {
+                return false;
+            }
+            for (int i = 0; i < instances.size(); i++) {
+                if (instances.get(i).get() != other.instances.get(i).get()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static AtomicLong modificationsOf(Job<?, ?> job) {
+            return MODIFICATIONS.asMap().computeIfAbsent(job, k -> new AtomicLong());
+        }
+
+        @Extension
+        public static final class CountModifications extends SaveableListener {
+            @Override
+            public void onChange(Saveable o, XmlFile file) {
+                if (o instanceof Job) {
+                    modificationsOf((Job<?, ?>) o).incrementAndGet();
+                }
+            }
+        }
+    }
 }
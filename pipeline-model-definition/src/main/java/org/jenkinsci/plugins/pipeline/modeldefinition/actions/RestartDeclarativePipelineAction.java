@@ -35,9 +35,6 @@ import jenkins.model.ParameterizedJobMixIn;
 import jenkins.model.TransientActionFactory;
 import net.sf.json.JSONObject;
 import org.acegisecurity.AccessDeniedException;
-import org.jenkinsci.plugins.pipeline.StageStatus;
-import org.jenkinsci.plugins.pipeline.modeldefinition.Utils;
-import org.jenkinsci.plugins.pipeline.modeldefinition.ast.ModelASTStage;
 import org.jenkinsci.plugins.pipeline.modeldefinition.causes.RestartDeclarativePipelineCause;
 import org.jenkinsci.plugins.pipeline.modeldefinition.options.impl.DisableRestartFromStage;
 import org.jenkinsci.plugins.workflow.cps.CpsFlowExecution;
@@ -155,22 +152,17 @@ public class RestartDeclarativePipelineAction implements Action {
 
     @Exported
     public List<String> getRestartableStages() {
-        List<String> stages = new ArrayList<>();
+        RestartableStagesAction summary = run.getAction(RestartableStagesAction.class);
+        if (summary != null) {
+            return new ArrayList<>(summary.getStages());
+        }
         FlowExecution execution = getExecution();
-        if (execution != null) {
-            ExecutionModelAction execAction = run.getAction(ExecutionModelAction.class);
-            if (execAction != null) {
-                if (execAction.getStages() != null) {
-                    for (ModelASTStage s : execAction.getStages().getStages()) {
-                        if (!Utils.stageHasStatusOf(s.getName(), execution,
-                                StageStatus.getSkippedForFailure(), StageStatus.getSkippedForUnstable())) {
-                            stages.add(s.getName());
-                        }
-                    }
-                }
-            }
+        if (execution == null) {
+            return new ArrayList<>();
         }
-        return stages;
+        // Running builds, and runs from before the summary was recorded at completion time. This is a read, often
+        // through the remote API, so don't save the run here.
+        return RestartableStagesAction.computeRestartableStages(run, execution);
     }
 
     public String getCheckUrl() {
@@ -0,0 +1,119 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, CloudBees, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.jenkinsci.plugins.pipeline.modeldefinition.actions;
+
+import hudson.Extension;
+import hudson.model.InvisibleAction;
+import hudson.model.Run;
+import hudson.model.TaskListener;
+import hudson.model.listeners.RunListener;
+import org.jenkinsci.plugins.pipeline.StageStatus;
+import org.jenkinsci.plugins.pipeline.modeldefinition.Utils;
+import org.jenkinsci.plugins.pipeline.modeldefinition.ast.ModelASTStage;
+import org.jenkinsci.plugins.workflow.flow.FlowExecution;
+import org.jenkinsci.plugins.workflow.flow.FlowExecutionOwner;
+import org.jenkinsci.plugins.workflow.job.WorkflowRun;
+import org.kohsuke.accmod.Restricted;
+import org.kohsuke.accmod.restrictions.NoExternalUse;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Records which top-level stages of a completed Declarative run can be restarted, so that
+ * {@link RestartDeclarativePipelineAction} doesn't need to load and scan the run's flow graph to find out.
+ */
+@Restricted(NoExternalUse.class)
+public class RestartableStagesAction extends InvisibleAction {
+    private static final Logger LOGGER = Logger.getLogger(RestartableStagesAction.class.getName());
+
+    private final List<String> stages;
+
+    public RestartableStagesAction(@NonNull List<String> stages) {
+        this.stages = new ArrayList<>(stages);
+    }
+
+    @NonNull
+    public List<String> getStages() {
+        return Collections.unmodifiableList(stages);
+    }
+
+    /**
+     * Determines the restartable stages by looking at the stage status tags in the flow graph - i.e., every top-level
+     * stage that wasn't skipped due to an earlier failure or unstable result.
+     */
+    @NonNull
+    static List<String> computeRestartableStages(@NonNull Run<?, ?> run, @NonNull FlowExecution execution) {
+        List<String> stages = new ArrayList<>();
+        ExecutionModelAction execAction = run.getAction(ExecutionModelAction.class);
+        if (execAction != null && execAction.getStages() != null) {
+            for (ModelASTStage s : execAction.getStages().getStages()) {
+                if (!Utils.stageHasStatusOf(s.getName(), execution,
+                        StageStatus.getSkippedForFailure(), StageStatus.getSkippedForUnstable())) {
+                    stages.add(s.getName());
+                }
+            }
+        }
+        return stages;
+    }
+
+    /**
+     * Computes and saves the restartable stages for a run which has just completed.
+     */
+    private static void record(@NonNull Run<?, ?> run, @NonNull FlowExecution execution) {
+        run.replaceAction(new RestartableStagesAction(computeRestartableStages(run, execution)));
+        try {
+            run.save();
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Failed to save restartable stages for " + run, e);
+        }
+    }
+
+    @CheckForNull
+    private static FlowExecution getExecution(@NonNull WorkflowRun run) {
+        FlowExecutionOwner owner = run.asFlowExecutionOwner();
+        return owner == null ? null : owner.getOrNull();
+    }
+
+    @Extension
+    public static final class RecordOnCompletion extends RunListener<WorkflowRun> {
+        @Override
+        public void onCompleted(WorkflowRun run, @NonNull TaskListener listener) {
+            if (run.getAction(ExecutionModelAction.class) == null) {
+                return;
+            }
+            FlowExecution execution = getExecution(run);
+            if (execution != null) {
+                record(run, execution);
+            }
+        }
+    }
+}
@@ -0,0 +1,234 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, CloudBees, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.jenkinsci.plugins.pipeline.modeldefinition.actions;
+
+import hudson.Extension;
+import hudson.model.InvisibleAction;
+import hudson.model.TaskListener;
+import hudson.model.listeners.RunListener;
+import org.jenkinsci.plugins.pipeline.StageStatus;
+import org.jenkinsci.plugins.pipeline.modeldefinition.StageDurations;
+import org.jenkinsci.plugins.pipeline.modeldefinition.ast.ModelASTOption;
+import org.jenkinsci.plugins.pipeline.modeldefinition.ast.ModelASTOptions;
+import org.jenkinsci.plugins.pipeline.modeldefinition.ast.ModelASTPipelineDef;
+import org.jenkinsci.plugins.pipeline.modeldefinition.ast.ModelASTStage;
+import org.jenkinsci.plugins.pipeline.modeldefinition.ast.ModelASTStages;
+import org.jenkinsci.plugins.workflow.actions.LabelAction;
+import org.jenkinsci.plugins.workflow.actions.ThreadNameAction;
+import org.jenkinsci.plugins.workflow.actions.TimingAction;
+import org.jenkinsci.plugins.workflow.cps.nodes.StepStartNode;
+import org.jenkinsci.plugins.workflow.flow.FlowExecution;
+import org.jenkinsci.plugins.workflow.flow.FlowExecutionOwner;
+import org.jenkinsci.plugins.workflow.graph.BlockEndNode;
+import org.jenkinsci.plugins.workflow.graph.BlockStartNode;
+import org.jenkinsci.plugins.workflow.graph.FlowNode;
+import org.jenkinsci.plugins.workflow.graphanalysis.DepthFirstScanner;
+import org.jenkinsci.plugins.workflow.job.WorkflowRun;
+import org.jenkinsci.plugins.workflow.support.steps.StageStep;
+import org.kohsuke.accmod.Restricted;
+import org.kohsuke.accmod.restrictions.NoExternalUse;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Records how long each parallel branch of a completed Declarative run using the {@code longestBranchesFirst} option
+ * took, so that {@link StageDurations} doesn't need to load and scan the flow graphs of earlier runs to order the
+ * branches of later ones.
+ */
+@Restricted(NoExternalUse.class)
+public class StageDurationsAction extends InvisibleAction {
+    private static final Logger LOGGER = Logger.getLogger(StageDurationsAction.class.getName());
+
+    /**
+     * Branch durations in milliseconds, keyed by the name of the stage the branches are in, then by branch name.
+     */
+    private final Map<String, Map<String, Long>> durations;
+
+    public StageDurationsAction(@NonNull Map<String, Map<String, Long>> durations) {
+        this.durations = new HashMap<>(durations);
+    }
+
+    /**
+     * The durations of the branches which ran, rather than being skipped, in the given parallel stage.
+     *
+     * @return Durations in milliseconds, keyed by branch name.
+     */
+    @NonNull
+    public Map<String, Long> getBranchDurations(@NonNull String parallelStage) {
+        Map<String, Long> branches = durations.get(parallelStage);
+        return branches == null ? Collections.emptyMap() : Collections.unmodifiableMap(branches);
+    }
+
+    /**
+     * Determines the branch durations from the flow graph. A branch contains a stage with the same name, so the longer
+     * of the two is used, and a branch whose stage was skipped isn't included.
+     */
+    @NonNull
+    static Map<String, Map<String, Long>> computeDurations(@NonNull FlowExecution execution) {
+        Map<String, Map<String, Long>> durations = new HashMap<>();
+        Map<String, Set<String>> skipped = new HashMap<>();
+        for (FlowNode node : new DepthFirstScanner().allNodes(execution)) {
+            if (!(node instanceof BlockEndNode)) {
+                continue;
+            }
+            BlockStartNode start = ((BlockEndNode<?>) node).getStartNode();
+            String[] branch = start.getAction(LabelAction.class) != null ? parallelStageAndBranchOf(start) : null;
+            if (branch == null) {
+                continue;
+            }
+            if (StageStatus.isSkippedStage(start)) {
+                skipped.computeIfAbsent(branch[0], k -> new HashSet<>()).add(branch[1]);
+            } else {
+                long duration = TimingAction.getStartTime(node) - TimingAction.getStartTime(start);
+                durations.computeIfAbsent(branch[0], k -> new HashMap<>()).merge(branch[1], duration, Math::max);
+            }
+        }
+        for (Map.Entry<String, Set<String>> e : skipped.entrySet()) {
+            Map<String, Long> branches = durations.get(e.getKey());
+            if (branches != null) {
+                branches.keySet().removeAll(e.getValue());
+            }
+        }
+        return durations;
+    }
+
+    /**
+     * Get the enclosing parallel stage and branch names for the start of a parallel branch, or of the stage inside it.
+     *
+     * @return The stage and branch names, or null if the node isn't a branch or the stage of a branch.
+     */
+    @CheckForNull
+    private static String[] parallelStageAndBranchOf(@NonNull BlockStartNode start) {
+        List<FlowNode> blocks = new ArrayList<>();
+        blocks.add(start);
+        for (FlowNode enclosing : start.iterateEnclosingBlocks()) {
+            blocks.add(enclosing);
+        }
+        String branch = null;
+        for (int i = 0; i < blocks.size(); i++) {
+            FlowNode block = blocks.get(i);
+            if (block.getAction(LabelAction.class) == null) {
+                continue;
+            }
+            ThreadNameAction threadName = block.getAction(ThreadNameAction.class);
+            if (threadName != null) {
+                if (branch != null) {
+                    return null;
+                }
+                branch = threadName.getThreadName();
+            } else if (isStageStart(block)) {
+                if (branch != null) {
+                    return new String[] {block.getDisplayName(), branch};
+                }
+                if (i > 0) {
+                    // A stage in a sequential list, rather than the stage of a branch.
+                    return null;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static boolean isStageStart(@NonNull FlowNode node) {
+        return node instanceof StepStartNode && ((StepStartNode) node).getDescriptor() instanceof StageStep.DescriptorImpl;
+    }
+
+    /**
+     * Whether the {@code longestBranchesFirst} option is used anywhere in the given model, either for the whole
+     * pipeline or for a stage.
+     */
+    static boolean usesLongestBranchesFirst(@NonNull ExecutionModelAction model) {
+        for (ModelASTPipelineDef pipelineDef : model.getPipelineDefs()) {
+            if (hasLongestBranchesFirst(pipelineDef.getOptions()) || usesLongestBranchesFirst(pipelineDef.getStages())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean usesLongestBranchesFirst(@CheckForNull ModelASTStages stages) {
+        if (stages == null) {
+            return false;
+        }
+        for (ModelASTStage stage : stages.getStages()) {
+            if (hasLongestBranchesFirst(stage.getOptions()) || usesLongestBranchesFirst(stage.getStages()) ||
+                    usesLongestBranchesFirst(stage.getParallel()) ||
+                    (stage.getMatrix() != null && usesLongestBranchesFirst(stage.getMatrix().getStages()))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean hasLongestBranchesFirst(@CheckForNull ModelASTOptions options) {
+        if (options != null) {
+            for (ModelASTOption option : options.getOptions()) {
+                if ("longestBranchesFirst".equals(option.getName())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Computes and saves the branch durations for a run which has just completed.
+     */
+    private static void record(@NonNull WorkflowRun run, @NonNull FlowExecution execution) {
+        run.replaceAction(new StageDurationsAction(computeDurations(execution)));
+        try {
+            run.save();
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Failed to save stage durations for " + run, e);
+        }
+    }
+
+    @Extension
+    public static final class RecordOnCompletion extends RunListener<WorkflowRun> {
+        @Override
+        public void onCompleted(WorkflowRun run, @NonNull TaskListener listener) {
+            ExecutionModelAction model = run.getAction(ExecutionModelAction.class);
+            if (model == null || !usesLongestBranchesFirst(model)) {
+                return;
+            }
+            FlowExecutionOwner owner = run.asFlowExecutionOwner();
+            FlowExecution execution = owner == null ? null : owner.getOrNull();
+            if (execution != null) {
+                record(run, execution);
+            }
+        }
+    }
+}
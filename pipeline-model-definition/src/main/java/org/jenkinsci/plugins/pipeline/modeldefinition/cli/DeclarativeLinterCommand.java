@@ -31,14 +31,20 @@ import org.apache.commons.io.IOUtils;
 import org.jenkinsci.plugins.pipeline.modeldefinition.ast.ModelASTPipelineDef;
 import org.jenkinsci.plugins.pipeline.modeldefinition.endpoints.ModelConverterAction;
 import org.jenkinsci.plugins.pipeline.modeldefinition.parser.Converter;
+import org.jenkinsci.plugins.pipeline.modeldefinition.validator.ModelValidatorImpl;
+import org.kohsuke.args4j.Option;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import static jenkins.model.Jenkins.READ;
 
 @Extension
 public class DeclarativeLinterCommand extends CLICommand {
+    @Option(name = "-parallel", usage = "Validate independent sections of the Pipeline in parallel.")
+    public boolean parallel = ModelValidatorImpl.PARALLEL_LINTING;
+
     @Override
     public String getShortDescription() {
         return Messages.DeclarativeLinterCommand_ShortDescription();
@@ -54,7 +60,7 @@ public class DeclarativeLinterCommand extends CLICommand {
         if (script != null) {
             try {
 
-                ModelASTPipelineDef pipelineDef = Converter.scriptToPipelineDef(script);
+                ModelASTPipelineDef pipelineDef = Converter.scriptToPipelineDef(script, Collections.emptyList(), parallel);
                 if (pipelineDef != null) {
                     output.add("Jenkinsfile successfully validated.");
                     retVal = 0;
@@ -23,6 +23,7 @@
  */
 package org.jenkinsci.plugins.pipeline.modeldefinition.endpoints;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.github.fge.jsonschema.core.tree.SimpleJsonTree;
 import com.github.fge.jackson.JsonLoader;
@@ -37,13 +38,16 @@ import net.sf.json.JSONObject;
 import org.apache.commons.lang3.StringUtils;
 import org.codehaus.groovy.control.MultipleCompilationErrorsException;
 import org.codehaus.groovy.control.messages.SyntaxErrorMessage;
+import org.jenkinsci.plugins.pipeline.modeldefinition.ast.ModelASTJSONWriter;
 import org.jenkinsci.plugins.pipeline.modeldefinition.ast.ModelASTPipelineDef;
 import org.jenkinsci.plugins.pipeline.modeldefinition.ast.ModelASTStep;
 import org.jenkinsci.plugins.pipeline.modeldefinition.parser.Converter;
 import org.jenkinsci.plugins.pipeline.modeldefinition.parser.JSONParser;
 import org.jenkinsci.plugins.pipeline.modeldefinition.validator.ErrorCollector;
+import org.jenkinsci.plugins.pipeline.modeldefinition.validator.ModelValidatorImpl;
 import org.kohsuke.stapler.HttpResponse;
 import org.kohsuke.stapler.StaplerRequest2;
+import org.kohsuke.stapler.StaplerResponse2;
 import org.kohsuke.stapler.interceptor.RequirePOST;
 
 import jakarta.servlet.FilterChain;
@@ -54,6 +58,7 @@ import java.io.IOException;
 import java.io.PrintWriter;
 import java.io.StringWriter;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -133,8 +138,7 @@ public class ModelConverterAction implements RootAction {
             try {
                 ModelASTPipelineDef pipelineDef = Converter.scriptToPipelineDef(groovyAsString);
                 if (pipelineDef != null) {
-                    result.accumulate("result", "success");
-                    result.accumulate("json", pipelineDef.toJSON());
+                    return okJSON(pipelineDef);
                 } else {
                     reportFailure(result, "Jenkinsfile content '" + groovyAsString + "' did not contain the 'pipeline' step");
                 }
@@ -148,6 +152,31 @@ public class ModelConverterAction implements RootAction {
         return HttpResponses.okJSON(result);
     }
 
+    /**
+     * The same response as {@link HttpResponses#okJSON(JSONObject)} with a successful result and the given model as
+     * its {@code json}, but with the model streamed straight to the response instead of built up as a
+     * {@link JSONObject} first.
+     */
+    private static HttpResponse okJSON(final ModelASTPipelineDef pipelineDef) {
+        return new HttpResponse() {
+            @Override
+            public void generateResponse(StaplerRequest2 req, StaplerResponse2 rsp, Object node) throws IOException, ServletException {
+                rsp.setStatus(HttpServletResponse.SC_OK);
+                rsp.setContentType("application/json;charset=UTF-8");
+                try (JsonGenerator generator = ModelASTJSONWriter.createGenerator(rsp.getWriter())) {
+                    generator.writeStartObject();
+                    generator.writeStringField("status", "ok");
+                    generator.writeObjectFieldStart("data");
+                    generator.writeStringField("result", "success");
+                    generator.writeFieldName("json");
+                    pipelineDef.writeJSON(generator);
+                    generator.writeEndObject();
+                    generator.writeEndObject();
+                }
+            }
+        };
+    }
+
     @SuppressWarnings("unused")
     @RequirePOST
     public HttpResponse doStepsToJson(StaplerRequest2 req) {
@@ -218,7 +247,7 @@ public class ModelConverterAction implements RootAction {
                         if (jenkinsFile.length() > 0) {
                             jenkinsFile.append('\n');
                         }
-                        jenkinsFile.append(step.toGroovy());
+                        step.toGroovy(jenkinsFile);
                     }
                     result.accumulate("jenkinsfile", jenkinsFile.toString());
                 }
@@ -232,6 +261,14 @@ public class ModelConverterAction implements RootAction {
         return HttpResponses.okJSON(result);
     }
 
+    /**
+     * Validation requests are validated in parallel if requested with the {@code parallelValidation} parameter, or
+     * if parallel linting has been enabled globally.
+     */
+    private static boolean isParallelValidation(StaplerRequest2 req) {
+        return ModelValidatorImpl.PARALLEL_LINTING || Boolean.parseBoolean(req.getParameter("parallelValidation"));
+    }
+
     @SuppressWarnings("unused")
     @RequirePOST
     public HttpResponse doValidateJenkinsfile(StaplerRequest2 req) {
@@ -243,7 +280,7 @@ public class ModelConverterAction implements RootAction {
 
         if (!StringUtils.isEmpty(groovyAsString)) {
             try {
-                ModelASTPipelineDef pipelineDef = Converter.scriptToPipelineDef(groovyAsString);
+                ModelASTPipelineDef pipelineDef = Converter.scriptToPipelineDef(groovyAsString, Collections.emptyList(), isParallelValidation(req));
                 if (pipelineDef != null) {
                     result.accumulate("result", "success");
                 } else {
@@ -280,7 +317,7 @@ public class ModelConverterAction implements RootAction {
                 if (pipelineDef != null) {
                     if (!collectErrors(result, parser.getErrorCollector()) && result.isEmpty()) {
                         try {
-                            Converter.scriptToPipelineDef(pipelineDef.toPrettyGroovy());
+                            Converter.scriptToPipelineDef(pipelineDef.toPrettyGroovy(), Collections.emptyList(), isParallelValidation(req));
                             result.accumulate("result", "success");
                         } catch (Exception e) {
                             JSONObject jfErrors = new JSONObject();
@@ -313,7 +350,7 @@ public class ModelConverterAction implements RootAction {
 
         if (groovyAsString != null) {
             try {
-                if (Converter.scriptToPipelineDef(groovyAsString) != null) {
+                if (Converter.scriptToPipelineDef(groovyAsString, Collections.emptyList(), isParallelValidation(req)) != null) {
                     output.add("Jenkinsfile successfully validated.");
                 } else {
                    output.add("Jenkinsfile content '" + groovyAsString + "' did not contain the 'pipeline' step");
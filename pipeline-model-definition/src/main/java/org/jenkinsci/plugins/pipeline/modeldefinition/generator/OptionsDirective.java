@@ -51,7 +51,7 @@ import java.util.stream.Collectors;
 
 public class OptionsDirective extends AbstractDirective<OptionsDirective> {
     public static final List<String> ADDITIONAL_BLOCKED_STEPS = ImmutableList.of("script", "ws", "withEnv", "withCredentials",
-            "withContext", "waitUntil", "catchError");
+            "withContext", "waitUntil", "catchError", "declarativeBranchSlot");
 
     private List<Describable> options = new ArrayList<>();
 
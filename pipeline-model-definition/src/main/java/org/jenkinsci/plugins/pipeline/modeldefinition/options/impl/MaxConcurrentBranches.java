@@ -0,0 +1,68 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, CloudBees, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.jenkinsci.plugins.pipeline.modeldefinition.options.impl;
+
+import hudson.Extension;
+import org.jenkinsci.Symbol;
+import org.jenkinsci.plugins.pipeline.modeldefinition.options.DeclarativeOption;
+import org.jenkinsci.plugins.pipeline.modeldefinition.options.DeclarativeOptionDescriptor;
+import org.kohsuke.stapler.DataBoundConstructor;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/**
+ * Limits how many branches of a {@code parallel} or {@code matrix} stage run at once. Branches beyond the limit wait
+ * for a running branch to finish before they start. When used at the top level, applies to every {@code parallel} and
+ * {@code matrix} stage that doesn't set its own limit.
+ */
+public class MaxConcurrentBranches extends DeclarativeOption {
+    private int maxConcurrentBranches;
+
+    @DataBoundConstructor
+    public MaxConcurrentBranches(int maxConcurrentBranches) {
+        this.maxConcurrentBranches = maxConcurrentBranches;
+    }
+
+    /**
+     * The maximum number of branches to run at once. Zero or less means there's no limit.
+     */
+    public int getMaxConcurrentBranches() {
+        return maxConcurrentBranches;
+    }
+
+    @Extension @Symbol("maxConcurrentBranches")
+    public static class DescriptorImpl extends DeclarativeOptionDescriptor {
+        @Override
+        @NonNull
+        public String getDisplayName() {
+            return "Limit the number of parallel branches running at once";
+        }
+
+        @Override
+        public boolean canUseInStage() {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, CloudBees, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.jenkinsci.plugins.pipeline.modeldefinition.parser;
+
+import groovy.lang.GroovyClassLoader;
+import jenkins.model.Jenkins;
+import jenkins.util.SystemProperties;
+import org.codehaus.groovy.control.CompilerConfiguration;
+import org.jenkinsci.plugins.workflow.cps.GroovyShellDecorator;
+import org.kohsuke.accmod.Restricted;
+import org.kohsuke.accmod.restrictions.NoExternalUse;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Idle {@link GroovyClassLoader}s and {@link CompilerConfiguration}s for parsing Pipeline scripts outside of a running
+ * Pipeline, e.g. for the linter and converter endpoints, so that each request doesn't have to create a new class loader
+ * and run every {@link GroovyShellDecorator} to configure its imports.
+ *
+ * A context is only handed to one caller at a time. If none is idle, a new one is created, and at most
+ * {@link #MAX_IDLE} are kept for reuse. Contexts created before the installed plugins or the registered
+ * {@link GroovyShellDecorator}s changed are discarded rather than reused.
+ */
+@Restricted(NoExternalUse.class)
+public final class CompilationContextPool {
+    /**
+     * Maximum number of idle compilation contexts to keep. Set to 0 to create a new context for every compilation.
+     */
+    public static final int MAX_IDLE = SystemProperties.getInteger(CompilationContextPool.class.getName() + ".maxIdle", 4);
+
+    private static final BlockingQueue<Context> IDLE = MAX_IDLE > 0 ? new ArrayBlockingQueue<>(MAX_IDLE) : null;
+
+    private CompilationContextPool() {
+    }
+
+    /**
+     * Get a compilation context, reusing an idle one if possible. It must be passed to {@link #release} when the
+     * compilation is finished.
+     */
+    @NonNull
+    public static Context borrow() {
+        ClassLoader parent = Jenkins.get().getPluginManager().uberClassLoader;
+        List<GroovyShellDecorator> decorators = new ArrayList<>(GroovyShellDecorator.all());
+        if (IDLE != null) {
+            Context context;
+            while ((context = IDLE.poll()) != null) {
+                if (context.isCurrent(parent, decorators)) {
+                    return context;
+                }
+            }
+        }
+        return new Context(parent, decorators);
+    }
+
+    /**
+     * Return a context obtained from {@link #borrow} so that it can be reused.
+     */
+    public static void release(@CheckForNull Context context) {
+        if (context != null && IDLE != null) {
+            // Dropped if there are already enough idle contexts.
+            IDLE.offer(context);
+        }
+    }
+
+    /**
+     * Discard all idle contexts.
+     */
+    public static void clear() {
+        if (IDLE != null) {
+            IDLE.clear();
+        }
+    }
+
+    /**
+     * The number of idle contexts currently available for reuse.
+     */
+    public static int getIdleCount() {
+        return IDLE != null ? IDLE.size() : 0;
+    }
+
+    /**
+     * A class loader and compiler configuration which can be used for one compilation at a time.
+     */
+    public static final class Context {
+        private final ClassLoader parent;
+        private final List<GroovyShellDecorator> decorators;
+        private final GroovyClassLoader classLoader;
+        private final CompilerConfiguration configuration;
+
+        private Context(ClassLoader parent, List<GroovyShellDecorator> decorators) {
+            this.parent = parent;
+            this.decorators = decorators;
+            this.classLoader = new GroovyClassLoader(parent);
+            this.configuration = Converter.makeCompilerConfiguration();
+        }
+
+        private boolean isCurrent(ClassLoader parent, List<GroovyShellDecorator> decorators) {
+            return this.parent == parent && this.decorators.equals(decorators);
+        }
+
+        @NonNull
+        public GroovyClassLoader getClassLoader() {
+            return classLoader;
+        }
+
+        @NonNull
+        public CompilerConfiguration getConfiguration() {
+            return configuration;
+        }
+    }
+}
@@ -11,6 +11,8 @@ import org.codehaus.groovy.control.CompilerConfiguration;
 import org.codehaus.groovy.control.SourceUnit;
 import org.codehaus.groovy.control.customizers.CompilationCustomizer;
 import org.codehaus.groovy.control.customizers.ImportCustomizer;
+import org.jenkinsci.plugins.pipeline.modeldefinition.SyntheticStageGraphListener;
+import org.jenkinsci.plugins.pipeline.modeldefinition.ast.ModelASTPipelineDef;
 import org.jenkinsci.plugins.workflow.cps.CpsFlowExecution;
 import org.jenkinsci.plugins.workflow.cps.GlobalVariable;
 import org.jenkinsci.plugins.workflow.cps.GroovyShellDecorator;
@@ -75,7 +77,10 @@ public class GroovyShellDecoratorImpl extends GroovyShellDecorator {
 
                 }
                 if (doModelParsing) {
-                    new ModelParser(source, execution).parse();
+                    ModelASTPipelineDef pipelineDef = new ModelParser(source, execution).parse();
+                    if (pipelineDef != null && execution != null) {
+                        SyntheticStageGraphListener.markDeclarative(execution);
+                    }
                 }
             }
         });
@@ -0,0 +1,210 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, CloudBees, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.jenkinsci.plugins.pipeline.modeldefinition.parser;
+
+import org.jenkinsci.plugins.pipeline.modeldefinition.ast.ModelASTAxis;
+import org.jenkinsci.plugins.pipeline.modeldefinition.ast.ModelASTExclude;
+import org.jenkinsci.plugins.pipeline.modeldefinition.ast.ModelASTExcludeAxis;
+import org.jenkinsci.plugins.pipeline.modeldefinition.ast.ModelASTKey;
+import org.jenkinsci.plugins.pipeline.modeldefinition.ast.ModelASTValue;
+import org.kohsuke.accmod.Restricted;
+import org.kohsuke.accmod.restrictions.NoExternalUse;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * The cells of a matrix: the cartesian product of its axes, minus any excluded combinations.
+ *
+ * Cells are enumerated lazily by index, in the same order as the axes are declared with the first axis varying
+ * fastest. Each exclude is compiled up front into one {@link BitSet} per axis holding the indexes of the values it
+ * matches, so checking whether a cell is excluded is a handful of bit lookups rather than a scan over value lists.
+ */
+@Restricted(NoExternalUse.class)
+public final class MatrixCellExpansion implements Iterable<Map<ModelASTKey, ModelASTValue>> {
+    private final ModelASTKey[] names;
+    private final ModelASTValue[][] values;
+    /**
+     * One entry per exclude that can match anything, holding a mask per axis. A null mask matches any value.
+     */
+    private final List<BitSet[]> excludes = new ArrayList<>();
+
+    public MatrixCellExpansion(@NonNull List<ModelASTAxis> axes, @NonNull List<ModelASTExclude> excludes) {
+        this.names = new ModelASTKey[axes.size()];
+        this.values = new ModelASTValue[axes.size()][];
+        for (int i = 0; i < axes.size(); i++) {
+            ModelASTAxis axis = axes.get(i);
+            names[i] = axis.getName();
+            // Duplicate values are rejected by validation, but a duplicate would only ever yield an identical cell.
+            List<ModelASTValue> distinct = new ArrayList<>();
+            for (ModelASTValue v : axis.getValues()) {
+                if (!distinct.contains(v)) {
+                    distinct.add(v);
+                }
+            }
+            values[i] = distinct.toArray(new ModelASTValue[0]);
+        }
+        for (ModelASTExclude exclude : excludes) {
+            BitSet[] masks = compile(exclude);
+            if (masks != null) {
+                this.excludes.add(masks);
+            }
+        }
+    }
+
+    /**
+     * Compiles an exclude into per-axis masks.
+     *
+     * @return The masks, or null if the exclude can never match a cell.
+     */
+    private BitSet[] compile(@NonNull ModelASTExclude exclude) {
+        BitSet[] masks = new BitSet[names.length];
+        for (ModelASTExcludeAxis excludeAxis : exclude.getExcludeAxes()) {
+            boolean inverse = excludeAxis.getInverse() != null && excludeAxis.getInverse();
+            int axis = indexOf(excludeAxis.getName());
+            if (axis < 0) {
+                // No cell has a value for an unknown axis, so "values" never matches and "notValues" always does.
+                if (inverse) {
+                    continue;
+                }
+                return null;
+            }
+            BitSet mask = new BitSet(values[axis].length);
+            for (int v = 0; v < values[axis].length; v++) {
+                if (inverse ^ excludeAxis.getValues().contains(values[axis][v])) {
+                    mask.set(v);
+                }
+            }
+            if (masks[axis] == null) {
+                masks[axis] = mask;
+            } else {
+                masks[axis].and(mask);
+            }
+        }
+        return masks;
+    }
+
+    private int indexOf(ModelASTKey name) {
+        for (int i = 0; i < names.length; i++) {
+            if (names[i].equals(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private boolean isExcluded(int[] cell) {
+        for (BitSet[] masks : excludes) {
+            boolean matches = true;
+            for (int axis = 0; axis < masks.length && matches; axis++) {
+                matches = masks[axis] == null || masks[axis].get(cell[axis]);
+            }
+            if (matches) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Advances the given indexes to the next combination, first axis fastest.
+     *
+     * @return false once every combination has been visited.
+     */
+    private boolean advance(int[] cell) {
+        for (int axis = 0; axis < cell.length; axis++) {
+            if (++cell[axis] < values[axis].length) {
+                return true;
+            }
+            cell[axis] = 0;
+        }
+        return false;
+    }
+
+    private boolean hasValues() {
+        for (ModelASTValue[] v : values) {
+            if (v.length == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @NonNull
+    private Map<ModelASTKey, ModelASTValue> toMap(int[] cell) {
+        // using LinkedHashMap to maintain insertion order
+        // axes will be added in the order they are declared
+        Map<ModelASTKey, ModelASTValue> result = new LinkedHashMap<>();
+        for (int axis = 0; axis < cell.length; axis++) {
+            result.put(names[axis], values[axis][cell[axis]]);
+        }
+        return result;
+    }
+
+    @NonNull
+    @Override
+    public Iterator<Map<ModelASTKey, ModelASTValue>> iterator() {
+        return new Iterator<Map<ModelASTKey, ModelASTValue>>() {
+            private final int[] cell = new int[names.length];
+            private boolean hasNext = hasValues() && seek(true);
+
+            /**
+             * Moves to the next cell that is not excluded, starting from the current one if {@code includeCurrent}.
+             */
+            private boolean seek(boolean includeCurrent) {
+                if (!includeCurrent && !advance(cell)) {
+                    return false;
+                }
+                while (isExcluded(cell)) {
+                    if (!advance(cell)) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return hasNext;
+            }
+
+            @Override
+            public Map<ModelASTKey, ModelASTValue> next() {
+                if (!hasNext) {
+                    throw new NoSuchElementException();
+                }
+                Map<ModelASTKey, ModelASTValue> result = toMap(cell);
+                hasNext = seek(false);
+                return result;
+            }
+        };
+    }
+}
@@ -24,6 +24,8 @@
 
 package org.jenkinsci.plugins.pipeline.modeldefinition.properties;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import hudson.Extension;
 import hudson.model.Run;
 import hudson.model.TaskListener;
@@ -47,6 +49,9 @@ import org.kohsuke.stapler.QueryParameter;
 import edu.umd.cs.findbugs.annotations.CheckForNull;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -94,6 +99,61 @@ public class PreserveStashesJobProperty extends OptionalJobProperty<WorkflowJob>
         }
     }
 
+    /**
+     * Numbers of the completed builds of each job whose stashes are currently preserved, so that completing a build
+     * only needs to load the builds which fall out of the retention window rather than every recent build.
+     */
+    private static final Cache<WorkflowJob, RetainedBuilds> RETAINED_BUILDS = CacheBuilder.newBuilder().weakKeys().build();
+
+    @NonNull
+    private static RetainedBuilds retainedBuildsFor(@NonNull WorkflowJob j) {
+        return RETAINED_BUILDS.asMap().computeIfAbsent(j, RetainedBuilds::seed);
+    }
+
+    static final class RetainedBuilds {
+        private final TreeSet<Integer> numbers = new TreeSet<>();
+
+        /**
+         * Seeds the index the first time a job is seen, from the most recent completed builds. Some of these may have
+         * had their stashes cleared already, which is harmless - clearing them again when they're evicted is a no-op.
+         */
+        static RetainedBuilds seed(@NonNull WorkflowJob j) {
+            RetainedBuilds retained = new RetainedBuilds();
+            // The "+1" is to ensure that we look at one more than the maximum possible number of builds with saved stashes.
+            for (WorkflowRun build : j.getBuilds().completedOnly().limit(MAX_SAVED_STASHES + 1)) {
+                retained.numbers.add(build.getNumber());
+            }
+            return retained;
+        }
+
+        /**
+         * Records a completed build.
+         *
+         * @return true if the build is one of the newest {@code buildCount} completed builds and so keeps its stashes.
+         */
+        synchronized boolean retain(int number, int buildCount) {
+            numbers.add(number);
+            if (numbers.tailSet(number, true).size() <= buildCount) {
+                return true;
+            }
+            numbers.remove(number);
+            return false;
+        }
+
+        /**
+         * Removes the builds which have fallen out of the newest {@code buildCount} completed builds.
+         *
+         * @return The numbers of the removed builds, whose stashes should now be cleared.
+         */
+        synchronized List<Integer> evict(int buildCount) {
+            List<Integer> evicted = new ArrayList<>();
+            while (numbers.size() > buildCount) {
+                evicted.add(numbers.pollFirst());
+            }
+            return evicted;
+        }
+    }
+
     @Extension
     public static final class SaveStashes extends StashManager.StashBehavior {
 
@@ -106,11 +166,7 @@ public class PreserveStashesJobProperty extends OptionalJobProperty<WorkflowJob>
                 if (prop != null) {
                     int bc = prop.getBuildCount();
                     if (bc > 0) {
-                        for (WorkflowRun recentRun : j.getBuilds().completedOnly().limit(bc)) {
-                            if (recentRun != null && recentRun.getNumber() == r.getNumber()) {
-                                return false;
-                            }
-                        }
+                        return !retainedBuildsFor(j).retain(r.getNumber(), bc);
                     }
                 }
             }
@@ -126,17 +182,32 @@ public class PreserveStashesJobProperty extends OptionalJobProperty<WorkflowJob>
                 WorkflowJob j = ((WorkflowRun) r).getParent();
                 PreserveStashesJobProperty prop = j.getProperty(PreserveStashesJobProperty.class);
                 if (prop != null && prop.getBuildCount() > 0) {
-                    // The "+1" is to ensure that we look at one more than the maximum possible number of builds with saved stashes.
-                    for (WorkflowRun build : j.getBuilds().completedOnly().limit(MAX_SAVED_STASHES + 1)) {
-                        try {
-                            StashManager.maybeClearAll(build);
-                        } catch (IOException x) {
-                            LOGGER.log(Level.WARNING, "failed to clean up stashes from " + build, x);
+                    int bc = prop.getBuildCount();
+                    RetainedBuilds retained = retainedBuildsFor(j);
+                    if (!retained.retain(r.getNumber(), bc)) {
+                        // Completed after newer builds, so it's already outside the window.
+                        clearStashes((WorkflowRun) r);
+                    }
+                    for (int number : retained.evict(bc)) {
+                        WorkflowRun build = j.getBuildByNumber(number);
+                        if (build != null) {
+                            clearStashes(build);
                         }
                     }
+                } else {
+                    // Start from the job's builds again if the property is turned back on.
+                    RETAINED_BUILDS.invalidate(j);
                 }
             }
         }
+
+        private static void clearStashes(@NonNull WorkflowRun build) {
+            try {
+                StashManager.maybeClearAll(build);
+            } catch (IOException x) {
+                LOGGER.log(Level.WARNING, "failed to clean up stashes from " + build, x);
+            }
+        }
     }
 
     @Extension
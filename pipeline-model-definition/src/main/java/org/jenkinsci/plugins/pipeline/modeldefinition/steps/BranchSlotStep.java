@@ -0,0 +1,263 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, CloudBees, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.jenkinsci.plugins.pipeline.modeldefinition.steps;
+
+import hudson.Extension;
+import hudson.model.Run;
+import org.kohsuke.accmod.Restricted;
+import org.kohsuke.accmod.restrictions.NoExternalUse;
+import org.jenkinsci.plugins.workflow.steps.BodyExecutionCallback;
+import org.jenkinsci.plugins.workflow.steps.Step;
+import org.jenkinsci.plugins.workflow.steps.StepContext;
+import org.jenkinsci.plugins.workflow.steps.StepDescriptor;
+import org.jenkinsci.plugins.workflow.steps.StepExecution;
+import org.kohsuke.stapler.DataBoundConstructor;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.io.Serializable;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * An internal step used to limit how many branches of a parallel stage run their bodies at once, as configured by the
+ * {@code maxConcurrentBranches} option. Every branch of the stage is wrapped in this step with the same group. Once
+ * the limit is reached, further branches wait in the order they started until a running branch finishes, without
+ * requesting agents or creating any further flow nodes.
+ */
+@Restricted(NoExternalUse.class)
+public final class BranchSlotStep extends Step implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final Logger LOGGER = Logger.getLogger(BranchSlotStep.class.getName());
+
+    private final String group;
+    private final int limit;
+
+    @DataBoundConstructor
+    public BranchSlotStep(String group, int limit) {
+        this.group = group;
+        this.limit = limit;
+    }
+
+    public String getGroup() {
+        return group;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    @Override
+    public StepExecution start(StepContext context) throws Exception {
+        Run<?, ?> run = context.get(Run.class);
+        return new Execution(context, run.getExternalizableId() + ":" + group, limit);
+    }
+
+    @Extension
+    public static final class DescriptorImpl extends StepDescriptor {
+
+        @Override
+        public boolean isAdvanced() {
+            return true;
+        }
+
+        @Override public String getFunctionName() {
+            return "declarativeBranchSlot";
+        }
+
+        @Override
+        @NonNull
+        public String getDisplayName() {
+            return "Wait for a free slot among the branches of a parallel stage";
+        }
+
+        @Override public boolean takesImplicitBlockArgument() {
+            return true;
+        }
+
+        @Override
+        public Set<? extends Class<?>> getRequiredContext() {
+            return Collections.singleton(Run.class);
+        }
+    }
+
+    public static final class Execution extends StepExecution {
+
+        private static final long serialVersionUID = 1L;
+
+        private final String key;
+        private final int limit;
+        private volatile boolean started;
+
+        Execution(StepContext context, String key, int limit) {
+            super(context);
+            this.key = key;
+            this.limit = limit;
+        }
+
+        @Override
+        public boolean start() throws Exception {
+            if (Slots.acquire(this)) {
+                startBody();
+            }
+            return false;
+        }
+
+        @Override
+        public void stop(@NonNull Throwable cause) throws Exception {
+            if (Slots.cancel(this)) {
+                // Still waiting, e.g. when another branch failed with failFast, so there's no body to stop.
+                getContext().onFailure(cause);
+            } else {
+                super.stop(cause);
+            }
+        }
+
+        @Override
+        public void onResume() {
+            Slots.resume(this);
+        }
+
+        @Override
+        public String getStatus() {
+            return started ? "running" : "waiting for a free branch slot in " + key;
+        }
+
+        void startBody() {
+            started = true;
+            try {
+                getContext().newBodyInvoker()
+                        .withCallback(new ReleaseSlot(key))
+                        .start();
+            } catch (RuntimeException e) {
+                Slots.release(key);
+                getContext().onFailure(e);
+            }
+        }
+    }
+
+    private static final class ReleaseSlot extends BodyExecutionCallback.TailCall {
+
+        private static final long serialVersionUID = 1L;
+
+        private final String key;
+
+        ReleaseSlot(String key) {
+            this.key = key;
+        }
+
+        @Override
+        protected void finished(StepContext context) {
+            Slots.release(key);
+        }
+    }
+
+    /**
+     * The running and waiting branches of each group, keyed by run and group.
+     */
+    private static final class Slots {
+        private static final Map<String, Slots> GROUPS = new HashMap<>();
+
+        private final int limit;
+        private int running;
+        private final Deque<Execution> waiting = new ArrayDeque<>();
+
+        private Slots(int limit) {
+            this.limit = limit;
+        }
+
+        /**
+         * @return true if the branch can start now, false if it's been queued to start later.
+         */
+        static synchronized boolean acquire(Execution execution) {
+            Slots slots = GROUPS.computeIfAbsent(execution.key, k -> new Slots(execution.limit));
+            if (slots.running < slots.limit) {
+                slots.running++;
+                return true;
+            }
+            slots.waiting.add(execution);
+            return false;
+        }
+
+        /**
+         * @return true if the branch was waiting and has now been removed from the queue.
+         */
+        static synchronized boolean cancel(Execution execution) {
+            Slots slots = GROUPS.get(execution.key);
+            if (slots != null && slots.waiting.remove(execution)) {
+                slots.removeIfUnused(execution.key);
+                return true;
+            }
+            return false;
+        }
+
+        static void release(String key) {
+            Execution next;
+            synchronized (Slots.class) {
+                Slots slots = GROUPS.get(key);
+                if (slots == null) {
+                    return;
+                }
+                slots.running--;
+                next = slots.waiting.poll();
+                if (next != null) {
+                    slots.running++;
+                }
+                slots.removeIfUnused(key);
+            }
+            if (next != null) {
+                LOGGER.log(Level.FINE, "Starting waiting branch in {0}", key);
+                next.startBody();
+            }
+        }
+
+        /**
+         * Re-registers a branch after a restart. Branches which were already running count against the limit again,
+         * and waiting branches rejoin the queue.
+         */
+        static void resume(Execution execution) {
+            if (execution.started) {
+                synchronized (Slots.class) {
+                    GROUPS.computeIfAbsent(execution.key, k -> new Slots(execution.limit)).running++;
+                }
+            } else if (acquire(execution)) {
+                execution.startBody();
+            }
+        }
+
+        private void removeIfUnused(String key) {
+            if (running <= 0 && waiting.isEmpty()) {
+                GROUPS.remove(key);
+            }
+        }
+    }
+}
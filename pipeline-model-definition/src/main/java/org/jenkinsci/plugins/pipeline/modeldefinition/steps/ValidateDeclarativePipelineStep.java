@@ -35,8 +35,10 @@ import org.jenkinsci.plugins.workflow.steps.AbstractStepImpl;
 import org.jenkinsci.plugins.workflow.steps.AbstractSynchronousNonBlockingStepExecution;
 import org.jenkinsci.plugins.workflow.steps.StepContextParameter;
 import org.kohsuke.stapler.DataBoundConstructor;
+import org.kohsuke.stapler.DataBoundSetter;
 
 import java.io.Serializable;
+import java.util.Collections;
 
 /**
  * Step that will validate a string containing a Declarative Pipeline.
@@ -49,6 +51,8 @@ public final class ValidateDeclarativePipelineStep extends AbstractStepImpl impl
 
     private final String path;
 
+    private boolean parallelValidation;
+
     @DataBoundConstructor
     public ValidateDeclarativePipelineStep(String path) {
         this.path = path;
@@ -58,6 +62,15 @@ public final class ValidateDeclarativePipelineStep extends AbstractStepImpl impl
         return path;
     }
 
+    public boolean isParallelValidation() {
+        return parallelValidation;
+    }
+
+    @DataBoundSetter
+    public void setParallelValidation(boolean parallelValidation) {
+        this.parallelValidation = parallelValidation;
+    }
+
     @Extension
     public static final class DescriptorImpl extends AbstractStepDescriptorImpl {
 
@@ -102,7 +115,7 @@ public final class ValidateDeclarativePipelineStep extends AbstractStepImpl impl
                         return false;
                     } else {
                         try {
-                            ModelASTPipelineDef pipelineDef = Converter.scriptToPipelineDef(text);
+                            ModelASTPipelineDef pipelineDef = Converter.scriptToPipelineDef(text, Collections.emptyList(), step.isParallelValidation());
                             if (pipelineDef != null) {
                                 listener.getLogger().println("Declarative Pipeline file '" + step.getPath() + "' is valid.");
                                 return true;
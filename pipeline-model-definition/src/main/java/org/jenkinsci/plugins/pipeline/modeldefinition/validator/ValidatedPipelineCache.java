@@ -0,0 +1,183 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, CloudBees, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.jenkinsci.plugins.pipeline.modeldefinition.validator;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import hudson.Extension;
+import hudson.ExtensionList;
+import hudson.ExtensionListListener;
+import hudson.PluginWrapper;
+import hudson.Util;
+import hudson.init.InitMilestone;
+import hudson.init.Initializer;
+import hudson.model.Descriptor;
+import hudson.model.Run;
+import hudson.tools.ToolDescriptor;
+import hudson.tools.ToolInstallation;
+import jenkins.model.Jenkins;
+import jenkins.util.SystemProperties;
+import org.kohsuke.accmod.Restricted;
+import org.kohsuke.accmod.restrictions.NoExternalUse;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Remembers which Jenkinsfiles have already passed validation, keyed by a hash of the script text, the enabled
+ * {@link DeclarativeValidatorContributor}s, the installed plugins and the configured tool installations. When an
+ * identical script is parsed again, {@link ModelValidatorImpl} doesn't need to be run over it.
+ *
+ * Only successful validations are recorded - anything with errors is always validated again so that the errors are
+ * reported against the current source. The cache is cleared whenever the set of {@link DeclarativeValidatorContributor}s
+ * or {@link Descriptor}s changes.
+ */
+@Restricted(NoExternalUse.class)
+@Extension
+public class ValidatedPipelineCache {
+    /**
+     * Maximum number of validated scripts to remember. Set to 0 to disable the cache.
+     */
+    public static final int MAX_ENTRIES = SystemProperties.getInteger(ValidatedPipelineCache.class.getName() + ".maxEntries", 500);
+
+    private final transient Cache<String, Boolean> validated = CacheBuilder.newBuilder()
+            .maximumSize(MAX_ENTRIES)
+            .recordStats()
+            .build();
+
+    private transient volatile String pluginFingerprint;
+
+    public static ValidatedPipelineCache get() {
+        return ExtensionList.lookupSingleton(ValidatedPipelineCache.class);
+    }
+
+    @Initializer(after = InitMilestone.EXTENSIONS_AUGMENTED)
+    public static void listenForExtensionChanges() {
+        ExtensionListListener listener = new ExtensionListListener() {
+            @Override
+            public void onChange() {
+                get().invalidateAll();
+            }
+        };
+        ExtensionList.lookup(DeclarativeValidatorContributor.class).addListener(listener);
+        Jenkins.get().getExtensionList(Descriptor.class).addListener(listener);
+    }
+
+    public void invalidateAll() {
+        validated.invalidateAll();
+        pluginFingerprint = null;
+    }
+
+    public long getHitCount() {
+        return validated.stats().hitCount();
+    }
+
+    public long getMissCount() {
+        return validated.stats().missCount();
+    }
+
+    /**
+     * Computes the cache key for a script.
+     *
+     * @param script The full text of the script being validated.
+     * @param contributors The validator contributors that will be run against it.
+     * @param run The run the script is being compiled for, if any. Since contributors may validate differently
+     *            depending on the run, validation results are not shared between jobs.
+     * @return The key, or null if the cache is disabled or Jenkins isn't available.
+     */
+    @CheckForNull
+    public String keyFor(@NonNull String script,
+                         @NonNull Collection<? extends DeclarativeValidatorContributor> contributors,
+                         @CheckForNull Run<?, ?> run) {
+        if (MAX_ENTRIES <= 0 || Jenkins.getInstanceOrNull() == null) {
+            return null;
+        }
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            return null;
+        }
+        update(digest, getPluginFingerprint());
+        update(digest, getToolFingerprint());
+        for (DeclarativeValidatorContributor c : contributors) {
+            update(digest, c.getClass().getName());
+        }
+        if (run != null) {
+            update(digest, run.getParent().getFullName());
+        }
+        update(digest, script);
+        return Util.toHexString(digest.digest());
+    }
+
+    public boolean isKnownValid(@CheckForNull String key) {
+        return key != null && validated.getIfPresent(key) != null;
+    }
+
+    public void recordValid(@CheckForNull String key) {
+        if (key != null) {
+            validated.put(key, Boolean.TRUE);
+        }
+    }
+
+    private String getPluginFingerprint() {
+        String fingerprint = pluginFingerprint;
+        if (fingerprint == null) {
+            List<String> plugins = new ArrayList<>();
+            for (PluginWrapper p : Jenkins.get().getPluginManager().getPlugins()) {
+                plugins.add(p.getShortName() + "@" + p.getVersion());
+            }
+            Collections.sort(plugins);
+            fingerprint = String.join(",", plugins);
+            pluginFingerprint = fingerprint;
+        }
+        return fingerprint;
+    }
+
+    // Tool installations are global configuration rather than extensions, so check them every time.
+    private static String getToolFingerprint() {
+        StringBuilder b = new StringBuilder();
+        for (ToolDescriptor<?> desc : ToolInstallation.all()) {
+            b.append(desc.getId()).append(':');
+            for (ToolInstallation i : desc.getInstallations()) {
+                b.append(i.getName()).append(',');
+            }
+            b.append(';');
+        }
+        return b.toString();
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        digest.update(value.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+    }
+}
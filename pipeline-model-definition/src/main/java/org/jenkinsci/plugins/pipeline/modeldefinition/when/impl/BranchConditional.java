@@ -41,6 +41,7 @@ import org.kohsuke.stapler.DataBoundSetter;
 import edu.umd.cs.findbugs.annotations.CheckForNull;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import java.io.IOException;
+import java.util.function.Predicate;
 
 import static org.apache.commons.lang3.StringUtils.isEmpty;
 
@@ -54,6 +55,7 @@ public class BranchConditional extends DeclarativeStageConditional<BranchConditi
     private transient String compare;
     private String pattern;
     private String comparator;
+    private transient Predicate<String> matcher;
 
     @DataBoundConstructor
     public BranchConditional(String pattern) {
@@ -93,6 +95,7 @@ public class BranchConditional extends DeclarativeStageConditional<BranchConditi
         } else {
             this.comparator = null;
         }
+        this.matcher = null;
     }
 
     public boolean branchMatches(String toCompare, String actualBranch) {
@@ -102,8 +105,15 @@ public class BranchConditional extends DeclarativeStageConditional<BranchConditi
             return false;
         }
 
-        Comparator c = Comparator.get(comparator, Comparator.GLOB);
-        return c.compare(toCompare, actualBranch);
+        if (!toCompare.equals(pattern)) {
+            return Comparator.get(comparator, Comparator.GLOB).matcher(toCompare, false).test(actualBranch);
+        }
+        Predicate<String> m = matcher;
+        if (m == null) {
+            m = Comparator.get(comparator, Comparator.GLOB).matcher(pattern, false);
+            matcher = m;
+        }
+        return m.test(actualBranch);
     }
 
     @Extension
@@ -28,6 +28,7 @@ package org.jenkinsci.plugins.pipeline.modeldefinition.when.impl;
 import hudson.Extension;
 import org.codehaus.groovy.ast.expr.Expression;
 import org.jenkinsci.Symbol;
+import org.jenkinsci.plugins.pipeline.modeldefinition.actions.ChangeHistoryAction;
 import org.jenkinsci.plugins.pipeline.modeldefinition.ast.ModelASTWhenContent;
 import org.jenkinsci.plugins.pipeline.modeldefinition.parser.ASTParserUtils;
 import org.jenkinsci.plugins.pipeline.modeldefinition.when.DeclarativeStageConditional;
@@ -72,6 +73,29 @@ public class ChangeLogConditional extends DeclarativeStageConditional<ChangeLogC
         return multiLinePattern;
     }
 
+    /**
+     * Whether the title of the change matches the whole pattern, or a line of its comment does.
+     */
+    @Restricted(NoExternalUse.class)
+    public boolean matches(@NonNull ChangeHistoryAction.Change change) {
+        return asPattern.matcher(change.getTitle()).matches() || multiLinePattern.matcher(change.getComment()).matches();
+    }
+
+    /**
+     * Whether any change recorded in the history of earlier builds matches.
+     */
+    @Restricted(NoExternalUse.class)
+    public boolean historyMatches(@CheckForNull ChangeHistoryAction.Changes history) {
+        if (history != null) {
+            for (ChangeHistoryAction.Change change : history.getChanges()) {
+                if (matches(change)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
     @Extension
     @Symbol("changelog")
     public static class DescriptorImpl extends DeclarativeStageConditionalDescriptor<ChangeLogConditional> {
@@ -240,7 +240,7 @@ public class ChangeRequestConditional extends DeclarativeStageConditional<Change
 
     private void check(String pattern, Comparator comparator, EnvironmentNames varName, EnvVars vars) {
         if (isNotEmpty(pattern)) {
-            if (!comparator.compare(pattern, varName.get(vars))) {
+            if (!comparator.matcher(pattern, false).test(varName.get(vars))) {
                 throw new AssertionError(varName.name() + "("+varName.get(vars)+")" + " does not match " + pattern);
             }
         }
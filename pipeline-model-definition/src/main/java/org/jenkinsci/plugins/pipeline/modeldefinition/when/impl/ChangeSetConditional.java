@@ -35,13 +35,17 @@ import org.jenkinsci.plugins.pipeline.modeldefinition.ast.ModelASTWhenContent;
 import org.jenkinsci.plugins.pipeline.modeldefinition.parser.ASTParserUtils;
 import org.jenkinsci.plugins.pipeline.modeldefinition.when.DeclarativeStageConditional;
 import org.jenkinsci.plugins.pipeline.modeldefinition.when.DeclarativeStageConditionalDescriptor;
+import org.jenkinsci.plugins.pipeline.modeldefinition.when.utils.ChangeLogIndex;
 import org.jenkinsci.plugins.pipeline.modeldefinition.when.utils.Comparator;
+import org.kohsuke.accmod.Restricted;
+import org.kohsuke.accmod.restrictions.NoExternalUse;
 import org.kohsuke.stapler.DataBoundConstructor;
 import org.kohsuke.stapler.DataBoundSetter;
 
 import edu.umd.cs.findbugs.annotations.CheckForNull;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import java.io.IOException;
+import java.util.function.Predicate;
 
 /**
  * Conditional that checks the affected file paths recorded in the changelog.
@@ -56,6 +60,7 @@ public class ChangeSetConditional extends DeclarativeStageConditional<ChangeSetC
     private String pattern;
     private boolean caseSensitive;
     private String comparator;
+    private transient Predicate<String> matcher;
 
     @DataBoundConstructor
     public ChangeSetConditional(String pattern) {
@@ -100,17 +105,35 @@ public class ChangeSetConditional extends DeclarativeStageConditional<ChangeSetC
         } else {
             this.comparator = null;
         }
+        this.matcher = null;
     }
 
     @DataBoundSetter
     public void setCaseSensitive(boolean caseSensitive) {
         this.caseSensitive = caseSensitive;
+        this.matcher = null;
     }
 
     public boolean changeSetMatches(ChangeLogSet.Entry change, String pattern, boolean caseSensitive) {
-        Comparator c = Comparator.get(comparator, Comparator.GLOB);
+        Predicate<String> m;
+        if (pattern.equals(this.pattern) && caseSensitive == this.caseSensitive) {
+            m = matcher;
+            if (m == null) {
+                m = Comparator.get(comparator, Comparator.GLOB).matcher(pattern, caseSensitive);
+                matcher = m;
+            }
+        } else {
+            m = Comparator.get(comparator, Comparator.GLOB).matcher(pattern, caseSensitive);
+        }
+        return change.getAffectedPaths().stream().anyMatch(m);
+    }
 
-        return change.getAffectedPaths().stream().anyMatch(path -> c.compare(pattern, path, caseSensitive));
+    /**
+     * Whether any path affected by the indexed changes matches this condition.
+     */
+    @Restricted(NoExternalUse.class)
+    public boolean changeSetMatches(@NonNull ChangeLogIndex index) {
+        return index.anyPathMatches(Comparator.get(comparator, Comparator.GLOB), pattern, caseSensitive);
     }
 
     @Extension
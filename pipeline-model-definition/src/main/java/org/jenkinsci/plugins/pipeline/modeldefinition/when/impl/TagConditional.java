@@ -39,10 +39,12 @@ import org.kohsuke.stapler.DataBoundConstructor;
 import org.kohsuke.stapler.DataBoundSetter;
 
 import edu.umd.cs.findbugs.annotations.CheckForNull;
+import java.util.function.Predicate;
 
 public class TagConditional extends DeclarativeStageConditional<TagConditional> {
     private final String pattern;
     private String comparator;
+    private transient Predicate<String> matcher;
 
     @DataBoundConstructor
     public TagConditional(String pattern) {
@@ -70,6 +72,7 @@ public class TagConditional extends DeclarativeStageConditional<TagConditional>
         } else {
             this.comparator = null;
         }
+        this.matcher = null;
     }
 
     public boolean tagMatches(String actualTag) {
@@ -80,9 +83,12 @@ public class TagConditional extends DeclarativeStageConditional<TagConditional>
             return true; //This is a tag build and user doesn't care what the name is
         }
 
-        Comparator c = Comparator.get(comparator, Comparator.GLOB);
-
-        return c.compare(pattern, actualTag);
+        Predicate<String> m = matcher;
+        if (m == null) {
+            m = Comparator.get(comparator, Comparator.GLOB).matcher(pattern, false);
+            matcher = m;
+        }
+        return m.test(actualTag);
     }
 
     @Extension
@@ -28,15 +28,19 @@ package org.jenkinsci.plugins.pipeline.modeldefinition.when.impl;
 import hudson.Extension;
 import org.codehaus.groovy.ast.expr.Expression;
 import org.jenkinsci.Symbol;
+import org.jenkinsci.plugins.pipeline.modeldefinition.Utils;
 import org.jenkinsci.plugins.pipeline.modeldefinition.ast.ModelASTWhenContent;
 import org.jenkinsci.plugins.pipeline.modeldefinition.parser.ASTParserUtils;
 import org.jenkinsci.plugins.pipeline.modeldefinition.when.DeclarativeStageConditional;
 import org.jenkinsci.plugins.pipeline.modeldefinition.when.DeclarativeStageConditionalDescriptor;
+import org.kohsuke.accmod.Restricted;
+import org.kohsuke.accmod.restrictions.NoExternalUse;
 import org.kohsuke.stapler.DataBoundConstructor;
 import org.kohsuke.stapler.DataBoundSetter;
 
 import edu.umd.cs.findbugs.annotations.CheckForNull;
 import edu.umd.cs.findbugs.annotations.NonNull;
+import java.util.regex.Pattern;
 
 /**
   This conditional prevents the current job of continuing if is not triggered by the cause provided
@@ -45,6 +49,7 @@ public class TriggeredByConditional extends DeclarativeStageConditional<Triggere
 
     private String cause;
     private String detail;
+    private transient Pattern causePattern;
 
     @DataBoundConstructor
     public TriggeredByConditional(String cause) {
@@ -54,6 +59,19 @@ public class TriggeredByConditional extends DeclarativeStageConditional<Triggere
         return cause;
     }
 
+    /**
+     * The compiled pattern matching the simple class names of causes of the given type.
+     */
+    @Restricted(NoExternalUse.class)
+    public Pattern getCausePattern() {
+        Pattern p = causePattern;
+        if (p == null) {
+            p = Utils.causePattern(cause);
+            causePattern = p;
+        }
+        return p;
+    }
+
     public String getDetail() {
         return detail;
     }
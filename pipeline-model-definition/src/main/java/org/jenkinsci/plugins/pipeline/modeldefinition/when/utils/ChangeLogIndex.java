@@ -0,0 +1,264 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, CloudBees, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.jenkinsci.plugins.pipeline.modeldefinition.when.utils;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import hudson.Extension;
+import hudson.model.Run;
+import hudson.model.TaskListener;
+import hudson.model.listeners.RunListener;
+import hudson.scm.ChangeLogSet;
+import org.jenkinsci.plugins.pipeline.modeldefinition.actions.ChangeHistoryAction;
+import org.kohsuke.accmod.Restricted;
+import org.kohsuke.accmod.restrictions.NoExternalUse;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * The changelog entries and affected paths examined by the changelog based conditionals of a run, collected once
+ * rather than by every stage with a {@code changeset} or {@code changelog} condition. For change requests where every
+ * build is examined, the paths of earlier builds from their {@link ChangeHistoryAction} are included too.
+ *
+ * The affected paths are deduplicated and kept sorted, so that a glob pattern with a literal leading directory, such
+ * as {@code services/foo/**}, only needs to be tested against the paths under that directory. The result for each
+ * pattern is remembered, so stages with the same condition don't look at the paths at all.
+ *
+ * The entries of the index refer back to the run through their change sets, so the index is dropped when the run
+ * completes rather than being left to the weak keys of the cache.
+ */
+@Restricted(NoExternalUse.class)
+public final class ChangeLogIndex {
+
+    private static final Cache<Run<?, ?>, ChangeLogIndex> INDEXES = CacheBuilder.newBuilder().weakKeys().build();
+
+    private final List<ChangeLogSet<?>> changeSets;
+    private final ChangeHistoryAction.Changes history;
+    private final List<ChangeLogSet.Entry> entries;
+    private final Set<String> paths;
+    private final NavigableSet<String> sortedPaths = new TreeSet<>();
+    private final NavigableSet<String> sortedLowerCasePaths = new TreeSet<>();
+    // Paths which can't be found by their leading directory, and so are checked against every pattern.
+    private final List<String> irregularPaths = new ArrayList<>();
+    private final Map<List<Object>, Boolean> results = new ConcurrentHashMap<>();
+
+    ChangeLogIndex(@NonNull Collection<? extends ChangeLogSet<? extends ChangeLogSet.Entry>> changeSets,
+                   @CheckForNull ChangeHistoryAction.Changes history) {
+        this.changeSets = new ArrayList<>(changeSets);
+        this.history = history;
+        List<ChangeLogSet.Entry> entries = new ArrayList<>();
+        Set<String> paths = new HashSet<>();
+        for (ChangeLogSet<? extends ChangeLogSet.Entry> set : changeSets) {
+            for (ChangeLogSet.Entry entry : set) {
+                entries.add(entry);
+                paths.addAll(entry.getAffectedPaths());
+            }
+        }
+        if (history != null) {
+            paths.addAll(history.getPaths());
+        }
+        this.entries = Collections.unmodifiableList(entries);
+        this.paths = paths;
+        for (String path : paths) {
+            if (isRegular(path)) {
+                sortedPaths.add(path);
+                sortedLowerCasePaths.add(path.toLowerCase(Locale.ENGLISH));
+            } else {
+                irregularPaths.add(path);
+            }
+        }
+    }
+
+    /**
+     * Get the index of the given change sets of a run, reusing the one already built for the run if the change sets
+     * are the same.
+     *
+     * @param run The run being built.
+     * @param changeSets The change sets of the run.
+     * @param history The changes of earlier runs to examine as well, if any.
+     */
+    @NonNull
+    public static ChangeLogIndex of(@NonNull Run<?, ?> run,
+                                    @NonNull Collection<? extends ChangeLogSet<? extends ChangeLogSet.Entry>> changeSets,
+                                    @CheckForNull ChangeHistoryAction.Changes history) {
+        ChangeLogIndex index = INDEXES.getIfPresent(run);
+        if (index == null || index.history != history || !index.isFor(changeSets)) {
+            // Later checkouts in the same run add change sets, so build the index again.
+            index = new ChangeLogIndex(changeSets, history);
+            INDEXES.put(run, index);
+        }
+        return index;
+    }
+
+    /**
+     * Whether the index was built from the very same change sets.
+     */
+    private boolean isFor(Collection<? extends ChangeLogSet<?>> changeSets) {
+        if (changeSets.size() != this.changeSets.size()) {
+            return false;
+        }
+        int i = 0;
+        for (ChangeLogSet<?> set : changeSets) {
+            if (set != this.changeSets.get(i++)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @NonNull
+    public List<ChangeLogSet.Entry> getEntries() {
+        return entries;
+    }
+
+    /**
+     * The changes of earlier runs included in the index, if any.
+     */
+    @CheckForNull
+    public ChangeHistoryAction.Changes getHistory() {
+        return history;
+    }
+
+    public boolean isEmpty() {
+        return entries.isEmpty() && (history == null || history.isEmpty());
+    }
+
+    /**
+     * Whether any affected path matches the pattern. Equivalent to checking each path of each entry with
+     * {@link Comparator#compare(String, String, boolean)}.
+     */
+    public boolean anyPathMatches(@NonNull Comparator comparator, @NonNull String pattern, boolean caseSensitive) {
+        List<Object> key = Arrays.asList(comparator, pattern, caseSensitive);
+        Boolean result = results.get(key);
+        if (result == null) {
+            result = computePathMatch(comparator, pattern, caseSensitive);
+            results.put(key, result);
+        }
+        return result;
+    }
+
+    /**
+     * The remembered result of a check over all entries, keyed by something identifying the check.
+     *
+     * @return The result recorded by {@link #recordMatch}, or null if the check hasn't been made yet.
+     */
+    @CheckForNull
+    public Boolean getRecordedMatch(@NonNull String key) {
+        return results.get(Collections.singletonList(key));
+    }
+
+    public void recordMatch(@NonNull String key, boolean result) {
+        results.put(Collections.singletonList(key), result);
+    }
+
+    private boolean computePathMatch(Comparator comparator, String pattern, boolean caseSensitive) {
+        if (comparator == Comparator.EQUALS && !pattern.trim().isEmpty()) {
+            return paths.contains(pattern);
+        }
+        Predicate<String> matcher = comparator.matcher(pattern, caseSensitive);
+        Collection<String> candidates = paths;
+        if (comparator == Comparator.GLOB) {
+            String prefix = literalPrefix(pattern);
+            if (prefix != null) {
+                if (irregularPaths.stream().anyMatch(matcher)) {
+                    return true;
+                }
+                candidates = caseSensitive
+                        ? startingWith(sortedPaths, prefix)
+                        : startingWith(sortedLowerCasePaths, prefix.toLowerCase(Locale.ENGLISH));
+            }
+        }
+        return candidates.stream().anyMatch(matcher);
+    }
+
+    private static NavigableSet<String> startingWith(NavigableSet<String> sorted, String prefix) {
+        return sorted.subSet(prefix, true, prefix + Character.MAX_VALUE, false);
+    }
+
+    /**
+     * The literal leading directories of a glob pattern, which every matching path must start with, or null if the
+     * pattern doesn't have any.
+     */
+    @CheckForNull
+    static String literalPrefix(@NonNull String pattern) {
+        if (!isRegular(pattern)) {
+            return null;
+        }
+        int wildcard = pattern.length();
+        for (int i = 0; i < pattern.length(); i++) {
+            char c = pattern.charAt(i);
+            if (c == '*' || c == '?') {
+                wildcard = i;
+                break;
+            }
+        }
+        int lastSeparator = pattern.lastIndexOf('/', wildcard - 1);
+        if (lastSeparator <= 0) {
+            return null;
+        }
+        // Without the trailing separator, since "foo/**" also matches "foo" itself.
+        return pattern.substring(0, lastSeparator);
+    }
+
+    /**
+     * Whether the path is a plain relative ASCII path, whose leading directories can be compared as strings the same
+     * way Ant compares them as tokens.
+     */
+    private static boolean isRegular(String path) {
+        if (path.isEmpty() || path.charAt(0) == '/' || path.charAt(0) == '.'
+                || path.contains("//") || path.contains("/.")) {
+            return false;
+        }
+        for (int i = 0; i < path.length(); i++) {
+            char c = path.charAt(i);
+            if (c >= 0x80 || c == '\\') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Extension
+    public static final class DropOnCompletion extends RunListener<Run<?, ?>> {
+        @Override
+        public void onCompleted(Run<?, ?> run, @NonNull TaskListener listener) {
+            INDEXES.invalidate(run);
+        }
+    }
+}
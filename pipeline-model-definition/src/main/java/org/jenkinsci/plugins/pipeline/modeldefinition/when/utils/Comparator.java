@@ -25,14 +25,21 @@
 
 package org.jenkinsci.plugins.pipeline.modeldefinition.when.utils;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import hudson.util.ListBoxModel;
 import org.apache.commons.lang3.StringUtils;
-import org.apache.tools.ant.types.selectors.SelectorUtils;
+import org.apache.tools.ant.types.selectors.TokenizedPath;
+import org.apache.tools.ant.types.selectors.TokenizedPattern;
 import org.jenkinsci.plugins.pipeline.modeldefinition.Messages;
 import org.jvnet.localizer.Localizable;
 
 import edu.umd.cs.findbugs.annotations.NonNull;
 import java.io.File;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
 
 import static org.apache.commons.lang3.StringUtils.defaultIfBlank;
 
@@ -50,12 +57,17 @@ public enum Comparator {
         }
         @Override
         public boolean compare(@NonNull String pattern, String actual, boolean caseSensitive) {
-            actual = defaultIfBlank(actual, "");
+            return matcher(pattern, caseSensitive).test(actual);
+        }
+        @Override
+        Predicate<String> compile(@NonNull String pattern, boolean caseSensitive) {
             // replace with the platform specific directory separator before
             // invoking Ant's platform specific path matching.
-            String safeCompare = pattern.replace('/', File.separatorChar);
-            String safeName = actual.replace('/', File.separatorChar);
-            return SelectorUtils.matchPath(safeCompare, safeName, caseSensitive);
+            TokenizedPattern tokenized = new TokenizedPattern(pattern.replace('/', File.separatorChar));
+            return actual -> {
+                String safeName = defaultIfBlank(actual, "").replace('/', File.separatorChar);
+                return tokenized.matchPath(new TokenizedPath(safeName), caseSensitive);
+            };
         }
     },
     /**
@@ -64,14 +76,18 @@ public enum Comparator {
     REGEXP(Messages._Comparator_REGEXP_DisplayName()) {
         @Override
         public boolean compare(@NonNull String pattern, String actual) {
-            actual = defaultIfBlank(actual, "");
-            //TODO validation for pattern compile
-            return actual.matches(pattern);
+            return matcher(pattern, false).test(actual);
         }
         @Override
         public boolean compare(@NonNull String pattern, String actual, boolean caseSensitive) {
             return compare(pattern, actual);
         }
+        @Override
+        Predicate<String> compile(@NonNull String pattern, boolean caseSensitive) {
+            //TODO validation for pattern compile
+            Pattern compiled = Pattern.compile(pattern);
+            return actual -> compiled.matcher(defaultIfBlank(actual, "")).matches();
+        }
     },
     /**
      * String equals
@@ -86,10 +102,26 @@ public enum Comparator {
         public boolean compare(@NonNull String pattern, String actual, boolean caseSensitive) {
             return compare(pattern, actual);
         }
+        @Override
+        Predicate<String> compile(@NonNull String pattern, boolean caseSensitive) {
+            return actual -> defaultIfBlank(actual, "").equals(pattern);
+        }
     };
 
+    /**
+     * Maximum number of compiled patterns kept per comparator.
+     */
+    private static final int MAX_COMPILED_PATTERNS = 1024;
+
     private final Localizable displayName;
 
+    /**
+     * Patterns compiled by {@link #matcher}, keyed by the pattern and case sensitivity. Shared between all conditionals
+     * and evaluations, since the same few patterns are typically matched against many values.
+     */
+    private final Cache<List<Object>, Predicate<String>> compiled =
+            CacheBuilder.newBuilder().maximumSize(MAX_COMPILED_PATTERNS).build();
+
     private Comparator(Localizable displayName) {
         this.displayName = displayName;
     }
@@ -115,6 +147,26 @@ public enum Comparator {
      */
     public abstract boolean compare(String pattern, String actual);
 
+    /**
+     * Get a matcher for the pattern, equivalent to calling {@link #compare(String, String, boolean)} with it, but
+     * compiling the pattern only once.
+     * @param pattern the pattern/value to check for
+     * @param caseSensitive whether the comparison will be case-sensitive. Only for the GLOB comparator
+     * @return a predicate testing values against the pattern
+     */
+    @NonNull
+    public Predicate<String> matcher(@NonNull String pattern, boolean caseSensitive) {
+        List<Object> key = Arrays.asList(pattern, caseSensitive);
+        Predicate<String> matcher = compiled.getIfPresent(key);
+        if (matcher == null) {
+            matcher = compile(pattern, caseSensitive);
+            compiled.put(key, matcher);
+        }
+        return matcher;
+    }
+
+    abstract Predicate<String> compile(@NonNull String pattern, boolean caseSensitive);
+
     public static Comparator get(String name, Comparator defaultValue) {
         if (StringUtils.isEmpty(name)) {
             return defaultValue;
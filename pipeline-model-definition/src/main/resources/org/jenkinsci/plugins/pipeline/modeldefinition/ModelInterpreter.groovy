@@ -30,10 +30,15 @@ import hudson.Functions
 import hudson.Launcher
 import hudson.model.Result
 import org.jenkinsci.plugins.pipeline.StageStatus
+import org.jenkinsci.plugins.pipeline.modeldefinition.AgentReservations
 import org.jenkinsci.plugins.pipeline.modeldefinition.Messages
+import org.jenkinsci.plugins.pipeline.modeldefinition.StageDurations
+import org.jenkinsci.plugins.pipeline.modeldefinition.agent.DeclarativeAgent
 import org.jenkinsci.plugins.pipeline.modeldefinition.agent.DeclarativeAgentScript2
+import org.jenkinsci.plugins.pipeline.modeldefinition.agent.impl.Label
 import org.jenkinsci.plugins.pipeline.modeldefinition.model.*
 import org.jenkinsci.plugins.pipeline.modeldefinition.options.DeclarativeOption
+import org.jenkinsci.plugins.pipeline.modeldefinition.options.impl.MaxConcurrentBranches
 import org.jenkinsci.plugins.pipeline.modeldefinition.steps.CredentialWrapper
 import org.jenkinsci.plugins.pipeline.modeldefinition.when.DeclarativeStageConditional
 import org.jenkinsci.plugins.workflow.cps.CpsScript
@@ -42,6 +47,8 @@ import org.jenkinsci.plugins.workflow.job.WorkflowRun
 import org.jenkinsci.plugins.workflow.steps.MissingContextVariableException
 import org.jenkinsci.plugins.workflow.support.steps.build.RunWrapper
 
+import java.util.function.Function
+
 /**
  * CPS-transformed code for actually performing the build.
  *
@@ -153,31 +160,37 @@ class ModelInterpreter implements Serializable {
     def evaluateSequentialStages(Root root, Stages stages, Throwable firstError, Stage parent, String restartedStageName,
                                  SkippedStageReason skippedReason) {
         try {
-            boolean skippedForRestart = restartedStageName != null
-            stages.stages.each { thisStage ->
-                if (skippedForRestart) {
-                    // Check if we're skipping for restart but are now on the stage we're supposed to restart on.
-                    if (thisStage.name == restartedStageName) {
-                        // If so, set skippedForRestart to false, and if the skippedReason is for restart, wipe that out too.
-                        skippedForRestart = false
-                        if (skippedReason instanceof SkippedStageReason.Restart) {
-                            skippedReason = null
+            if (restartedStageName == null && skippedReason == null &&
+                root.options?.options?.get("reuseAgentAcrossStages") != null) {
+                firstError = evaluateSequentialStagesOnSharedAgents(root, stages, firstError, parent)
+            } else {
+                boolean skippedForRestart = restartedStageName != null
+                stages.stages.each { thisStage ->
+                    if (skippedForRestart) {
+                        // Check if we're skipping for restart but are now on the stage we're supposed to restart on.
+                        if (thisStage.name == restartedStageName) {
+                            // If so, set skippedForRestart to false, and if the skippedReason is for restart, wipe that out too.
+                            skippedForRestart = false
+                            if (skippedReason instanceof SkippedStageReason.Restart) {
+                                skippedReason = null
+                            }
+                        } else {
+                            // If we skipped for restart and this isn't the restarted name, create a new reason.
+                            skippedReason = new SkippedStageReason.Restart(thisStage.name, restartedStageName)
                         }
-                    } else {
-                        // If we skipped for restart and this isn't the restarted name, create a new reason.
-                        skippedReason = new SkippedStageReason.Restart(thisStage.name, restartedStageName)
                     }
-                }
-                try {
-                    evaluateStage(root, thisStage.agent ?: root.agent, thisStage, firstError, parent, skippedReason)
-                } catch (Throwable e) {
-                    Utils.markStageFailedAndContinued(thisStage.name)
-                    if (firstError == null) {
-                        firstError = e
+                    provisionAgentsAhead(root, stages, thisStage, skippedReason == null && firstError == null)
+                    try {
+                        evaluateStage(root, thisStage.agent ?: root.agent, thisStage, firstError, parent, skippedReason)
+                    } catch (Throwable e) {
+                        Utils.markStageFailedAndContinued(thisStage.name)
+                        if (firstError == null) {
+                            firstError = e
+                        }
+                    }
+                    if (skippedForRestart) {
+                        Utils.markStartAndEndNodesInStageAsNotExecuted(thisStage.name)
                     }
-                }
-                if (skippedForRestart) {
-                    Utils.markStartAndEndNodesInStageAsNotExecuted(thisStage.name)
                 }
             }
         } finally {
@@ -192,6 +205,191 @@ class ModelInterpreter implements Serializable {
         return firstError
     }
 
+    /**
+     * Evaluate a list of sequential stages, running adjacent stages which have the same label agent on a single agent,
+     * as enabled by the {@code reuseAgentAcrossStages} option.
+     *
+     * @param root The root of the Declarative model
+     * @param stages The list of stages
+     * @param firstError An error that's already occurred earlier in the build. Can be null.
+     * @param parent The parent stage for this list of stages. Can be null.
+     */
+    def evaluateSequentialStagesOnSharedAgents(Root root, Stages stages, Throwable firstError, Stage parent) {
+        int i = 0
+        while (i < stages.stages.size()) {
+            Stage thisStage = stages.stages.get(i)
+            def key = firstError == null ? sharedAgentKey(root, thisStage) : null
+            if (key == null) {
+                firstError = evaluateStageInSequence(root, stages, thisStage, firstError, parent, false, true)
+                i++
+            } else {
+                int evaluated = 0
+                try {
+                    inSharedAgent(root, thisStage) {
+                        // The agent of each following stage is only evaluated once the stages before it have run,
+                        // so whether it can share this agent is only known when it's reached.
+                        while (evaluated == 0 || (i + evaluated < stages.stages.size() && firstError == null &&
+                            sharedAgentKey(root, stages.stages.get(i + evaluated)) == key)) {
+                            firstError = evaluateStageInSequence(root, stages, stages.stages.get(i + evaluated),
+                                firstError, parent, true, false)
+                            evaluated++
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    // Including FlowInterruptedException - the build was aborted, so don't carry on with the stages.
+                    throw e
+                } catch (Throwable e) {
+                    // The agent couldn't be allocated, or was lost, so whatever hasn't run yet will be skipped.
+                    if (firstError == null) {
+                        firstError = e
+                    }
+                }
+                i += evaluated
+            }
+        }
+
+        return firstError
+    }
+
+    def evaluateStageInSequence(Root root, Stages stages, Stage thisStage, Throwable firstError, Stage parent,
+                                boolean onSharedAgent, boolean provisionNext) {
+        provisionAgentsAhead(root, stages, thisStage, provisionNext && firstError == null)
+        try {
+            evaluateStage(root, thisStage.agent ?: root.agent, thisStage, firstError, parent, null, onSharedAgent)
+        } catch (Throwable e) {
+            Utils.markStageFailedAndContinued(thisStage.name)
+            if (firstError == null) {
+                firstError = e
+            }
+        }
+        return firstError
+    }
+
+    /**
+     * Release the agent reservations for a stage which is starting, and reserve the agents for the stage after it, if
+     * enabled by the {@code provisionAgentsAhead} option.
+     *
+     * @param root The root of the Declarative model
+     * @param stages The list of stages the stage is in
+     * @param thisStage The stage which is starting
+     * @param reserveNext Whether the stage after this one is expected to run
+     */
+    def provisionAgentsAhead(Root root, Stages stages, Stage thisStage, boolean reserveNext) {
+        if (root.options?.options?.get("provisionAgentsAhead") == null) {
+            return
+        }
+        releaseAgentReservations(thisStage.name)
+        Stage next = reserveNext ? nextStage(stages.stages, thisStage) : null
+        if (next != null) {
+            List<String> labels = agentLabelsFor(root, next)
+            if (!labels.isEmpty()) {
+                reserveAgents(next.name, labels)
+            }
+        }
+    }
+
+    /**
+     * Get the labels of the agents a stage will request when it starts, for its own agent, the agents of its parallel
+     * branches, or the agent of its first nested stage. Agents using variables are left out, since the stage before
+     * hasn't run yet and may be what sets them.
+     */
+    List<String> agentLabelsFor(Root root, Stage thisStage) {
+        List<String> labels = []
+        if (thisStage.parallel != null) {
+            thisStage.parallel.stages.each { branch ->
+                labels.addAll(agentLabelsFor(root, branch))
+            }
+        } else if (thisStage.agent != null) {
+            if (!hasLiteralAgent(thisStage.name)) {
+                return labels
+            }
+            try {
+                thisStage.agent.populateMap((Map<String,Object>)instanceFromClosure(thisStage.agent.rawClosure, Map.class))
+                String label = agentLabel(thisStage.agent.getDeclarativeAgent(root, thisStage))
+                if (label != null) {
+                    labels.add(label)
+                }
+            } catch (Exception e) {
+                // The agent definition will be evaluated again, and any error reported, when the stage starts.
+            }
+        } else if (thisStage.stages != null && !thisStage.stages.stages.isEmpty()) {
+            labels.addAll(agentLabelsFor(root, thisStage.stages.stages.first()))
+        }
+        return labels
+    }
+
+    @NonCPS
+    private boolean hasLiteralAgent(String stageName) {
+        return AgentReservations.hasLiteralAgent((WorkflowRun) script.$build(), stageName)
+    }
+
+    @NonCPS
+    private static String agentLabel(DeclarativeAgent declarativeAgent) {
+        return declarativeAgent instanceof Label ? ((Label) declarativeAgent).label : null
+    }
+
+    @NonCPS
+    private static Stage nextStage(List<Stage> stages, Stage thisStage) {
+        int i = stages.findIndexOf { it.is(thisStage) }
+        return i >= 0 && i + 1 < stages.size() ? stages.get(i + 1) : null
+    }
+
+    @NonCPS
+    private void reserveAgents(String stageName, List<String> labels) {
+        AgentReservations.reserve((WorkflowRun) script.$build(), stageName, labels)
+    }
+
+    @NonCPS
+    private void releaseAgentReservations(String stageName) {
+        AgentReservations.release((WorkflowRun) script.$build(), stageName)
+    }
+
+    /**
+     * Get what identifies the agent of a stage for sharing it with adjacent stages.
+     *
+     * @return The identity of the agent, or null if the stage can't share its agent
+     */
+    def sharedAgentKey(Root root, Stage thisStage) {
+        if (thisStage.agent == null || thisStage.steps == null || thisStage.input != null ||
+            thisStage.parallel != null || thisStage.matrix != null || thisStage.stages != null ||
+            thisStage.when?.beforeAgent || thisStage.when?.beforeInput || thisStage.when?.beforeOptions) {
+            return null
+        }
+        try {
+            thisStage.agent.populateMap((Map<String,Object>)instanceFromClosure(thisStage.agent.rawClosure, Map.class))
+            return labelAgentKey(thisStage.agent.getDeclarativeAgent(root, thisStage))
+        } catch (Exception e) {
+            // The agent definition will be evaluated again, and any error reported, when the stage starts.
+            return null
+        }
+    }
+
+    @NonCPS
+    private static List<Object> labelAgentKey(DeclarativeAgent declarativeAgent) {
+        if (declarativeAgent == null || declarativeAgent.getClass() != Label.class) {
+            return null
+        }
+        Label label = (Label) declarativeAgent
+        if (label.retries > 1) {
+            return null
+        }
+        return [label.label, label.customWorkspace, label.doCheckout, label.subdirectory]
+    }
+
+    /**
+     * Executes the given closure on the agent of the given stage, checking out outside of the stage itself since the
+     * agent is shared with the stages that follow it.
+     *
+     * @param root The root object for this pipeline
+     * @param firstStage The first of the stages sharing the agent
+     * @param body The closure to execute
+     */
+    def inSharedAgent(Root root, Stage firstStage, Closure body) {
+        def declarativeAgent = firstStage.agent.getDeclarativeAgent(root, firstStage)
+        declarativeAgent.setInStage(false)
+        declarativeAgent.getScript(script).run(body)
+    }
+
     /**
      * Get the map to pass to the parallel step of nested stages to run in parallel for the given stage.
      *
@@ -204,14 +402,25 @@ class ModelInterpreter implements Serializable {
      */
     def getParallelStages(Root root, Agent parentAgent, Stage thisStage, Throwable firstError, SkippedStageReason skippedReason) {
         def parallelStages = [:]
-        thisStage?.parallel?.stages?.each { content ->
+        String slotGroup = null
+        int slotLimit = skippedReason == null ? maxConcurrentBranches(root, thisStage) : 0
+        if (slotLimit > 0 && slotLimit < (thisStage?.parallel?.stages?.size() ?: 0)) {
+            slotGroup = UUID.randomUUID().toString()
+        }
+        List<Stage> branches = thisStage?.parallel?.stages
+        if (skippedReason == null && branches && isLongestBranchesFirst(root, thisStage)) {
+            branches = longestBranchesFirst(thisStage.name, branches)
+        }
+        branches?.each { content ->
             if (skippedReason != null) {
                 parallelStages.put(content.name, {
                     evaluateStage(root, parentAgent, content, firstError, thisStage, skippedReason.cloneWithNewStage(content.name))
                 })
             } else {
                 parallelStages.put(content.name, {
-                    evaluateStage(root, thisStage.agent ?: parentAgent, content, firstError, thisStage, null)
+                    inBranchSlot(slotGroup, slotLimit) {
+                        evaluateStage(root, thisStage.agent ?: parentAgent, content, firstError, thisStage, null)
+                    }
                 })
             }
         }
@@ -223,6 +432,56 @@ class ModelInterpreter implements Serializable {
 
     }
 
+    /**
+     * Get the maximum number of branches of the given stage's parallel stages to run at once, from the stage's
+     * options or, if not set there, the pipeline's options.
+     *
+     * @return The limit, or 0 if there is none
+     */
+    @NonCPS
+    private int maxConcurrentBranches(Root root, Stage thisStage) {
+        def option = thisStage?.options?.options?.get("maxConcurrentBranches") ?:
+            root.options?.options?.get("maxConcurrentBranches")
+        return option instanceof MaxConcurrentBranches ? option.maxConcurrentBranches : 0
+    }
+
+    /**
+     * Whether the given stage's parallel stages should start in order of their earlier durations, as set in the
+     * stage's options or the pipeline's options.
+     */
+    @NonCPS
+    private boolean isLongestBranchesFirst(Root root, Stage thisStage) {
+        return thisStage?.options?.options?.get("longestBranchesFirst") != null ||
+            root.options?.options?.get("longestBranchesFirst") != null
+    }
+
+    /**
+     * Order parallel stages by how long they took in earlier builds, longest first.
+     */
+    @NonCPS
+    private List<Stage> longestBranchesFirst(String parallelStage, List<Stage> branches) {
+        Map<String, Long> durations = StageDurations.previousDurations((WorkflowRun) script.$build(), parallelStage)
+        return StageDurations.longestFirst(branches, durations, { Stage s -> s.name } as Function<Stage, String>)
+    }
+
+    /**
+     * Run the body of a parallel branch once fewer than the given number of branches in the group are running, or
+     * straight away if there's no group.
+     *
+     * @param slotGroup The group shared by the branches of a parallel stage with a limit. Can be null.
+     * @param slotLimit The maximum number of branches in the group to run at once.
+     * @param body The branch to run
+     */
+    def inBranchSlot(String slotGroup, int slotLimit, Closure body) {
+        if (slotGroup != null) {
+            return script.declarativeBranchSlot(group: slotGroup, limit: slotLimit) {
+                body.call()
+            }
+        } else {
+            return body.call()
+        }
+    }
+
     @NonCPS
     private String getFlowNodeId() {
         return script.getContext(FlowNode.class).getId()
@@ -241,6 +500,16 @@ class ModelInterpreter implements Serializable {
      */
     def evaluateStage(Root root, Agent parentAgent, Stage thisStage, Throwable firstError, Stage parent,
                       SkippedStageReason skippedReason) {
+        return evaluateStage(root, parentAgent, thisStage, firstError, parent, skippedReason, false)
+    }
+
+    /**
+     * Evaluate a stage, as above, possibly on an agent already allocated for it.
+     *
+     * @param onSharedAgent Whether the stage's agent has already been allocated by {@link #inSharedAgent}.
+     */
+    def evaluateStage(Root root, Agent parentAgent, Stage thisStage, Throwable firstError, Stage parent,
+                      SkippedStageReason skippedReason, boolean onSharedAgent) {
         script.stage(thisStage.name) {
             try {
                 if (skippedReason != null) {
@@ -273,7 +542,7 @@ class ModelInterpreter implements Serializable {
                                             }
                                         } else {
                                             if (whenEvaluator.passedOrNotEvaluatedBeforeAgent()) {
-                                                inDeclarativeAgent(thisStage, root, thisStage.agent) {
+                                                inStageAgent(thisStage, root, onSharedAgent) {
                                                     if (whenEvaluator.passedOrNotEvaluated()) {
                                                         withCredentialsBlock(thisStage.environment) {
                                                             withEnvBlock(thisStage.getEnvVars(script)) {
@@ -574,6 +843,24 @@ class ModelInterpreter implements Serializable {
         }
     }
 
+    /**
+     * Executes the given closure inside the stage's declarative agent block, unless the agent has already been
+     * allocated for it.
+     *
+     * @param thisStage The stage we're running
+     * @param root The root object for this pipeline
+     * @param onSharedAgent Whether the agent has already been allocated
+     * @param body The closure to execute
+     * @return The return of the resulting executed closure
+     */
+    def inStageAgent(Stage thisStage, Root root, boolean onSharedAgent, Closure body) {
+        if (onSharedAgent) {
+            return body.call()
+        } else {
+            return inDeclarativeAgent(thisStage, root, thisStage.agent, body)
+        }
+    }
+
     @Deprecated
     def inWrappers(Options options, Closure body) {
         return inWrappers(options?.wrappers, body)
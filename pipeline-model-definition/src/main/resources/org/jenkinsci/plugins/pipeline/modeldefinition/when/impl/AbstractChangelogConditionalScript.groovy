@@ -28,9 +28,11 @@ package org.jenkinsci.plugins.pipeline.modeldefinition.when.impl
 import hudson.model.Item
 import hudson.scm.ChangeLogSet
 import jenkins.scm.api.SCMHead
+import org.jenkinsci.plugins.pipeline.modeldefinition.actions.ChangeHistoryAction
 import org.jenkinsci.plugins.pipeline.modeldefinition.when.ChangeLogStrategy
 import org.jenkinsci.plugins.pipeline.modeldefinition.when.DeclarativeStageConditional
 import org.jenkinsci.plugins.pipeline.modeldefinition.when.DeclarativeStageConditionalScript
+import org.jenkinsci.plugins.pipeline.modeldefinition.when.utils.ChangeLogIndex
 import org.jenkinsci.plugins.workflow.cps.CpsScript
 import org.jenkinsci.plugins.workflow.support.steps.build.RunWrapper
 
@@ -45,7 +47,7 @@ abstract class AbstractChangelogConditionalScript<S extends DeclarativeStageCond
         initializeEval()
         RunWrapper run = (RunWrapper)this.script.getProperty("currentBuild")
         if (run != null) {
-            List<ChangeLogSet<? extends ChangeLogSet.Entry>> changeSets = []
+            ChangeHistoryAction.Changes history = null
             def head = SCMHead.HeadByItem.findHead((Item)run.rawBuild.parent)
             if (head != null) {
                 /*
@@ -62,18 +64,13 @@ abstract class AbstractChangelogConditionalScript<S extends DeclarativeStageCond
 
                 if (ChangeLogStrategy.isExamineAllBuilds(head)) {
                     script.echo "Examining changelog from all builds of this change request."
-                    for (RunWrapper currB = run; currB != null; currB = currB.previousBuild) {
-                        changeSets.addAll(currB.getChangeSets())
-                    }
+                    // The earlier builds' changes are recorded once per build, rather than loading every build.
+                    history = ChangeHistoryAction.earlierChangesOf(run.rawBuild)
                 }
             }
 
-            if (changeSets.isEmpty()) { //in case none of the above applies
-                changeSets = run.getChangeSets()
-            }
-
-
-            if (changeSets.isEmpty()) {
+            List<ChangeLogSet<? extends ChangeLogSet.Entry>> changeSets = run.getChangeSets()
+            if (changeSets.isEmpty() && (history == null || history.isEmpty())) {
                 if (run.number <= 1) {
                     script.echo "Warning, empty changelog. Probably because this is the first build." //TODO JENKINS-46086
                 } else {
@@ -81,15 +78,25 @@ abstract class AbstractChangelogConditionalScript<S extends DeclarativeStageCond
                 }
                 return false
             }
-            return changeSets.any {def set ->
-                return set.any { def change ->
-                    return matches(change)
-                }
-            }
+            return matches(ChangeLogIndex.of(run.rawBuild, changeSets, history))
         }
         return false
     }
 
+    /**
+     * Checks all the changes at once. The index is shared by all conditions of the run, so this can be overridden to
+     * look up or remember results there rather than examining every change again.
+     */
+    boolean matches(ChangeLogIndex index) {
+        return anyChangeMatches(index)
+    }
+
+    boolean anyChangeMatches(ChangeLogIndex index) {
+        return index.entries.any { def change ->
+            return matches(change)
+        }
+    }
+
     abstract boolean matches(ChangeLogSet.Entry change)
     void initializeEval() {}
 }
@@ -26,24 +26,26 @@
 package org.jenkinsci.plugins.pipeline.modeldefinition.when.impl
 
 import hudson.scm.ChangeLogSet
+import org.jenkinsci.plugins.pipeline.modeldefinition.Utils
+import org.jenkinsci.plugins.pipeline.modeldefinition.when.utils.ChangeLogIndex
 import org.jenkinsci.plugins.workflow.cps.CpsScript
 
 class ChangeLogConditionalScript extends AbstractChangelogConditionalScript<ChangeLogConditional> {
 
-    Class<?> gitChangeSetClass
-
     ChangeLogConditionalScript(CpsScript s, ChangeLogConditional c) {
         super(s, c)
     }
 
     @Override
-    void initializeEval() {
-        //Probably running with git plugin
-        try {
-            gitChangeSetClass = Class.forName("hudson.plugins.git.GitChangeSet")
-        } catch (ClassNotFoundException cnfe) {
-            gitChangeSetClass = null
+    boolean matches(ChangeLogIndex index) {
+        // Stages with the same changelog condition get the same answer.
+        String key = "changelog:" + describable.pattern
+        Boolean recorded = index.getRecordedMatch(key)
+        if (recorded == null) {
+            recorded = anyChangeMatches(index) || describable.historyMatches(index.history)
+            index.recordMatch(key, recorded)
         }
+        return recorded
     }
 
     @Override
@@ -51,14 +53,7 @@ class ChangeLogConditionalScript extends AbstractChangelogConditionalScript<Chan
         //Future enhancement could be to somehow return the capture groups as env vars or something
         //But it's probably simpler to make a build step that recaptures that information
 
-        if (gitChangeSetClass != null && change?.getClass()?.isAssignableFrom(gitChangeSetClass)) {
-            String title = change.title == null ? "" : change.title
-            String comment = change.comment == null ? "" : change.comment
-            return describable.asPattern.matcher(title).matches() || describable.multiLinePattern.matcher(comment).matches()
-        } else {
-            //Something generic
-            String msg = change.msg == null ? "" : change.msg
-            return describable.asPattern.matcher(msg).matches() || describable.multiLinePattern.matcher(msg).matches()
-        }
+        // The same messages are recorded for earlier builds, so they're matched the same way.
+        return describable.matches(Utils.changeOf(change))
     }
 }
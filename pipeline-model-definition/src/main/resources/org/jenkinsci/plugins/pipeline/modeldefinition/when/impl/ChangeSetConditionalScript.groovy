@@ -26,6 +26,7 @@
 package org.jenkinsci.plugins.pipeline.modeldefinition.when.impl
 
 import hudson.scm.ChangeLogSet
+import org.jenkinsci.plugins.pipeline.modeldefinition.when.utils.ChangeLogIndex
 import org.jenkinsci.plugins.workflow.cps.CpsScript
 
 class ChangeSetConditionalScript extends AbstractChangelogConditionalScript<ChangeSetConditional> {
@@ -35,6 +36,11 @@ class ChangeSetConditionalScript extends AbstractChangelogConditionalScript<Chan
         super(s, c)
     }
 
+    @Override
+    boolean matches(ChangeLogIndex index) {
+        return describable.changeSetMatches(index)
+    }
+
     @Override
     boolean matches(ChangeLogSet.Entry change) {
         return describable.changeSetMatches(change, describable.pattern, describable.caseSensitive)
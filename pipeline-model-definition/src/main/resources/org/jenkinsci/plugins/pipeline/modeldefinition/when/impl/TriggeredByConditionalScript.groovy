@@ -38,6 +38,6 @@ class TriggeredByConditionalScript extends DeclarativeStageConditionalScript<Tri
 
     @Override
     boolean evaluate() {
-        return Utils.isRunCausedBy(script, describable.cause, describable.detail)
+        return Utils.isRunCausedBy(script, describable.causePattern, describable.cause, describable.detail)
     }
 }
\ No newline at end of file
@@ -23,6 +23,7 @@
  */
 package org.jenkinsci.plugins.pipeline.modeldefinition;
 
+import hudson.model.Label;
 import hudson.model.Node;
 import hudson.model.Queue;
 import hudson.model.Result;
@@ -31,18 +32,24 @@ import hudson.model.queue.CauseOfBlockage;
 import hudson.model.queue.QueueTaskDispatcher;
 import hudson.slaves.EnvironmentVariablesNodeProperty;
 import java.io.File;
+import java.util.Arrays;
 import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang3.StringUtils;
 import org.jenkinsci.plugins.workflow.cps.CpsFlowDefinition;
 import org.jenkinsci.plugins.workflow.job.WorkflowJob;
 import org.jenkinsci.plugins.workflow.job.WorkflowRun;
+import org.jenkinsci.plugins.workflow.test.steps.SemaphoreStep;
 import org.junit.BeforeClass;
 import org.junit.Ignore;
 import org.junit.Rule;
 import org.junit.Test;
 import org.jvnet.hudson.test.InboundAgentRule;
 import org.jvnet.hudson.test.Issue;
+import org.jvnet.hudson.test.JenkinsRule;
 import org.jvnet.hudson.test.TestExtension;
 
+import static org.junit.Assert.assertEquals;
+
 /**
  * @author Andrew Bayer
  */
@@ -138,6 +145,87 @@ public class AgentTest extends AbstractModelDefTest {
                 .go();
     }
 
+    @Test
+    public void reuseAgentAcrossStages() throws Exception {
+        WorkflowRun b = expect("agent/reuseAgentAcrossStages")
+                .logContains("First stage agent: first",
+                        "Second stage agent: first, written in first",
+                        "Third stage agent: second")
+                .go();
+        // One node block for the first two stages, and another for the third.
+        assertEquals(2, StringUtils.countMatches(JenkinsRule.getLog(b), "Running on "));
+    }
+
+    @Test
+    public void reuseAgentAcrossStagesEvaluatedWhenReached() throws Exception {
+        WorkflowRun b = expect("agent/reuseAgentAcrossStagesEvaluatedWhenReached")
+                .logContains("First stage agent: first",
+                        "Second stage agent: first, written in first",
+                        "Third stage agent: first")
+                .go();
+        // The second stage's label is only known once the first has run, and the third evaluates its when condition
+        // before its agent, so it gets its own node block.
+        assertEquals(2, StringUtils.countMatches(JenkinsRule.getLog(b), "Running on "));
+    }
+
+    @Test
+    public void provisionAgentsAhead() throws Exception {
+        WorkflowJob p = j.createProject(WorkflowJob.class);
+        p.setDefinition(new CpsFlowDefinition("pipeline {\n" +
+                "  agent none\n" +
+                "  options { provisionAgentsAhead() }\n" +
+                "  stages {\n" +
+                "    stage('one') { steps { semaphore 'one' } }\n" +
+                "    stage('two') { when { beforeAgent true; expression { false } }\n" +
+                "      agent { label 'not-provisioned-yet' }\n steps { echo 'Should never be reached' } }\n" +
+                "    stage('three') { agent { label 'some-label' }\n steps { echo 'Stage three ran' } }\n" +
+                "  }\n" +
+                "}", true));
+        WorkflowRun b = p.scheduleBuild2(0).waitForStart();
+        SemaphoreStep.waitForStart("one/1", b);
+
+        // The agent for stage two is predicted while stage one is still running, without anything in the queue...
+        assertEquals(1, AgentReservations.predictedDemand(Label.get("not-provisioned-yet")));
+        assertEquals(0, queuedFor("not-provisioned-yet"));
+
+        SemaphoreStep.success("one/1", null);
+        j.assertBuildStatusSuccess(j.waitForCompletion(b));
+        j.assertLogContains("Stage three ran", b);
+        j.assertLogNotContains("Should never be reached", b);
+
+        // ...and released when stage two is skipped.
+        assertEquals(0, AgentReservations.predictedDemand(Label.get("not-provisioned-yet")));
+    }
+
+    @Test
+    public void provisionAgentsAheadSkipsVariableLabels() throws Exception {
+        WorkflowJob p = j.createProject(WorkflowJob.class);
+        p.setDefinition(new CpsFlowDefinition("pipeline {\n" +
+                "  agent none\n" +
+                "  options { provisionAgentsAhead() }\n" +
+                "  stages {\n" +
+                "    stage('one') { steps { script { env.NEXT_LABEL = 'some-label' }\n semaphore 'one' } }\n" +
+                "    stage('two') { agent { label \"${env.NEXT_LABEL}\" }\n steps { echo 'Stage two ran' } }\n" +
+                "  }\n" +
+                "}", true));
+        WorkflowRun b = p.scheduleBuild2(0).waitForStart();
+        SemaphoreStep.waitForStart("one/1", b);
+
+        // The label of stage two is only known once stage one has run, so it isn't predicted.
+        assertEquals(0, AgentReservations.predictedDemand(Label.get("null")));
+        assertEquals(0, AgentReservations.predictedDemand(Label.get("some-label")));
+
+        SemaphoreStep.success("one/1", null);
+        j.assertBuildStatusSuccess(j.waitForCompletion(b));
+        j.assertLogContains("Stage two ran", b);
+    }
+
+    private static long queuedFor(String label) {
+        return Arrays.stream(j.jenkins.getQueue().getItems())
+                .filter(i -> i.getAssignedLabel() != null && label.equals(i.getAssignedLabel().getName()))
+                .count();
+    }
+
     @Issue("JENKINS-54919")
     @Test
     public void paramInAgentLabel() throws Exception {
@@ -42,6 +42,9 @@ import jenkins.model.BuildDiscarderProperty;
 import org.jenkinsci.plugins.pipeline.modeldefinition.actions.DeclarativeJobPropertyTrackerAction;
 import org.jenkinsci.plugins.pipeline.modeldefinition.actions.DisableRestartFromStageAction;
 import org.jenkinsci.plugins.pipeline.modeldefinition.actions.ExecutionModelAction;
+import org.jenkinsci.plugins.pipeline.modeldefinition.model.Options;
+import org.jenkinsci.plugins.pipeline.modeldefinition.model.StageOptions;
+import org.jenkinsci.plugins.pipeline.modeldefinition.model.Triggers;
 import org.jenkinsci.plugins.pipeline.modeldefinition.options.impl.DisableRestartFromStage;
 import org.jenkinsci.plugins.pipeline.modeldefinition.parser.RuntimeASTTransformer;
 import org.jenkinsci.plugins.workflow.cps.CpsFlowDefinition;
@@ -559,6 +562,42 @@ public class OptionsTest extends AbstractModelDefTest {
         assertSame(strategy, strategy2);
     }
 
+    @Test
+    public void unchangedJobPropertiesSkipped() throws Exception {
+        WorkflowRun b = getAndStartNonRepoBuild("options/simpleJobProperties");
+        j.assertBuildStatusSuccess(j.waitForCompletion(b));
+        WorkflowJob job = b.getParent();
+
+        DeclarativeJobPropertyTrackerAction action = job.getAction(DeclarativeJobPropertyTrackerAction.class);
+        assertNotNull(action);
+        assertNotNull(action.getFingerprint());
+
+        j.buildAndAssertSuccess(job);
+        assertSame(action, job.getAction(DeclarativeJobPropertyTrackerAction.class));
+
+        // Changes made outside of the Jenkinsfile still get overwritten by the next build.
+        job.removeProperty(BuildDiscarderProperty.class);
+        j.buildAndAssertSuccess(job);
+        assertNotNull(job.getProperty(BuildDiscarderProperty.class));
+        assertEquals(action.getFingerprint(), job.getAction(DeclarativeJobPropertyTrackerAction.class).getFingerprint());
+    }
+
+    @Test
+    public void typeCachesBuiltTogether() throws Exception {
+        SymbolTypeCache.invalidateAll();
+        long rebuilds = SymbolTypeCache.getRebuildCount();
+
+        assertTrue(Options.getAllowedOptionTypes().containsKey("buildDiscarder"));
+        assertEquals(rebuilds + 1, SymbolTypeCache.getRebuildCount());
+        assertTrue(StageOptions.getAllowedOptionTypes().containsKey("timeout"));
+        assertTrue(Triggers.getAllowedTriggerTypes().containsKey("cron"));
+        assertEquals(rebuilds + 1, SymbolTypeCache.getRebuildCount());
+
+        SymbolTypeCache.invalidateAll();
+        assertTrue(Triggers.getAllowedTriggerTypes().containsKey("cron"));
+        assertEquals(rebuilds + 2, SymbolTypeCache.getRebuildCount());
+    }
+
     @Issue("JENKINS-54250")
     @Test
     public void verifyDisableRestartFromStageActionIsAdded() throws Exception {
@@ -31,6 +31,7 @@ import hudson.model.queue.QueueTaskFuture;
 import hudson.slaves.EnvironmentVariablesNodeProperty;
 import org.apache.commons.lang3.StringUtils;
 import org.jenkinsci.plugins.pipeline.StageStatus;
+import org.jenkinsci.plugins.pipeline.modeldefinition.actions.StageDurationsAction;
 import org.jenkinsci.plugins.workflow.actions.TagsAction;
 import org.jenkinsci.plugins.workflow.cps.CpsFlowDefinition;
 import org.jenkinsci.plugins.workflow.cps.CpsFlowExecution;
@@ -51,6 +52,7 @@ import org.jvnet.hudson.test.JenkinsRule;
 
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 
 import static org.junit.Assert.*;
@@ -392,6 +394,49 @@ public class ParallelTest extends AbstractModelDefTest {
         assertTrue(StageStatus.isSkippedStageForReason(startFirst, StageStatus.getSkippedForFailure()));
         }
 
+    @Test
+    public void parallelStagesMaxConcurrentBranches() throws Exception {
+        WorkflowRun b = expect("parallel/parallelStagesMaxConcurrentBranches")
+                .logContains("{ (Branch: first)", "{ (Branch: second)", "{ (Branch: third)",
+                        "First branch finished", "Second branch finished", "Third branch finished")
+                .go();
+
+        // With a limit of one, no branch may start until the previous one has finished.
+        int running = 0;
+        for (String line : b.getLog(Integer.MAX_VALUE)) {
+            if (line.endsWith(" branch started")) {
+                running++;
+                assertEquals("Too many branches running at: " + line, 1, running);
+            } else if (line.endsWith(" branch finished")) {
+                running--;
+            }
+        }
+        assertEquals(0, running);
+        // Branch durations are only recorded for runs using the longestBranchesFirst option.
+        assertNull(b.getAction(StageDurationsAction.class));
+    }
+
+    @Test
+    public void parallelStagesLongestBranchesFirst() throws Exception {
+        WorkflowJob p = j.createProject(WorkflowJob.class);
+        p.setDefinition(new CpsFlowDefinition(pipelineSourceFromResources("parallel/parallelStagesLongestBranchesFirst"), true));
+
+        // Without any earlier builds, the branches run in the order they're declared...
+        WorkflowRun b1 = j.buildAndAssertSuccess(p);
+        String log1 = JenkinsRule.getLog(b1);
+        assertTrue(log1.indexOf("Short branch ran") < log1.indexOf("Long branch ran"));
+        // The branch durations are recorded when the build completes, keyed by the parallel stage they're in.
+        StageDurationsAction durations = b1.getAction(StageDurationsAction.class);
+        assertNotNull(durations);
+        assertEquals(new HashSet<>(Arrays.asList("short", "long")), durations.getBranchDurations("foo").keySet());
+        assertTrue(durations.getBranchDurations("other").isEmpty());
+
+        // ...and after that, the branch which took longest runs first.
+        WorkflowRun b2 = j.buildAndAssertSuccess(p);
+        String log2 = JenkinsRule.getLog(b2);
+        assertTrue(log2.indexOf("Long branch ran") < log2.indexOf("Short branch ran"));
+    }
+
     @Issue("JENKINS-46597")
     @Test
     public void parallelStagesShoudntTriggerNSE() throws Exception {
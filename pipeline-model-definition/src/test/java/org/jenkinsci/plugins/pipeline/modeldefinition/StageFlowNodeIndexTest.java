@@ -0,0 +1,100 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 CloudBees, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.jenkinsci.plugins.pipeline.modeldefinition;
+
+import org.jenkinsci.plugins.workflow.actions.LabelAction;
+import org.jenkinsci.plugins.workflow.actions.ThreadNameAction;
+import org.jenkinsci.plugins.workflow.cps.CpsFlowDefinition;
+import org.jenkinsci.plugins.workflow.cps.nodes.StepStartNode;
+import org.jenkinsci.plugins.workflow.flow.FlowExecution;
+import org.jenkinsci.plugins.workflow.graph.BlockEndNode;
+import org.jenkinsci.plugins.workflow.graph.FlowNode;
+import org.jenkinsci.plugins.workflow.graphanalysis.DepthFirstScanner;
+import org.jenkinsci.plugins.workflow.job.WorkflowJob;
+import org.jenkinsci.plugins.workflow.job.WorkflowRun;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class StageFlowNodeIndexTest extends AbstractModelDefTest {
+
+    @Test
+    public void findsStagesAndParallelBranches() throws Exception {
+        WorkflowJob p = j.createProject(WorkflowJob.class);
+        p.setDefinition(new CpsFlowDefinition("pipeline {\n" +
+                "  agent none\n" +
+                "  stages {\n" +
+                "    stage('one') { steps { echo 'one' } }\n" +
+                "    stage('two') {\n" +
+                "      parallel {\n" +
+                "        stage('a') { steps { echo 'a' } }\n" +
+                "        stage('b') { stages { stage('nested') { steps { echo 'nested' } } } }\n" +
+                "      }\n" +
+                "    }\n" +
+                "  }\n" +
+                "}", true));
+        WorkflowRun b = j.buildAndAssertSuccess(p);
+        FlowExecution execution = b.getExecution();
+        StageFlowNodeIndex index = StageFlowNodeIndex.forExecution(execution);
+        assertNotNull(index);
+
+        // Stages are found by name, as the start of the stage step rather than of its body...
+        for (String name : new String[] {"one", "two", "nested"}) {
+            FlowNode stage = index.findStage(name, execution);
+            assertNotNull(name, stage);
+            assertEquals(name, stage.getDisplayName());
+            assertTrue(stage instanceof StepStartNode);
+            assertFalse(((StepStartNode) stage).isBody());
+            assertEquals(stage, new DepthFirstScanner().findFirstMatch(execution, CommonUtils.isStageWithOptionalName(name)));
+        }
+        assertNull(index.findStage("missing", execution));
+
+        // ...and their end nodes by the start node's ID.
+        FlowNode one = index.findStage("one", execution);
+        FlowNode end = index.findEndNode(one, execution);
+        assertTrue(end instanceof BlockEndNode);
+        assertEquals(one.getId(), ((BlockEndNode<?>) end).getStartNode().getId());
+
+        // A branch contains a stage of the same name, which is found along with the branch enclosing it.
+        FlowNode a = index.findStage("a", execution);
+        assertNotNull(a);
+        List<FlowNode> branches = index.findEnclosingParallelBranches(a, "a", execution);
+        assertEquals(1, branches.size());
+        assertEquals("a", branches.get(0).getAction(ThreadNameAction.class).getThreadName());
+        assertNotNull(branches.get(0).getAction(LabelAction.class));
+        assertNotNull(index.findEndNode(branches.get(0), execution));
+
+        // A stage nested within a branch has that branch enclosing it, but not the others.
+        List<FlowNode> nestedBranches = index.findEnclosingParallelBranches(index.findStage("nested", execution), null, execution);
+        assertEquals(1, nestedBranches.size());
+        assertEquals("b", nestedBranches.get(0).getAction(ThreadNameAction.class).getThreadName());
+    }
+}
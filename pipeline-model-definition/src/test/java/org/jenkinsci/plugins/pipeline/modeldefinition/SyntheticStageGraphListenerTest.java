@@ -23,6 +23,7 @@
  */
 package org.jenkinsci.plugins.pipeline.modeldefinition;
 
+import hudson.ExtensionList;
 import org.jenkinsci.plugins.pipeline.SyntheticStage;
 import org.jenkinsci.plugins.workflow.cps.CpsFlowDefinition;
 import org.jenkinsci.plugins.workflow.flow.FlowExecution;
@@ -39,10 +40,16 @@ import org.jvnet.hudson.test.BuildWatcher;
 import org.jvnet.hudson.test.Issue;
 import org.jvnet.hudson.test.RestartableJenkinsRule;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.jenkinsci.plugins.pipeline.modeldefinition.BasicModelDefTest.syntheticStagePredicate;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 
 public class SyntheticStageGraphListenerTest {
 
@@ -102,4 +109,64 @@ public class SyntheticStageGraphListenerTest {
         });
     }
 
+    @Test
+    public void declarativeRunCheckedConcurrently() throws Exception {
+        rr.addStep(new Statement() {
+            @Override
+            public void evaluate() throws Throwable {
+                WorkflowJob declarative = rr.j.createProject(WorkflowJob.class, "declarative");
+                declarative.setDefinition(new CpsFlowDefinition("pipeline {\n" +
+                        "  agent none\n" +
+                        "  stages {\n" +
+                        "    stage('x') {\n" +
+                        "      steps {\n" +
+                        "        semaphore 'declarative'\n" +
+                        "      }\n" +
+                        "    }\n" +
+                        "  }\n" +
+                        "}", true));
+                WorkflowJob scripted = rr.j.createProject(WorkflowJob.class, "scripted");
+                scripted.setDefinition(new CpsFlowDefinition("stage('x') {\n" +
+                        "  semaphore 'scripted'\n" +
+                        "}", true));
+                WorkflowRun d = declarative.scheduleBuild2(0).waitForStart();
+                SemaphoreStep.waitForStart("declarative/1", d);
+                WorkflowRun s = scripted.scheduleBuild2(0).waitForStart();
+                SemaphoreStep.waitForStart("scripted/1", s);
+
+                SyntheticStageGraphListener listener = ExtensionList.lookupSingleton(SyntheticStageGraphListener.class);
+                FlowExecution declarativeExecution = d.getExecution();
+                FlowExecution scriptedExecution = s.getExecution();
+                assertNotNull(declarativeExecution);
+                assertNotNull(scriptedExecution);
+
+                // Hammer the check from many threads at once, as the CPS VM threads of many builds would.
+                int threads = 16;
+                ExecutorService pool = Executors.newFixedThreadPool(threads);
+                try {
+                    List<Future<Boolean>> results = new ArrayList<>();
+                    for (int t = 0; t < threads; t++) {
+                        results.add(pool.submit(() -> {
+                            for (int i = 0; i < 10000; i++) {
+                                if (!listener.isDeclarativeRun(declarativeExecution) || listener.isDeclarativeRun(scriptedExecution)) {
+                                    return false;
+                                }
+                            }
+                            return true;
+                        }));
+                    }
+                    for (Future<Boolean> result : results) {
+                        assertTrue(result.get());
+                    }
+                } finally {
+                    pool.shutdownNow();
+                }
+
+                SemaphoreStep.success("declarative/1", null);
+                SemaphoreStep.success("scripted/1", null);
+                rr.j.assertBuildStatusSuccess(rr.j.waitForCompletion(d));
+                rr.j.assertBuildStatusSuccess(rr.j.waitForCompletion(s));
+            }
+        });
+    }
 }
@@ -118,6 +118,8 @@ public final class UpgradeTest {
                 var b = p.getBuildByNumber(1);
                 r.waitForMessage("Resuming build at ", b);
                 r.waitForMessage("Ready to run at ", b);
+                assertThat(Files.exists(b.getRootDir().toPath().resolve(Upgrade.OLD_MARKER)), is(true));
+                assertThat(Files.exists(b.getRootDir().toPath().resolve(Upgrade.NOT_OLD_MARKER)), is(false));
             });
             rr.then(r -> {
                 var p = r.jenkins.getItemByFullName("p", WorkflowJob.class);
@@ -28,6 +28,7 @@ package org.jenkinsci.plugins.pipeline.modeldefinition;
 import hudson.model.Slave;
 import jenkins.branch.BranchSource;
 import jenkins.scm.impl.mock.*;
+import org.jenkinsci.plugins.pipeline.modeldefinition.actions.ChangeHistoryAction;
 import org.jenkinsci.plugins.workflow.job.WorkflowJob;
 import org.jenkinsci.plugins.workflow.job.WorkflowRun;
 import org.jenkinsci.plugins.workflow.multibranch.WorkflowMultiBranchProject;
@@ -36,11 +37,13 @@ import org.junit.Test;
 import org.jvnet.hudson.test.TestExtension;
 
 import static org.hamcrest.collection.IsCollectionWithSize.hasSize;
+import static org.hamcrest.core.IsCollectionContaining.hasItem;
 import static org.hamcrest.collection.IsEmptyCollection.empty;
 import static org.hamcrest.core.IsEqual.equalTo;
 import static org.hamcrest.core.IsNot.not;
 import static org.jenkinsci.plugins.pipeline.modeldefinition.WhenStageTest.waitFor;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertThat;
 
 public class WhenStageMultibranchTest extends AbstractModelDefTest {
@@ -111,6 +114,13 @@ public class WhenStageMultibranchTest extends AbstractModelDefTest {
         j.assertLogNotContains("Stage \"Two\" skipped due to when conditional", build3);
         j.assertLogNotContains("Stage \"Three\" skipped due to when conditional", build3);
         j.assertLogNotContains("Warning, empty changelog", build3);
+
+        // Build 3 matched on the changes of build 2, which were recorded with build 2 when build 3 examined them.
+        ChangeHistoryAction history = build2.getAction(ChangeHistoryAction.class);
+        assertNotNull(history);
+        assertThat(history.getChanges().getPaths(), hasItem("webapp/js/somecode.js"));
+        assertNotNull(history.getEarlierChanges());
+        assertNull(build3.getAction(ChangeHistoryAction.class));
     }
 
     @Test
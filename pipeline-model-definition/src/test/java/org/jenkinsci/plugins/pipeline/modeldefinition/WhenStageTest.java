@@ -43,12 +43,14 @@ import jenkins.scm.impl.mock.MockSCMController;
 import jenkins.scm.impl.mock.MockSCMDiscoverChangeRequests;
 import jenkins.scm.impl.mock.MockSCMSource;
 import net.sf.json.JSONObject;
+import org.jenkinsci.plugins.pipeline.StageStatus;
 import org.jenkinsci.plugins.pipeline.modeldefinition.endpoints.ModelConverterAction;
 import org.jenkinsci.plugins.pipeline.modeldefinition.parser.RuntimeASTTransformer;
 import org.jenkinsci.plugins.pipeline.modeldefinition.when.ChangeLogStrategy;
 import org.jenkinsci.plugins.pipeline.modeldefinition.when.DeclarativeStageConditional;
 import org.jenkinsci.plugins.workflow.cps.CpsFlowDefinition;
 import org.jenkinsci.plugins.workflow.cps.CpsFlowExecution;
+import org.jenkinsci.plugins.workflow.graphanalysis.DepthFirstScanner;
 import org.jenkinsci.plugins.workflow.job.WorkflowJob;
 import org.jenkinsci.plugins.workflow.job.WorkflowRun;
 import org.jenkinsci.plugins.workflow.multibranch.WorkflowMultiBranchProject;
@@ -57,6 +59,7 @@ import org.jenkinsci.plugins.workflow.support.pickles.SingleTypedPickleFactory;
 import org.jenkinsci.plugins.workflow.support.pickles.XStreamPickle;
 import org.jenkinsci.plugins.workflow.support.steps.input.InputAction;
 import org.jenkinsci.plugins.workflow.support.steps.input.InputStepExecution;
+import org.jenkinsci.plugins.workflow.test.steps.SemaphoreStep;
 import org.junit.BeforeClass;
 import org.junit.Test;
 import org.jvnet.hudson.test.Issue;
@@ -700,6 +703,54 @@ public class WhenStageTest extends AbstractModelDefTest {
                 .go();
     }
 
+    @Test
+    public void skippedStageTagsWrittenBeforeNextStep() throws Exception {
+        WorkflowJob p = j.createProject(WorkflowJob.class, "skippedStageTagsWrittenBeforeNextStep");
+        p.setDefinition(new CpsFlowDefinition("pipeline {\n" +
+                "  agent none\n" +
+                "  stages {\n" +
+                "    stage('one') { when { expression { false } }\n steps { echo 'Should never be reached' } }\n" +
+                "    stage('two') { when { expression { false } }\n steps { echo 'Should never be reached' } }\n" +
+                "    stage('three') { when { expression { false } }\n steps { echo 'Should never be reached' } }\n" +
+                "    stage('four') { steps { semaphore 'four' } }\n" +
+                "  }\n" +
+                "}", true));
+        WorkflowRun b = p.scheduleBuild2(0).waitForStart();
+        SemaphoreStep.waitForStart("four/1", b);
+
+        // The tags for the skipped stages must have been written before the semaphore step started.
+        DepthFirstScanner scanner = new DepthFirstScanner();
+        for (String stage : new String[] {"one", "two", "three"}) {
+            assertNotNull(stage, scanner.findFirstMatch(b.getExecution().getCurrentHeads(), null,
+                    BasicModelDefTest.stageStatusPredicate(stage, StageStatus.getSkippedForConditional())));
+        }
+
+        SemaphoreStep.success("four/1", null);
+        j.assertBuildStatusSuccess(j.waitForCompletion(b));
+        j.assertLogNotContains("Should never be reached", b);
+    }
+
+    @Test
+    public void skippedStageTagsWrittenBeforeWaitingForAgent() throws Exception {
+        WorkflowJob p = j.createProject(WorkflowJob.class, "skippedStageTagsWrittenBeforeWaitingForAgent");
+        p.setDefinition(new CpsFlowDefinition("pipeline {\n" +
+                "  agent none\n" +
+                "  stages {\n" +
+                "    stage('one') { when { expression { false } }\n steps { echo 'Should never be reached' } }\n" +
+                "    stage('two') { agent { label 'no-such-agent' }\n steps { echo 'Should never be reached' } }\n" +
+                "  }\n" +
+                "}", true));
+        WorkflowRun b = p.scheduleBuild2(0).waitForStart();
+        j.waitForMessage("no-such-agent", b);
+
+        // The build is waiting in the queue for the agent, but the skipped stage's tag must already be written.
+        assertNotNull(new DepthFirstScanner().findFirstMatch(b.getExecution().getCurrentHeads(), null,
+                BasicModelDefTest.stageStatusPredicate("one", StageStatus.getSkippedForConditional())));
+
+        b.doStop();
+        j.assertBuildStatus(Result.ABORTED, j.waitForCompletion(b));
+    }
+
     @TestExtension
     public static class TestChangeLogStrategy extends ChangeLogStrategy {
         //Implement in a similar way as DefaultChangeLogStrategy to be a bit more true to reality.
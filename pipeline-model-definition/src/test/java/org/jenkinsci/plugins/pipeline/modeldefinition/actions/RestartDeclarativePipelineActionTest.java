@@ -706,6 +706,11 @@ public class RestartDeclarativePipelineActionTest extends AbstractModelDefTest {
         List<String> restartableStages = action.getRestartableStages();
         assertThat(restartableStages, is(Arrays.asList("skip-on-restart", "restart")));
 
+        // The restartable stages were recorded when the build completed.
+        RestartableStagesAction summary = original.getAction(RestartableStagesAction.class);
+        assertNotNull(summary);
+        assertThat(summary.getStages(), is(restartableStages));
+
         HtmlPage redirect = restartFromStageInUI(original, "restart");
 
         assertNotNull(redirect);
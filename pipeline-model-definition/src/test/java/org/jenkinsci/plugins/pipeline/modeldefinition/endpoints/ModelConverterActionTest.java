@@ -32,11 +32,14 @@ import org.jenkinsci.plugins.pipeline.modeldefinition.AbstractModelDefTest;
 import org.jenkinsci.plugins.pipeline.modeldefinition.Messages;
 import org.jenkinsci.plugins.pipeline.modeldefinition.model.BuildCondition;
 import org.jenkinsci.plugins.pipeline.modeldefinition.model.Tools;
+import org.jenkinsci.plugins.pipeline.modeldefinition.parser.CompilationContextPool;
+import org.jenkinsci.plugins.pipeline.modeldefinition.parser.Converter;
 import org.junit.Test;
 import org.jvnet.hudson.test.Issue;
 import org.jvnet.hudson.test.JenkinsRule;
 
 import java.net.URL;
+import java.util.Arrays;
 import java.util.Collections;
 
 import static org.junit.Assert.*;
@@ -272,4 +275,50 @@ public class ModelConverterActionTest extends AbstractModelDefTest {
         }
     }
 
+    @Test
+    public void parallelValidationReportsErrorsInSameOrder() throws Exception {
+        String jenkinsfile = "pipeline {\n" +
+                "  agent any\n" +
+                "  stages {\n" +
+                "    stage('one') { steps { echo() } }\n" +
+                "    stage('two') { when { banana true } steps { echo 'two' } }\n" +
+                "    stage('three') { post { notACondition { echo 'three' } } steps { echo 'three' } }\n" +
+                "  }\n" +
+                "  options { notAnOption() }\n" +
+                "  tools { banana 'latest' }\n" +
+                "}\n";
+
+        JSONArray sequentialErrors = validateJenkinsfileErrors(jenkinsfile, false);
+        assertTrue("Expected several errors - " + sequentialErrors.toString(2), sequentialErrors.size() > 3);
+        assertEquals(sequentialErrors, validateJenkinsfileErrors(jenkinsfile, true));
+    }
+
+    @Test
+    public void compilationContextReused() throws Exception {
+        CompilationContextPool.clear();
+        String jenkinsfile = "pipeline { agent any\n stages { stage('one') { steps { echo 'one' } } } }";
+
+        assertNotNull(Converter.scriptToPipelineDef(jenkinsfile));
+        assertEquals(1, CompilationContextPool.getIdleCount());
+        CompilationContextPool.Context context = CompilationContextPool.borrow();
+        CompilationContextPool.release(context);
+
+        assertNotNull(Converter.scriptToPlainSteps("echo 'hello'"));
+        assertEquals(1, CompilationContextPool.getIdleCount());
+        assertSame(context, CompilationContextPool.borrow());
+    }
+
+    private JSONArray validateJenkinsfileErrors(String jenkinsfile, boolean parallel) throws Exception {
+        JenkinsRule.WebClient wc = j.createWebClient();
+        WebRequest req = new WebRequest(new URL(wc.getContextPath() + ModelConverterAction.PIPELINE_CONVERTER_URL + "/validateJenkinsfile"), HttpMethod.POST);
+        req.setRequestParameters(Arrays.asList(new NameValuePair("jenkinsfile", jenkinsfile),
+                new NameValuePair("parallelValidation", String.valueOf(parallel))));
+
+        String rawResult = wc.getPage(req).getWebResponse().getContentAsString();
+        assertNotNull(rawResult);
+
+        JSONObject resultData = JSONObject.fromObject(rawResult).getJSONObject("data");
+        assertEquals("Result wasn't a failure - " + resultData.toString(2), "failure", resultData.getString("result"));
+        return resultData.getJSONArray("errors");
+    }
 }
@@ -26,6 +26,7 @@ package org.jenkinsci.plugins.pipeline.modeldefinition.parser;
 import net.sf.json.JSONObject;
 import org.jenkinsci.plugins.pipeline.modeldefinition.AbstractModelDefTest;
 import org.jenkinsci.plugins.pipeline.modeldefinition.BaseParserLoaderTest;
+import org.jenkinsci.plugins.pipeline.modeldefinition.ast.ModelASTGroovyHash;
 import org.jenkinsci.plugins.pipeline.modeldefinition.ast.ModelASTPipelineDef;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -141,4 +142,13 @@ public class ConvertRoundTripTest extends BaseParserLoaderTest {
 
         assertEquals(groovyRoot, jsonRoot);
     }
+
+    @Test
+    public void streamedGroovyHashMatchesToGroovy() throws Exception {
+        ModelASTPipelineDef root = Converter.urlToPipelineDef(getClass().getResource("/" + configName + ".groovy"));
+
+        assertNotNull(root);
+
+        assertEquals(root.toGroovy().hashCode(), ModelASTGroovyHash.of(root));
+    }
 }
@@ -2,6 +2,7 @@ package org.jenkinsci.plugins.pipeline.modeldefinition.parser;
 
 import hudson.model.Result;
 import org.jenkinsci.plugins.pipeline.modeldefinition.Messages;
+import org.jenkinsci.plugins.pipeline.modeldefinition.validator.ValidatedPipelineCache;
 import org.jenkinsci.plugins.workflow.cps.CpsFlowDefinition;
 import org.jenkinsci.plugins.workflow.job.WorkflowJob;
 import org.jenkinsci.plugins.workflow.job.WorkflowRun;
@@ -9,6 +10,9 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.jvnet.hudson.test.JenkinsRule;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
 /**
  * @author Kohsuke Kawaguchi
  */
@@ -43,4 +47,24 @@ public class GroovyShellDecoratorImplTest {
         job.setDefinition(new CpsFlowDefinition("node { echo 'hello' }", true));
         j.assertBuildStatusSuccess(job.scheduleBuild2(0));
     }
+
+    @Test
+    public void unchangedJenkinsfileSkipsValidation() throws Exception {
+        WorkflowJob job = j.createProject(WorkflowJob.class);
+        job.setDefinition(new CpsFlowDefinition("pipeline { agent none\n stages { stage('foo') { steps { echo 'hello' } } } }", true));
+        ValidatedPipelineCache cache = ValidatedPipelineCache.get();
+
+        j.assertBuildStatusSuccess(job.scheduleBuild2(0));
+        long hits = cache.getHitCount();
+        j.assertBuildStatusSuccess(job.scheduleBuild2(0));
+        assertTrue(cache.getHitCount() > hits);
+
+        // A Jenkinsfile with errors is never recorded as valid.
+        job.setDefinition(new CpsFlowDefinition("pipeline { stages { stage { sh './test.sh' } } }", true));
+        j.assertBuildStatus(Result.FAILURE, job.scheduleBuild2(0).get());
+        hits = cache.getHitCount();
+        WorkflowRun b = j.assertBuildStatus(Result.FAILURE, job.scheduleBuild2(0).get());
+        assertEquals(hits, cache.getHitCount());
+        j.assertLogContains(Messages.ModelParser_ExpectedStringLiteral(), b);
+    }
 }
@@ -0,0 +1,134 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, CloudBees, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.jenkinsci.plugins.pipeline.modeldefinition.parser;
+
+import org.jenkinsci.plugins.pipeline.modeldefinition.ast.ModelASTAxis;
+import org.jenkinsci.plugins.pipeline.modeldefinition.ast.ModelASTExclude;
+import org.jenkinsci.plugins.pipeline.modeldefinition.ast.ModelASTExcludeAxis;
+import org.jenkinsci.plugins.pipeline.modeldefinition.ast.ModelASTKey;
+import org.jenkinsci.plugins.pipeline.modeldefinition.ast.ModelASTValue;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+
+public class MatrixCellExpansionTest {
+
+    @Test
+    public void firstAxisVariesFastest() {
+        List<String> cells = labels(new MatrixCellExpansion(
+                Arrays.asList(axis("OS", "linux", "mac"), axis("JDK", "11", "17", "21")),
+                Collections.<ModelASTExclude>emptyList()));
+
+        assertEquals(Arrays.asList(
+                "linux/11", "mac/11",
+                "linux/17", "mac/17",
+                "linux/21", "mac/21"), cells);
+    }
+
+    @Test
+    public void excludesAndNotValues() {
+        List<ModelASTExclude> excludes = Arrays.asList(
+                // exclude mac with anything but 21
+                exclude(excludeAxis("OS", false, "mac"), excludeAxis("JDK", true, "21")),
+                // exclude windows/17
+                exclude(excludeAxis("OS", false, "windows"), excludeAxis("JDK", false, "17")),
+                // unknown axis with values never matches
+                exclude(excludeAxis("BROWSER", false, "firefox")));
+
+        List<String> cells = labels(new MatrixCellExpansion(
+                Arrays.asList(axis("OS", "linux", "mac", "windows"), axis("JDK", "11", "17", "21")),
+                excludes));
+
+        assertEquals(Arrays.asList(
+                "linux/11", "windows/11",
+                "linux/17",
+                "linux/21", "mac/21", "windows/21"), cells);
+    }
+
+    @Test
+    public void everythingExcluded() {
+        List<String> cells = labels(new MatrixCellExpansion(
+                Arrays.asList(axis("OS", "linux", "mac")),
+                Collections.singletonList(exclude(excludeAxis("BROWSER", true, "firefox")))));
+
+        assertEquals(Collections.emptyList(), cells);
+    }
+
+    private static List<String> labels(MatrixCellExpansion expansion) {
+        List<String> result = new ArrayList<>();
+        for (Map<ModelASTKey, ModelASTValue> cell : expansion) {
+            StringBuilder label = new StringBuilder();
+            for (ModelASTValue v : cell.values()) {
+                if (label.length() > 0) {
+                    label.append('/');
+                }
+                label.append(v.getValue());
+            }
+            result.add(label.toString());
+        }
+        return result;
+    }
+
+    private static ModelASTKey key(String name) {
+        ModelASTKey key = new ModelASTKey(null);
+        key.setKey(name);
+        return key;
+    }
+
+    private static List<ModelASTValue> values(String... values) {
+        List<ModelASTValue> result = new ArrayList<>();
+        for (String v : values) {
+            result.add(ModelASTValue.fromConstant(v, null));
+        }
+        return result;
+    }
+
+    private static ModelASTAxis axis(String name, String... values) {
+        ModelASTAxis axis = new ModelASTAxis(null);
+        axis.setName(key(name));
+        axis.setValues(values(values));
+        return axis;
+    }
+
+    private static ModelASTExcludeAxis excludeAxis(String name, boolean inverse, String... values) {
+        ModelASTExcludeAxis axis = new ModelASTExcludeAxis(null);
+        axis.setName(key(name));
+        axis.setValues(values(values));
+        axis.setInverse(inverse);
+        return axis;
+    }
+
+    private static ModelASTExclude exclude(ModelASTExcludeAxis... axes) {
+        ModelASTExclude exclude = new ModelASTExclude(null);
+        exclude.setExcludeAxes(Arrays.asList(axes));
+        return exclude;
+    }
+}
@@ -1,5 +1,7 @@
 package org.jenkinsci.plugins.pipeline.modeldefinition.parser;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.github.fge.jackson.JsonLoader;
 import net.sf.json.JSONObject;
 import org.codehaus.groovy.control.ErrorCollector;
 import org.codehaus.groovy.control.MultipleCompilationErrorsException;
@@ -118,4 +120,24 @@ public class ModelParserTest extends BaseParserLoaderTest {
 
         assertEquals(nodeRoot, newRoot);
     }
+
+    @Test
+    public void schemaShapeIgnoresLeafValues() throws Exception {
+        ModelASTPipelineDef origRoot = Converter.urlToPipelineDef(getClass().getResource("/simplePipeline.groovy"));
+        assertNotNull(origRoot);
+
+        String origJson = origRoot.toJSON().toString();
+        JsonNode original = JsonLoader.fromString(origJson);
+        JsonNode renamed = JsonLoader.fromString(origJson.replace("\"foo\"", "\"bar\""));
+        assertNotEquals(original, renamed);
+        assertEquals(Converter.schemaShapeOf(original), Converter.schemaShapeOf(renamed));
+
+        assertTrue(Converter.validateJSONAgainstSchema(original).isSuccess());
+        assertTrue(Converter.validateJSONAgainstSchema(renamed).isSuccess());
+
+        // Replacing a string leaf with a number changes the shape, and is still checked against the full schema.
+        JsonNode retyped = JsonLoader.fromString(origJson.replace("\"foo\"", "1"));
+        assertNotEquals(Converter.schemaShapeOf(original), Converter.schemaShapeOf(retyped));
+        assertFalse(Converter.validateJSONAgainstSchema(retyped).isSuccess());
+    }
 }
@@ -32,6 +32,7 @@ import org.jenkinsci.plugins.workflow.job.WorkflowRun;
 import org.junit.Test;
 import org.jvnet.hudson.test.Issue;
 
+import java.util.Arrays;
 import java.util.Map;
 
 import static org.junit.Assert.*;
@@ -112,4 +113,23 @@ public class PreserveStashesJobPropertyTest extends AbstractModelDefTest {
                 .go();
         assertTrue(StashManager.stashesOf(r).isEmpty());
     }
+
+    @Test
+    public void retainedBuildsEvictOldest() {
+        PreserveStashesJobProperty.RetainedBuilds retained = new PreserveStashesJobProperty.RetainedBuilds();
+        assertTrue(retained.retain(1, 2));
+        assertTrue(retained.retain(2, 2));
+        assertTrue(retained.evict(2).isEmpty());
+
+        assertTrue(retained.retain(3, 2));
+        assertEquals(Arrays.asList(1), retained.evict(2));
+
+        assertTrue(retained.retain(5, 2));
+        assertTrue(retained.retain(6, 2));
+        assertEquals(Arrays.asList(2, 3), retained.evict(2));
+
+        // Build 4 finishing after builds 5 and 6 is already outside the window.
+        assertFalse(retained.retain(4, 2));
+        assertTrue(retained.evict(2).isEmpty());
+    }
 }
@@ -23,19 +23,23 @@
  */
 package org.jenkinsci.plugins.pipeline.modeldefinition.validator;
 
+import com.github.fge.jackson.JsonLoader;
 import com.github.fge.jsonschema.core.report.ProcessingMessage;
 import com.github.fge.jsonschema.core.report.ProcessingReport;
 import net.sf.json.JSONObject;
 import org.jenkinsci.plugins.pipeline.modeldefinition.AbstractModelDefTest;
+import org.jenkinsci.plugins.pipeline.modeldefinition.ast.ModelASTJSONWriter;
 import org.jenkinsci.plugins.pipeline.modeldefinition.ast.ModelASTPipelineDef;
 import org.jenkinsci.plugins.pipeline.modeldefinition.parser.Converter;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
 
+import java.io.StringWriter;
 import java.util.ArrayList;
 import java.util.List;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
@@ -74,6 +78,20 @@ public class JSONSchemaTest extends AbstractModelDefTest {
         assertTrue(getErrorReport(origJson, configName, report), report.isSuccess());
     }
 
+    @Test
+    public void streamedJSONMatchesToJSON() throws Exception {
+        ModelASTPipelineDef root = Converter.urlToPipelineDef(getClass().getResource("/" + configName + ".groovy"));
+
+        assertNotNull(root);
+
+        StringWriter writer = new StringWriter();
+        ModelASTJSONWriter.write(root, writer);
+        assertEquals(root.toJSON(), JSONObject.fromObject(writer.toString()));
+
+        ProcessingReport report = Converter.validateJSONAgainstSchema(JsonLoader.fromString(writer.toString()));
+        assertTrue(getErrorReport(root.toJSON(), configName, report), report.isSuccess());
+    }
+
     private String getErrorReport(JSONObject node, String configName, ProcessingReport r) {
         StringBuilder b = new StringBuilder();
         b.append("Config name: ");
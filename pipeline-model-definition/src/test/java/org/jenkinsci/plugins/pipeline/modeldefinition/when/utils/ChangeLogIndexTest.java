@@ -0,0 +1,128 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, CloudBees, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.jenkinsci.plugins.pipeline.modeldefinition.when.utils;
+
+import hudson.model.User;
+import hudson.scm.ChangeLogSet;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ChangeLogIndexTest {
+
+    @Test
+    public void testLiteralPrefix() {
+        assertEquals("services/foo", ChangeLogIndex.literalPrefix("services/foo/**"));
+        assertEquals("services", ChangeLogIndex.literalPrefix("services/foo*/bar"));
+        assertEquals("docs", ChangeLogIndex.literalPrefix("docs/README.md"));
+        assertNull(ChangeLogIndex.literalPrefix("**/*.java"));
+        assertNull(ChangeLogIndex.literalPrefix("README.md"));
+        assertNull(ChangeLogIndex.literalPrefix("/abs/**"));
+    }
+
+    @Test
+    public void testAnyPathMatchesSameAsComparator() {
+        List<String> paths = Arrays.asList("services/foo/src/Main.java", "services/foobar/pom.xml", "Services/Baz/x.txt",
+                "README.md", ".github/workflows/ci.yml", "docs/../services/qux/y");
+        ChangeLogIndex index = new ChangeLogIndex(Collections.singletonList(new FakeChangeLogSet(paths)), null);
+
+        List<String> patterns = Arrays.asList("services/foo/**", "services/foo", "services/baz/**", "**/*.yml",
+                "README.md", "services/qux/**", "docs/**", "nothing/**", "services/foo*/**", ".github/**");
+        for (Comparator c : Arrays.asList(Comparator.GLOB, Comparator.EQUALS)) {
+            for (String pattern : patterns) {
+                for (boolean caseSensitive : new boolean[] {true, false}) {
+                    boolean expected = paths.stream().anyMatch(p -> c.compare(pattern, p, caseSensitive));
+                    assertEquals(c + " " + pattern + " " + caseSensitive, expected,
+                            index.anyPathMatches(c, pattern, caseSensitive));
+                }
+            }
+        }
+        assertTrue(index.anyPathMatches(Comparator.REGEXP, "services/foo/.*", true));
+        assertFalse(index.anyPathMatches(Comparator.REGEXP, "services/baz/.*", true));
+    }
+
+    @Test
+    public void testRecordedMatch() {
+        ChangeLogIndex index = new ChangeLogIndex(Collections.singletonList(new FakeChangeLogSet(Collections.emptyList())), null);
+        assertTrue(index.isEmpty());
+        assertNull(index.getRecordedMatch("changelog:.*"));
+        index.recordMatch("changelog:.*", false);
+        assertFalse(index.getRecordedMatch("changelog:.*"));
+    }
+
+    private static class FakeChangeLogSet extends ChangeLogSet<ChangeLogSet.Entry> {
+        private final List<ChangeLogSet.Entry> entries = new ArrayList<>();
+
+        FakeChangeLogSet(List<String> paths) {
+            super(null, null);
+            for (String path : paths) {
+                entries.add(new FakeEntry(path));
+            }
+        }
+
+        @Override
+        public boolean isEmptySet() {
+            return entries.isEmpty();
+        }
+
+        @Override
+        public Iterator<ChangeLogSet.Entry> iterator() {
+            return entries.iterator();
+        }
+    }
+
+    private static class FakeEntry extends ChangeLogSet.Entry {
+        private final String path;
+
+        FakeEntry(String path) {
+            this.path = path;
+        }
+
+        @Override
+        public String getMsg() {
+            return "change to " + path;
+        }
+
+        @Override
+        public User getAuthor() {
+            return null;
+        }
+
+        @Override
+        public Collection<String> getAffectedPaths() {
+            return Collections.singletonList(path);
+        }
+    }
+}
@@ -2,9 +2,13 @@ package org.jenkinsci.plugins.pipeline.modeldefinition.when.utils;
 
 import org.junit.Test;
 
+import java.util.function.Predicate;
+
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 public class ComparatorTest {
@@ -53,4 +57,21 @@ public class ComparatorTest {
     assertFalse(comparator.compare("foo", ""));
     assertTrue(comparator.compare("foo", "foo"));
   }
+
+  @Test
+  public void testMatcherSharedAndEquivalent() {
+    Predicate<String> glob = Comparator.GLOB.matcher("src/**/*.java", false);
+
+    assertSame(glob, Comparator.GLOB.matcher("src/**/*.java", false));
+    assertNotSame(glob, Comparator.GLOB.matcher("src/**/*.java", true));
+    assertTrue(glob.test("src/main/java/Foo.java"));
+    assertTrue(glob.test("SRC/main/Foo.JAVA"));
+    assertFalse(Comparator.GLOB.matcher("src/**/*.java", true).test("SRC/main/Foo.JAVA"));
+    assertFalse(glob.test("pom.xml"));
+
+    assertTrue(Comparator.REGEXP.matcher("foo.*", false).test("football"));
+    assertFalse(Comparator.REGEXP.matcher("foo.*", false).test(null));
+    assertTrue(Comparator.EQUALS.matcher("foo", false).test("foo"));
+    assertFalse(Comparator.EQUALS.matcher("foo", false).test(""));
+  }
 }
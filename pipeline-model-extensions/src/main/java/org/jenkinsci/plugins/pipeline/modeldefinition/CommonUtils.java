@@ -85,9 +85,7 @@ public class CommonUtils {
             execution = thread.getExecution();
         }
 
-        ForkScanner scanner = new ForkScanner();
-
-        FlowNode stage = scanner.findFirstMatch(execution.getCurrentHeads(), null, isStageWithOptionalName(stageName));
+        FlowNode stage = findStageStartNode(stageName, execution);
 
         FlowNode finalNode = execution.getCurrentHeads().stream().filter(h -> isSomewhereWithinStage(stage).apply(h)).findFirst().orElse(null);
 
@@ -98,6 +96,23 @@ public class CommonUtils {
         return findPossiblyUnfinishedEndNodeForCurrentStage(stageName, null);
     }
 
+    /**
+     * Finds the most recent start node for the given stage or parallel branch, using the {@link StageFlowNodeIndex} for
+     * the execution if there is one, and scanning the flow graph otherwise.
+     *
+     * @param stageName The stage name. If null, any stage matches.
+     * @return The start node, or null if no such stage has started.
+     */
+    @Restricted(NoExternalUse.class)
+    public static FlowNode findStageStartNode(String stageName, FlowExecution execution) {
+        StageFlowNodeIndex index = StageFlowNodeIndex.forExecution(execution);
+        if (index != null) {
+            return index.findStage(stageName, execution);
+        }
+        ForkScanner scanner = new ForkScanner();
+        return scanner.findFirstMatch(execution.getCurrentHeads(), null, isStageWithOptionalName(stageName));
+    }
+
     /**
      * This will return true for flow nodes in *child* stages, not just the immediate enclosing stage.
      *
@@ -0,0 +1,308 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026, CloudBees, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.jenkinsci.plugins.pipeline.modeldefinition;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import hudson.Extension;
+import hudson.model.Result;
+import org.jenkinsci.plugins.workflow.actions.LabelAction;
+import org.jenkinsci.plugins.workflow.actions.ThreadNameAction;
+import org.jenkinsci.plugins.workflow.actions.WarningAction;
+import org.jenkinsci.plugins.workflow.cps.nodes.StepStartNode;
+import org.jenkinsci.plugins.workflow.flow.FlowExecution;
+import org.jenkinsci.plugins.workflow.flow.GraphListener;
+import org.jenkinsci.plugins.workflow.graph.BlockEndNode;
+import org.jenkinsci.plugins.workflow.graph.BlockStartNode;
+import org.jenkinsci.plugins.workflow.graph.FlowNode;
+import org.jenkinsci.plugins.workflow.graph.FlowStartNode;
+import org.jenkinsci.plugins.workflow.support.steps.StageStep;
+import org.kohsuke.accmod.Restricted;
+import org.kohsuke.accmod.restrictions.NoExternalUse;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Per-execution index of stage and parallel branch {@link BlockStartNode}s by name, along with their end nodes and any
+ * enclosing parallel branch of the same name. This lets us find a stage by name without scanning the whole flow graph.
+ *
+ * An index is only available for executions we've seen from their very first node - i.e., not for executions resumed
+ * after a restart, or loaded from disk after completion. Callers must fall back on scanning the graph when
+ * {@link #forExecution(FlowExecution)} returns null.
+ */
+@Restricted(NoExternalUse.class)
+public final class StageFlowNodeIndex {
+    private static final Logger LOGGER = Logger.getLogger(StageFlowNodeIndex.class.getName());
+
+    private static final Cache<FlowExecution, StageFlowNodeIndex> INDEXES = CacheBuilder.newBuilder().weakKeys().build();
+
+    private final boolean complete;
+
+    // All stage and parallel branch start node IDs, in the order they started.
+    private final List<String> startIds = new ArrayList<>();
+    private final Map<String, Integer> startOrder = new HashMap<>();
+    // Start node IDs we haven't been able to name yet - stages only get their LabelAction once the step has started.
+    private final Set<String> unresolvedIds = new LinkedHashSet<>();
+    private final Map<String, List<String>> startIdsByName = new HashMap<>();
+    // Keyed by stage start node ID and branch name.
+    private final Map<String, List<String>> enclosingBranchIds = new HashMap<>();
+    private final Map<String, String> endIdsByStartId = new HashMap<>();
+    // The worst WarningAction result seen so far on any node within each stage or parallel branch, keyed by start node ID.
+    private final Map<String, Result> worstWarningsByStartId = new HashMap<>();
+    // The WarningAction results already counted, keyed by node ID.
+    private final Map<String, Result> countedWarnings = new HashMap<>();
+
+    private StageFlowNodeIndex(boolean complete) {
+        this.complete = complete;
+    }
+
+    /**
+     * @return The index for this execution, or null if there isn't a complete one.
+     */
+    @CheckForNull
+    public static StageFlowNodeIndex forExecution(@CheckForNull FlowExecution execution) {
+        if (execution == null) {
+            return null;
+        }
+        StageFlowNodeIndex index = INDEXES.getIfPresent(execution);
+        return index != null && index.complete ? index : null;
+    }
+
+    /**
+     * Finds the most recently started stage or parallel branch with the given name.
+     *
+     * @param stageName The name to look for. If null, the most recently started stage or parallel branch of any name.
+     */
+    @CheckForNull
+    public synchronized FlowNode findStage(@CheckForNull String stageName, @NonNull FlowExecution execution) {
+        String id;
+        if (stageName == null) {
+            id = startIds.isEmpty() ? null : startIds.get(startIds.size() - 1);
+        } else {
+            resolvePending(execution);
+            List<String> ids = startIdsByName.get(stageName);
+            id = ids == null || ids.isEmpty() ? null : ids.get(ids.size() - 1);
+        }
+        return getNode(id, execution);
+    }
+
+    /**
+     * The parallel branches enclosing the given stage, innermost first.
+     *
+     * @param stageName Only include branches with this name. If null, include all enclosing parallel branches.
+     */
+    @NonNull
+    public synchronized List<FlowNode> findEnclosingParallelBranches(@NonNull FlowNode stage, @CheckForNull String stageName,
+                                                                   @NonNull FlowExecution execution) {
+        List<String> ids;
+        if (stageName == null) {
+            ids = computeEnclosingBranchIds(stage, null);
+        } else {
+            ids = enclosingBranchIds.computeIfAbsent(stage.getId() + "\u0000" + stageName, k -> computeEnclosingBranchIds(stage, stageName));
+        }
+        List<FlowNode> nodes = new ArrayList<>();
+        for (String id : ids) {
+            FlowNode n = getNode(id, execution);
+            if (n != null) {
+                nodes.add(n);
+            }
+        }
+        return nodes;
+    }
+
+    /**
+     * @return The end node for the given stage or parallel branch start node, or null if it hasn't finished yet.
+     */
+    @CheckForNull
+    public synchronized FlowNode findEndNode(@NonNull FlowNode start, @NonNull FlowExecution execution) {
+        return getNode(endIdsByStartId.get(start.getId()), execution);
+    }
+
+    /**
+     * The worst {@link WarningAction} result of any node within the given stage or parallel branch, other than its start
+     * node. Warnings are counted as nodes are added, so this doesn't need to scan the stage's nodes.
+     *
+     * @return The worst result, or null if there are no warnings within the stage.
+     */
+    @CheckForNull
+    public synchronized Result findWorstWarning(@NonNull FlowNode start, @NonNull FlowExecution execution) {
+        // Warnings can be added to the current heads after they were added to the graph, so check them again.
+        for (FlowNode head : execution.getCurrentHeads()) {
+            countWarnings(head);
+        }
+        return worstWarningsByStartId.get(start.getId());
+    }
+
+    private synchronized void onNewHead(@NonNull FlowNode node) {
+        countWarnings(node);
+        if (isStageStart(node) || isParallelBranchStart(node)) {
+            startOrder.put(node.getId(), startIds.size());
+            startIds.add(node.getId());
+            unresolvedIds.add(node.getId());
+        } else if (node instanceof BlockEndNode) {
+            String startId = ((BlockEndNode<?>) node).getStartNode().getId();
+            if (startOrder.containsKey(startId)) {
+                endIdsByStartId.put(startId, node.getId());
+            }
+        }
+    }
+
+    /**
+     * Counts any warnings on the given node, its parents, which may have had warnings added after they were added to
+     * the graph, and if it ends a block, the block's start node, which is where block-scoped steps record warnings.
+     */
+    private void countWarnings(@NonNull FlowNode node) {
+        countWarning(node);
+        for (FlowNode parent : node.getParents()) {
+            countWarning(parent);
+        }
+        if (node instanceof BlockEndNode) {
+            countWarning(((BlockEndNode<?>) node).getStartNode());
+        }
+    }
+
+    private void countWarning(@NonNull FlowNode node) {
+        WarningAction warning = node.getPersistentAction(WarningAction.class);
+        if (warning == null) {
+            return;
+        }
+        Result result = warning.getResult();
+        Result counted = countedWarnings.get(node.getId());
+        if (counted != null && counted.isWorseOrEqualTo(result)) {
+            return;
+        }
+        countedWarnings.put(node.getId(), result);
+        for (FlowNode enclosing : node.iterateEnclosingBlocks()) {
+            if (startOrder.containsKey(enclosing.getId())) {
+                worstWarningsByStartId.merge(enclosing.getId(), result, (a, b) -> a.isWorseThan(b) ? a : b);
+            }
+        }
+    }
+
+    private void resolvePending(@NonNull FlowExecution execution) {
+        Iterator<String> pending = unresolvedIds.iterator();
+        while (pending.hasNext()) {
+            String id = pending.next();
+            FlowNode node = getNode(id, execution);
+            String name = node == null ? null : nameOf(node);
+            if (name != null) {
+                // Stages can be named out of start order, so insert by start order rather than appending.
+                List<String> ids = startIdsByName.computeIfAbsent(name, k -> new ArrayList<>());
+                int pos = ids.size();
+                while (pos > 0 && startOrder.get(ids.get(pos - 1)) > startOrder.get(id)) {
+                    pos--;
+                }
+                ids.add(pos, id);
+            }
+            if (node == null || name != null) {
+                pending.remove();
+            }
+        }
+    }
+
+    @NonNull
+    private static List<String> computeEnclosingBranchIds(@NonNull FlowNode stage, @CheckForNull String stageName) {
+        List<String> ids = new ArrayList<>();
+        for (FlowNode enclosing : stage.iterateEnclosingBlocks()) {
+            ThreadNameAction threadName = enclosing.getAction(ThreadNameAction.class);
+            if (enclosing.getAction(LabelAction.class) != null && threadName != null &&
+                    (stageName == null || stageName.equals(threadName.getThreadName()))) {
+                ids.add(enclosing.getId());
+            }
+        }
+        return Collections.unmodifiableList(ids);
+    }
+
+    @CheckForNull
+    private static String nameOf(@NonNull FlowNode node) {
+        if (isStageStart(node)) {
+            return node.getAction(LabelAction.class) != null ? node.getDisplayName() : null;
+        }
+        ThreadNameAction threadName = node.getAction(ThreadNameAction.class);
+        return threadName != null ? threadName.getThreadName() : null;
+    }
+
+    // The start of the stage step itself, which gets its name, rather than the start of its body, which never does.
+    private static boolean isStageStart(@NonNull FlowNode node) {
+        return node instanceof StepStartNode && ((StepStartNode) node).getDescriptor() instanceof StageStep.DescriptorImpl &&
+                !((StepStartNode) node).isBody();
+    }
+
+    private static boolean isParallelBranchStart(@NonNull FlowNode node) {
+        return node instanceof BlockStartNode && node.getAction(LabelAction.class) != null &&
+                node.getAction(ThreadNameAction.class) != null;
+    }
+
+    @CheckForNull
+    private static FlowNode getNode(@CheckForNull String id, @NonNull FlowExecution execution) {
+        if (id == null) {
+            return null;
+        }
+        try {
+            return execution.getNode(id);
+        } catch (IOException e) {
+            LOGGER.log(Level.FINE, "Could not load flow node " + id, e);
+            return null;
+        }
+    }
+
+    /**
+     * Builds the index as nodes are added. This needs to be synchronous so that a stage can be found from within the
+     * stage's own body.
+     */
+    @Extension
+    public static final class Listener implements GraphListener.Synchronous {
+        @Override
+        public void onNewHead(FlowNode node) {
+            if (node == null) {
+                return;
+            }
+            FlowExecution execution = node.getExecution();
+            StageFlowNodeIndex index = INDEXES.asMap().computeIfAbsent(execution, e -> new StageFlowNodeIndex(isFromStart(node)));
+            index.onNewHead(node);
+        }
+
+        // If the first node we see is the start of the execution, or directly follows it, we haven't missed any stages.
+        private static boolean isFromStart(@NonNull FlowNode node) {
+            if (node instanceof FlowStartNode) {
+                return true;
+            }
+            List<FlowNode> parents = node.getParents();
+            return !parents.isEmpty() && parents.stream().allMatch(p -> p instanceof FlowStartNode);
+        }
+    }
+}
@@ -24,6 +24,9 @@
 package org.jenkinsci.plugins.pipeline.modeldefinition.agent;
 
 import hudson.ExtensionList;
+import hudson.ExtensionListListener;
+import hudson.init.InitMilestone;
+import hudson.init.Initializer;
 import org.jenkinsci.plugins.pipeline.modeldefinition.withscript.WithScriptDescriptor;
 import org.jenkinsci.plugins.structs.SymbolLookup;
 import org.jenkinsci.plugins.structs.describable.DescribableModel;
@@ -31,6 +34,8 @@ import org.jenkinsci.plugins.structs.describable.UninstantiatedDescribable;
 
 import edu.umd.cs.findbugs.annotations.NonNull;
 import edu.umd.cs.findbugs.annotations.Nullable;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
@@ -59,7 +64,7 @@ public abstract class DeclarativeAgentDescriptor<A extends DeclarativeAgent<A>>
      * @return a list of all {@link DeclarativeAgentDescriptor}s registered, sorted by name.
      */
     public static List<DeclarativeAgentDescriptor> allSorted() {
-        return all().stream().sorted(Comparator.comparing(DeclarativeAgentDescriptor::getName)).collect(Collectors.toList());
+        return new ArrayList<>(registry().sorted);
     }
 
     /**
@@ -68,15 +73,7 @@ public abstract class DeclarativeAgentDescriptor<A extends DeclarativeAgent<A>>
      * @return A map of name-to-{@link DescribableModel}s
      */
     public static Map<String,DescribableModel> getDescribableModels() {
-        Map<String,DescribableModel> models = new HashMap<>();
-
-        for (DeclarativeAgentDescriptor d : all()) {
-            for (String s : SymbolLookup.getSymbolValue(d)) {
-                models.put(s, new DescribableModel<>(d.clazz));
-            }
-        }
-
-        return models;
+        return new HashMap<>(registry().models);
     }
 
     /**
@@ -84,16 +81,7 @@ public abstract class DeclarativeAgentDescriptor<A extends DeclarativeAgent<A>>
      * @return A map of descriptors with no arguments.
      */
     public static Map<String,DescribableModel> zeroArgModels() {
-        Map<String,DescribableModel> models = new HashMap<>();
-
-        for (Map.Entry<String,DescribableModel> entry : getDescribableModels().entrySet()) {
-            // All DeclarativeAgents will have at least one possible parameter, context.
-            if (entry.getValue().getParameters().isEmpty()) {
-                models.put(entry.getKey(), entry.getValue());
-            }
-        }
-
-        return models;
+        return new HashMap<>(registry().zeroArgModels);
     }
 
     /**
@@ -101,14 +89,7 @@ public abstract class DeclarativeAgentDescriptor<A extends DeclarativeAgent<A>>
      * @return A map of descriptors with no required arguments.
      */
     public static Map<String,DescribableModel> noRequiredArgsModels() {
-        Map<String,DescribableModel> models = new HashMap<>();
-
-        for (Map.Entry<String,DescribableModel> entry : getDescribableModels().entrySet()) {
-            if (entry.getValue().getFirstRequiredParameter() == null) {
-                models.put(entry.getKey(), entry.getValue());
-            }
-        }
-        return models;
+        return new HashMap<>(registry().noRequiredArgsModels);
     }
 
     /**
@@ -150,8 +131,9 @@ public abstract class DeclarativeAgentDescriptor<A extends DeclarativeAgent<A>>
      */
     public static @NonNull DeclarativeAgent<?> instanceForDescriptor(@NonNull DeclarativeAgentDescriptor<?> descriptor,
                                                                    Map<String,Object> arguments) throws Exception {
-        if (zeroArgModels().keySet().contains(descriptor.getName()) ||
-                (noRequiredArgsModels().keySet().contains(descriptor.getName()) &&
+        Registry registry = registry();
+        if (registry.zeroArgModels.containsKey(descriptor.getName()) ||
+                (registry.noRequiredArgsModels.containsKey(descriptor.getName()) &&
                         arguments.containsKey(UninstantiatedDescribable.ANONYMOUS_KEY) &&
                         arguments.size() == 1)) {
             return descriptor.newInstance();
@@ -160,4 +142,70 @@ public abstract class DeclarativeAgentDescriptor<A extends DeclarativeAgent<A>>
         }
     }
 
+    private static volatile Registry registry;
+    private static long generation;
+
+    private static Registry registry() {
+        ExtensionList<DeclarativeAgentDescriptor> descriptors = all();
+        Registry r = registry;
+        if (r == null || r.descriptors != descriptors) {
+            long startGeneration;
+            synchronized (Registry.class) {
+                startGeneration = generation;
+            }
+            r = new Registry(descriptors);
+            synchronized (Registry.class) {
+                // Don't publish the registry if the extensions changed while it was being built.
+                if (generation == startGeneration) {
+                    registry = r;
+                }
+            }
+        }
+        return r;
+    }
+
+    @Initializer(after = InitMilestone.EXTENSIONS_AUGMENTED)
+    public static void listenForAgentChanges() {
+        all().addListener(new ExtensionListListener() {
+            @Override
+            public void onChange() {
+                synchronized (Registry.class) {
+                    generation++;
+                    registry = null;
+                }
+            }
+        });
+    }
+
+    /**
+     * Snapshot of the registered agent descriptors and their {@link DescribableModel}s, so that the models aren't
+     * built again every time an agent is parsed, validated or instantiated. Replaced when the extension list changes.
+     */
+    private static final class Registry {
+        private final ExtensionList<DeclarativeAgentDescriptor> descriptors;
+        private final List<DeclarativeAgentDescriptor> sorted;
+        private final Map<String,DescribableModel> models = new HashMap<>();
+        private final Map<String,DescribableModel> zeroArgModels = new HashMap<>();
+        private final Map<String,DescribableModel> noRequiredArgsModels = new HashMap<>();
+
+        Registry(ExtensionList<DeclarativeAgentDescriptor> descriptors) {
+            this.descriptors = descriptors;
+            this.sorted = Collections.unmodifiableList(descriptors.stream()
+                    .sorted(Comparator.comparing(DeclarativeAgentDescriptor::getName)).collect(Collectors.toList()));
+            for (DeclarativeAgentDescriptor d : descriptors) {
+                for (String s : SymbolLookup.getSymbolValue(d)) {
+                    models.put(s, new DescribableModel<>(d.clazz));
+                }
+            }
+            for (Map.Entry<String,DescribableModel> entry : models.entrySet()) {
+                // All DeclarativeAgents will have at least one possible parameter, context.
+                if (entry.getValue().getParameters().isEmpty()) {
+                    zeroArgModels.put(entry.getKey(), entry.getValue());
+                }
+                if (entry.getValue().getFirstRequiredParameter() == null) {
+                    noRequiredArgsModels.put(entry.getKey(), entry.getValue());
+                }
+            }
+        }
+    }
 }
@@ -25,10 +25,14 @@ package org.jenkinsci.plugins.pipeline.modeldefinition.model;
 
 import hudson.ExtensionComponent;
 import hudson.ExtensionList;
+import hudson.ExtensionListListener;
 import hudson.ExtensionPoint;
 import hudson.Util;
+import hudson.init.InitMilestone;
+import hudson.init.Initializer;
 import hudson.model.Result;
 import org.jenkinsci.plugins.pipeline.modeldefinition.CommonUtils;
+import org.jenkinsci.plugins.pipeline.modeldefinition.StageFlowNodeIndex;
 import org.jenkinsci.plugins.structs.SymbolLookup;
 import org.jenkinsci.plugins.workflow.actions.WarningAction;
 import org.jenkinsci.plugins.workflow.cps.CpsFlowExecution;
@@ -110,21 +114,61 @@ public abstract class BuildCondition implements Serializable, ExtensionPoint {
     }
 
     public static List<String> getOrderedConditionNames() {
-        List<String> orderedConditions = new ArrayList<>();
+        ExtensionList<BuildCondition> all = all();
+        OrderedConditionNames names = conditionNames;
+        if (names == null || names.conditions != all) {
+            long startGeneration;
+            synchronized (OrderedConditionNames.class) {
+                startGeneration = conditionNamesGeneration;
+            }
+            names = new OrderedConditionNames(all);
+            synchronized (OrderedConditionNames.class) {
+                // Don't publish the names if the extensions changed while they were being sorted.
+                if (conditionNamesGeneration == startGeneration) {
+                    conditionNames = names;
+                }
+            }
+        }
+        return new ArrayList<>(names.names);
+    }
 
-        List<ExtensionComponent<BuildCondition>> extensionComponents = new ArrayList<>(all().getComponents());
-        Collections.sort(extensionComponents);
+    private static volatile OrderedConditionNames conditionNames;
+    private static long conditionNamesGeneration;
 
-        for (ExtensionComponent<BuildCondition> extensionComponent: extensionComponents) {
-            BuildCondition b = extensionComponent.getInstance();
-            Set<String> symbolValues = SymbolLookup.getSymbolValue(b);
+    @Initializer(after = InitMilestone.EXTENSIONS_AUGMENTED)
+    public static void listenForConditionChanges() {
+        all().addListener(new ExtensionListListener() {
+            @Override
+            public void onChange() {
+                synchronized (OrderedConditionNames.class) {
+                    conditionNamesGeneration++;
+                    conditionNames = null;
+                }
+            }
+        });
+    }
 
-            if (!symbolValues.isEmpty()) {
-                orderedConditions.add(symbolValues.iterator().next());
+    /**
+     * The condition names sorted by extension ordinal, so post sections don't sort the extensions for every stage.
+     */
+    private static final class OrderedConditionNames {
+        private final ExtensionList<BuildCondition> conditions;
+        private final List<String> names = new ArrayList<>();
+
+        OrderedConditionNames(ExtensionList<BuildCondition> conditions) {
+            this.conditions = conditions;
+            List<ExtensionComponent<BuildCondition>> extensionComponents = new ArrayList<>(conditions.getComponents());
+            Collections.sort(extensionComponents);
+
+            for (ExtensionComponent<BuildCondition> extensionComponent: extensionComponents) {
+                BuildCondition b = extensionComponent.getInstance();
+                Set<String> symbolValues = SymbolLookup.getSymbolValue(b);
+
+                if (!symbolValues.isEmpty()) {
+                    names.add(symbolValues.iterator().next());
+                }
             }
         }
-
-        return orderedConditions;
     }
 
     public static Map<String, BuildCondition> getConditionMethods() {
@@ -151,21 +195,9 @@ public abstract class BuildCondition implements Serializable, ExtensionPoint {
     public static Result getCombinedResult(@NonNull WorkflowRun run, @CheckForNull Throwable error, @CheckForNull Object context) {
         Result errorResult = Result.SUCCESS;
         if (context instanceof String) {
-            String stageName = (String)context;
-            List<FlowNode> startAndEnd = CommonUtils.findPossiblyUnfinishedEndNodeForCurrentStage(stageName, run.getExecution());
-            if (startAndEnd.size() == 2 && startAndEnd.get(0) != null && startAndEnd.get(1) != null) {
-                // TODO: Remove this in favor of moving StatusAndTiming#findWarningBetween public.
-                DepthFirstScanner scanner = new DepthFirstScanner();
-                if (scanner.setup(startAndEnd.get(1), Collections.singletonList(startAndEnd.get(0)))) {
-                    WarningAction warningAction = StreamSupport.stream(scanner.spliterator(), false)
-                            .map(node -> node.getPersistentAction(WarningAction.class))
-                            .filter(Objects::nonNull)
-                            .max(Comparator.comparing(warning -> warning.getResult().ordinal))
-                            .orElse(null);
-                    if (warningAction != null) {
-                        errorResult = warningAction.getResult();
-                    }
-                }
+            Result warningResult = findWorstWarning(run, (String) context);
+            if (warningResult != null) {
+                errorResult = warningResult;
             }
         }
         Result execResult = getFlowExecutionResult(run);
@@ -186,6 +218,39 @@ public abstract class BuildCondition implements Serializable, ExtensionPoint {
         return execResult.combine(prevResult).combine(errorResult);
     }
 
+    /**
+     * The worst {@link WarningAction} result within the given stage, if it's still running. Uses the
+     * {@link StageFlowNodeIndex} for the execution if there is one, and scans the stage's nodes otherwise.
+     */
+    @CheckForNull
+    private static Result findWorstWarning(@NonNull WorkflowRun run, @NonNull String stageName) {
+        FlowExecution execution = run.getExecution();
+        StageFlowNodeIndex index = StageFlowNodeIndex.forExecution(execution);
+        if (index != null) {
+            FlowNode stage = index.findStage(stageName, execution);
+            if (stage == null || index.findEndNode(stage, execution) != null) {
+                return null;
+            }
+            return index.findWorstWarning(stage, execution);
+        }
+        List<FlowNode> startAndEnd = CommonUtils.findPossiblyUnfinishedEndNodeForCurrentStage(stageName, execution);
+        if (startAndEnd.size() == 2 && startAndEnd.get(0) != null && startAndEnd.get(1) != null) {
+            // TODO: Remove this in favor of moving StatusAndTiming#findWarningBetween public.
+            DepthFirstScanner scanner = new DepthFirstScanner();
+            if (scanner.setup(startAndEnd.get(1), Collections.singletonList(startAndEnd.get(0)))) {
+                WarningAction warningAction = StreamSupport.stream(scanner.spliterator(), false)
+                        .map(node -> node.getPersistentAction(WarningAction.class))
+                        .filter(Objects::nonNull)
+                        .max(Comparator.comparing(warning -> warning.getResult().ordinal))
+                        .orElse(null);
+                if (warningAction != null) {
+                    return warningAction.getResult();
+                }
+            }
+        }
+        return null;
+    }
+
     @CheckForNull
     public static Result getFlowExecutionResult(@NonNull WorkflowRun r) {
         FlowExecution execution = r.getExecution();
@@ -26,6 +26,9 @@
 package org.jenkinsci.plugins.pipeline.modeldefinition.when;
 
 import hudson.ExtensionList;
+import hudson.ExtensionListListener;
+import hudson.init.InitMilestone;
+import hudson.init.Initializer;
 import org.codehaus.groovy.ast.expr.Expression;
 import org.jenkinsci.plugins.pipeline.modeldefinition.ast.ModelASTWhenContent;
 import org.jenkinsci.plugins.pipeline.modeldefinition.withscript.WithScriptDescriptor;
@@ -76,30 +79,19 @@ public abstract class DeclarativeStageConditionalDescriptor<S extends Declarativ
      * @return a list of all {@link DeclarativeStageConditionalDescriptor}s registered, except for invisible global conditionals.
      */
     public static List<DeclarativeStageConditionalDescriptor> all() {
-        return allIncludingInvisible().stream().filter(d -> !d.isInvisible()).collect(Collectors.toList());
+        return new ArrayList<>(registry().visible);
     }
 
     public static List<DeclarativeStageConditionalDescriptor> forGenerator() {
         return all().stream().filter(DeclarativeStageConditionalDescriptor::inDirectiveGenerator).collect(Collectors.toList());
     }
 
-    private static List<DeclarativeStageConditionalDescriptor> allIncludingInvisible() {
-        ExtensionList<DeclarativeStageConditionalDescriptor> descs = ExtensionList.lookup(DeclarativeStageConditionalDescriptor.class);
-        return descs.stream()
-            .sorted(Comparator.comparing(DeclarativeStageConditionalDescriptor::getName)).collect(Collectors.toList());
-    }
-
     public static List<DeclarativeStageConditionalDescriptor> allInvisible() {
-        return allIncludingInvisible().stream().filter(DeclarativeStageConditionalDescriptor::isInvisible).collect(Collectors.toList());
+        return new ArrayList<>(registry().invisible);
     }
 
     public static List<String> allNames() {
-        List<DeclarativeStageConditionalDescriptor> all = all();
-        List<String> names = new ArrayList<>(all.size());
-        for (DeclarativeStageConditionalDescriptor descriptor : all) {
-            names.add(descriptor.getName());
-        }
-        return names;
+        return new ArrayList<>(registry().names);
     }
 
     /**
@@ -108,16 +100,9 @@ public abstract class DeclarativeStageConditionalDescriptor<S extends Declarativ
      * @return A map of name-to-{@link DescribableModel}s
      */
     public static Map<String,DescribableModel> getDescribableModels() {
-        Map<String,DescribableModel> models = new HashMap<>();
-
-        for (DeclarativeStageConditionalDescriptor d : all()) {
-            for (String s : SymbolLookup.getSymbolValue(d)) {
-                models.put(s, new DescribableModel<>(d.clazz));
-            }
-        }
-
-        return models;
+        return new HashMap<>(registry().models);
     }
+
     /**
      * Get the descriptor for a given name or null if not found.
      *
@@ -128,4 +113,70 @@ public abstract class DeclarativeStageConditionalDescriptor<S extends Declarativ
     public static DeclarativeStageConditionalDescriptor byName(@NonNull String name) {
         return (DeclarativeStageConditionalDescriptor) SymbolLookup.get().findDescriptor(DeclarativeStageConditional.class, name);
     }
+
+    private static volatile Registry registry;
+    private static long generation;
+
+    private static Registry registry() {
+        ExtensionList<DeclarativeStageConditionalDescriptor> descriptors =
+                ExtensionList.lookup(DeclarativeStageConditionalDescriptor.class);
+        Registry r = registry;
+        if (r == null || r.descriptors != descriptors) {
+            long startGeneration;
+            synchronized (Registry.class) {
+                startGeneration = generation;
+            }
+            r = new Registry(descriptors);
+            synchronized (Registry.class) {
+                // Don't publish the registry if the extensions changed while it was being built.
+                if (generation == startGeneration) {
+                    registry = r;
+                }
+            }
+        }
+        return r;
+    }
+
+    @Initializer(after = InitMilestone.EXTENSIONS_AUGMENTED)
+    public static void listenForConditionalChanges() {
+        ExtensionList.lookup(DeclarativeStageConditionalDescriptor.class).addListener(new ExtensionListListener() {
+            @Override
+            public void onChange() {
+                synchronized (Registry.class) {
+                    generation++;
+                    registry = null;
+                }
+            }
+        });
+    }
+
+    /**
+     * Snapshot of the registered conditional descriptors, sorted by name, and their {@link DescribableModel}s, so that
+     * validating each {@code when} condition doesn't sort the extension list or build the models again. Replaced when
+     * the extension list changes.
+     */
+    private static final class Registry {
+        private final ExtensionList<DeclarativeStageConditionalDescriptor> descriptors;
+        private final List<DeclarativeStageConditionalDescriptor> visible = new ArrayList<>();
+        private final List<DeclarativeStageConditionalDescriptor> invisible = new ArrayList<>();
+        private final List<String> names = new ArrayList<>();
+        private final Map<String,DescribableModel> models = new HashMap<>();
+
+        Registry(ExtensionList<DeclarativeStageConditionalDescriptor> descriptors) {
+            this.descriptors = descriptors;
+            List<DeclarativeStageConditionalDescriptor> sorted = descriptors.stream()
+                    .sorted(Comparator.comparing(DeclarativeStageConditionalDescriptor::getName)).collect(Collectors.toList());
+            for (DeclarativeStageConditionalDescriptor d : sorted) {
+                if (d.isInvisible()) {
+                    invisible.add(d);
+                } else {
+                    visible.add(d);
+                    names.add(d.getName());
+                    for (String s : SymbolLookup.getSymbolValue(d)) {
+                        models.put(s, new DescribableModel<>(d.clazz));
+                    }
+                }
+            }
+        }
+    }
 }